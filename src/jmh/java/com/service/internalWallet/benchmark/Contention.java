@@ -0,0 +1,5 @@
+package com.service.internalWallet.benchmark;
+
+public enum Contention {
+    SAME_ACCOUNT, SPREAD
+}
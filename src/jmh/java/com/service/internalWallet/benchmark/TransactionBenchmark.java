@@ -0,0 +1,73 @@
+package com.service.internalWallet.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.service.internalWallet.dto.request.TransactionRequestDto;
+import com.service.internalWallet.dto.response.BalanceResponseDto;
+import com.service.internalWallet.dto.response.TransactionPageResponseDto;
+import com.service.internalWallet.dto.response.TransactionResponseDto;
+import com.service.internalWallet.enums.TransactionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class TransactionBenchmark {
+
+    @State(Scope.Thread)
+    public static class Caller {
+
+        String email;
+        TransactionRequestDto replayRequest;
+
+        @Setup(Level.Trial)
+        public void setUp(WalletBenchmarkEnvironment environment, ThreadParams threadParams) {
+            email = environment.emailFor(threadParams.getThreadIndex());
+            replayRequest = environment.request(TransactionType.TOPUP, email);
+            environment.transactionService.processTransaction(replayRequest);
+        }
+    }
+
+    @Benchmark
+    public TransactionResponseDto topUp(WalletBenchmarkEnvironment environment, Caller caller) {
+        return environment.transactionService.processTransaction(environment.request(TransactionType.TOPUP, caller.email));
+    }
+
+    @Benchmark
+    public TransactionResponseDto bonus(WalletBenchmarkEnvironment environment, Caller caller) {
+        return environment.transactionService.processTransaction(environment.request(TransactionType.BONUS, caller.email));
+    }
+
+    @Benchmark
+    public TransactionResponseDto spend(WalletBenchmarkEnvironment environment, Caller caller) {
+        return environment.transactionService.processTransaction(environment.request(TransactionType.SPEND, caller.email));
+    }
+
+    @Benchmark
+    public TransactionResponseDto idempotentReplay(WalletBenchmarkEnvironment environment, Caller caller) {
+        return environment.transactionService.processTransaction(caller.replayRequest);
+    }
+
+    @Benchmark
+    public BalanceResponseDto getBalance(WalletBenchmarkEnvironment environment, Caller caller) {
+        return environment.transactionService.getBalance(caller.email, WalletBenchmarkEnvironment.GOLD_COINS, null);
+    }
+
+    @Benchmark
+    public TransactionPageResponseDto getTransactionHistory(WalletBenchmarkEnvironment environment, Caller caller) {
+        return environment.transactionService.getTransactionHistory(caller.email, null, null, null, 50);
+    }
+}
@@ -0,0 +1,122 @@
+package com.service.internalWallet.benchmark;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+import com.service.internalWallet.InternalWalletApplication;
+import com.service.internalWallet.dto.request.TransactionRequestDto;
+import com.service.internalWallet.enums.TransactionType;
+import com.service.internalWallet.service.TransactionService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * One embedded PostgreSQL and one application context per trial, migrated by Flyway and seeded with
+ * {@code accounts} funded GOLD_COINS wallets and {@code ledgerRows} historical ledger rows.
+ */
+@State(Scope.Benchmark)
+public class WalletBenchmarkEnvironment {
+
+    static final String GOLD_COINS = "GOLD_COINS";
+    private static final String GOLD_COINS_ID = "11111111-1111-1111-1111-111111111111";
+    private static final String SYSTEM_ACCOUNT_ID = "aaaa1111-0000-0000-0000-000000000001";
+
+    @Param({"1000"})
+    public int accounts;
+
+    @Param({"100000"})
+    public int ledgerRows;
+
+    @Param({"SPREAD", "SAME_ACCOUNT"})
+    public Contention contention;
+
+    @Param({"10000"})
+    public int replayCacheSize;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private List<String> emails;
+
+    TransactionService transactionService;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        context = new SpringApplicationBuilder(InternalWalletApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=postgres",
+                        "--wallet.idempotency.replay-cache-size=" + replayCacheSize,
+                        "--logging.level.root=WARN"
+                );
+
+        transactionService = context.getBean(TransactionService.class);
+        emails = seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    String emailFor(int threadIndex) {
+        return contention == Contention.SAME_ACCOUNT ? emails.getFirst() : emails.get(threadIndex % emails.size());
+    }
+
+    TransactionRequestDto request(TransactionType type, String email) {
+        return new TransactionRequestDto(type, email, GOLD_COINS, 1L, UUID.randomUUID().toString());
+    }
+
+    private List<String> seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("""
+                INSERT INTO users (name, email)
+                SELECT 'Benchmark User ' || g, 'jmh-' || g || '@example.com'
+                FROM generate_series(1, ?) g
+                """, accounts);
+
+        jdbcTemplate.update("""
+                INSERT INTO accounts (user_id, asset_id, type, balance)
+                SELECT u.id, ?::uuid, 'USER', 1000000000000
+                FROM users u
+                WHERE u.email LIKE 'jmh-%'
+                """, GOLD_COINS_ID);
+
+        jdbcTemplate.update("""
+                WITH user_accounts AS (
+                    SELECT (row_number() OVER (ORDER BY id) - 1)::int AS slot, id
+                    FROM accounts
+                    WHERE type = 'USER' AND user_id IN (SELECT id FROM users WHERE email LIKE 'jmh-%')
+                ),
+                tx AS (
+                    INSERT INTO transactions (type, idempotency_key, status, amount, created_at)
+                    SELECT 'TOPUP', 'jmh-history-' || g, 'SUCCESS', 1, now() - g * interval '1 second'
+                    FROM generate_series(1, ? / 2) g
+                    RETURNING id, created_at
+                )
+                INSERT INTO ledger_entries (account_id, type, amount, transaction_id, created_at)
+                SELECT ua.id, 'CREDIT', 1, tx.id, tx.created_at
+                FROM tx
+                JOIN user_accounts ua ON ua.slot = abs(hashtext(tx.id::text)) % ?
+                UNION ALL
+                SELECT ?::uuid, 'DEBIT', 1, tx.id, tx.created_at
+                FROM tx
+                """, ledgerRows, accounts, SYSTEM_ACCOUNT_ID);
+
+        jdbcTemplate.execute("ANALYZE");
+
+        return jdbcTemplate.queryForList("SELECT email FROM users WHERE email LIKE 'jmh-%' ORDER BY email", String.class);
+    }
+}
@@ -0,0 +1,57 @@
+package com.service.internalWallet.config;
+
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(prefix = "wallet.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlConfig implements WebMvcConfigurer {
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    private final AdmissionControlInterceptor admissionControlInterceptor;
+
+    public AdmissionControlConfig(AdmissionProperties properties, DataSource dataSource, MeterRegistry meterRegistry) {
+        int maxConcurrent = properties.maxConcurrent() > 0 ? properties.maxConcurrent() : poolSize(dataSource);
+        this.admissionControlInterceptor = new AdmissionControlInterceptor(maxConcurrent, properties.acquireTimeout());
+
+        Gauge.builder("wallet.admission.limit", admissionControlInterceptor, AdmissionControlInterceptor::maxConcurrent)
+                .description("API requests allowed to work concurrently")
+                .register(meterRegistry);
+        Gauge.builder("wallet.admission.in.flight", admissionControlInterceptor, AdmissionControlInterceptor::inFlight)
+                .description("API requests holding an admission permit")
+                .register(meterRegistry);
+        Gauge.builder("wallet.admission.queued", admissionControlInterceptor, AdmissionControlInterceptor::queued)
+                .description("API requests waiting for an admission permit")
+                .register(meterRegistry);
+    }
+
+    public AdmissionControlInterceptor admissionControlInterceptor() {
+        return admissionControlInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(admissionControlInterceptor).addPathPatterns("/api/**");
+    }
+
+    // Unwrapping reaches the primary pool through the replica router, which only serves read-only work.
+    private static int poolSize(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class)
+                    ? dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize()
+                    : DEFAULT_POOL_SIZE;
+        } catch (SQLException e) {
+            return DEFAULT_POOL_SIZE;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.service.internalWallet.config;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import com.service.internalWallet.exception.ServiceBusyException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Caps the number of API requests working concurrently, so that request threads (virtual ones in
+ * particular) queue here with a deadline instead of piling up on the connection pool. The cap can be
+ * changed at runtime; lowering it takes effect as requests in flight finish.
+ * <p>
+ * By default the permit is given back once a handler goes async. An interceptor built to hold it across async
+ * processing keeps it until the async dispatch completes, which bounds long streamed responses themselves.
+ */
+public class AdmissionControlInterceptor implements AsyncHandlerInterceptor {
+
+    private final String permitAttribute = AdmissionControlInterceptor.class.getName() + ".permit@" + Integer.toHexString(System.identityHashCode(this));
+
+    private final ResizableSemaphore permits;
+    private final Duration acquireTimeout;
+    private final boolean holdAcrossAsync;
+    private volatile int maxConcurrent;
+
+    public AdmissionControlInterceptor(int maxConcurrent, Duration acquireTimeout) {
+        this(maxConcurrent, acquireTimeout, false);
+    }
+
+    public AdmissionControlInterceptor(int maxConcurrent, Duration acquireTimeout, boolean holdAcrossAsync) {
+        this.permits = new ResizableSemaphore(maxConcurrent);
+        this.maxConcurrent = maxConcurrent;
+        this.acquireTimeout = acquireTimeout;
+        this.holdAcrossAsync = holdAcrossAsync;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws InterruptedException {
+        // The async dispatch runs preHandle again; a permit held across async processing already covers it.
+        if (request.getAttribute(permitAttribute) != null) {
+            return true;
+        }
+        if (!permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+            throw new ServiceBusyException("Too many concurrent requests, retry shortly");
+        }
+        request.setAttribute(permitAttribute, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!holdAcrossAsync) {
+            release(request);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        release(request);
+    }
+
+    public int maxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public synchronized void setMaxConcurrent(int maxConcurrent) {
+        int delta = maxConcurrent - this.maxConcurrent;
+        if (delta > 0) {
+            permits.release(delta);
+        } else if (delta < 0) {
+            permits.reducePermits(-delta);
+        }
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    public int inFlight() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int queued() {
+        return permits.getQueueLength();
+    }
+
+    private void release(HttpServletRequest request) {
+        if (request.getAttribute(permitAttribute) != null) {
+            request.removeAttribute(permitAttribute);
+            permits.release();
+        }
+    }
+
+    private static final class ResizableSemaphore extends Semaphore {
+
+        private ResizableSemaphore(int permits) {
+            super(permits, true);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
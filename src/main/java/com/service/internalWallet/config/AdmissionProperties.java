@@ -0,0 +1,24 @@
+package com.service.internalWallet.config;
+
+import java.time.Duration;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "wallet.admission")
+public record AdmissionProperties(
+        @DefaultValue("true")
+        boolean enabled,
+
+        // 0 sizes the limit to the maximum size of the Hikari connection pool.
+        @Min(value = 0, message = "Max concurrent requests must not be negative")
+        @DefaultValue("0")
+        int maxConcurrent,
+
+        @DefaultValue("PT1S")
+        Duration acquireTimeout
+) {
+}
@@ -0,0 +1,20 @@
+package com.service.internalWallet.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "wallet.campaign")
+public record CampaignProperties(
+        // Rows written per database transaction; a crash loses at most one chunk of work.
+        @Min(value = 1, message = "Campaign chunk size must be at least 1")
+        @DefaultValue("5000")
+        int chunkSize,
+
+        @Min(value = 0, message = "Max reported failures must not be negative")
+        @DefaultValue("1000")
+        int maxReportedFailures
+) {
+}
@@ -0,0 +1,24 @@
+package com.service.internalWallet.config;
+
+import java.time.Duration;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "wallet.checkpoint")
+public record CheckpointProperties(
+        @DefaultValue("PT1H")
+        Duration interval,
+
+        // Allowed clock skew between the application hosts, which stamp ledger entries, and the database.
+        @DefaultValue("PT1M")
+        Duration settleLag,
+
+        @Min(value = 1, message = "Checkpoint batch size must be at least 1")
+        @DefaultValue("1000")
+        int batchSize
+) {
+}
@@ -0,0 +1,30 @@
+package com.service.internalWallet.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class ExportConfig implements WebMvcConfigurer {
+
+    private final AdmissionControlInterceptor exportAdmissionInterceptor;
+
+    public ExportConfig(ExportProperties properties, MeterRegistry meterRegistry) {
+        this.exportAdmissionInterceptor = new AdmissionControlInterceptor(properties.maxConcurrent(), properties.acquireTimeout(), true);
+
+        Gauge.builder("wallet.export.in.flight", exportAdmissionInterceptor, AdmissionControlInterceptor::inFlight)
+                .description("Ledger exports currently streaming")
+                .register(meterRegistry);
+    }
+
+    // Runs ahead of the general admission control, so a rejected export never takes one of its permits.
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(exportAdmissionInterceptor)
+                .addPathPatterns("/api/v1/exports/**")
+                .order(Ordered.HIGHEST_PRECEDENCE);
+    }
+}
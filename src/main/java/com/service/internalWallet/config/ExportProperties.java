@@ -0,0 +1,25 @@
+package com.service.internalWallet.config;
+
+import java.time.Duration;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "wallet.export")
+public record ExportProperties(
+        // Each running export holds a pooled connection until its last row is written.
+        @Min(value = 1, message = "Max concurrent exports must be at least 1")
+        @DefaultValue("2")
+        int maxConcurrent,
+
+        @DefaultValue("PT0S")
+        Duration acquireTimeout,
+
+        // An export still streaming after this long is aborted and its transaction rolled back.
+        @DefaultValue("PT30M")
+        Duration maxDuration
+) {
+}
@@ -0,0 +1,26 @@
+package com.service.internalWallet.config;
+
+import java.time.Duration;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "wallet.holds")
+public record HoldProperties(
+        @DefaultValue("PT5M")
+        Duration defaultTtl,
+
+        @DefaultValue("PT1H")
+        Duration maxTtl,
+
+        @DefaultValue("PT10S")
+        Duration sweepInterval,
+
+        @Min(value = 1, message = "Sweep batch size must be at least 1")
+        @DefaultValue("500")
+        int sweepBatchSize
+) {
+}
@@ -0,0 +1,15 @@
+package com.service.internalWallet.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "wallet.idempotency")
+public record IdempotencyProperties(
+        @Min(value = 0, message = "Replay cache size must not be negative")
+        @DefaultValue("10000")
+        int replayCacheSize
+) {
+}
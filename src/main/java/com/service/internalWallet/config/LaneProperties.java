@@ -0,0 +1,27 @@
+package com.service.internalWallet.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "wallet.lanes")
+public record LaneProperties(
+        @DefaultValue("false")
+        boolean enabled,
+
+        // Each lane holds a connection while it commits, so more lanes than pooled connections only adds waiting.
+        @Min(value = 1, message = "At least one lane is required")
+        @DefaultValue("8")
+        int lanes,
+
+        @Min(value = 1, message = "Max group size must be at least 1")
+        @DefaultValue("256")
+        int maxGroupSize,
+
+        @Min(value = 1, message = "Lane queue capacity must be at least 1")
+        @DefaultValue("10000")
+        int queueCapacity
+) {
+}
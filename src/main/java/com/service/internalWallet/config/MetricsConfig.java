@@ -0,0 +1,18 @@
+package com.service.internalWallet.config;
+
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    private static final String WALLET_TRANSACTION_METERS = "wallet.transaction";
+    private static final int MAX_ASSET_TAGS = 100;
+
+    // WalletMetrics only tags assets that resolved, so this cap is a backstop against a large asset table.
+    @Bean
+    public MeterFilter walletAssetTagLimit() {
+        return MeterFilter.maximumAllowableTags(WALLET_TRANSACTION_METERS, "asset", MAX_ASSET_TAGS, MeterFilter.deny());
+    }
+}
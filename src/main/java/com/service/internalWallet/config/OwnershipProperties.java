@@ -0,0 +1,38 @@
+package com.service.internalWallet.config;
+
+import java.time.Duration;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "wallet.ownership")
+public record OwnershipProperties(
+        @DefaultValue("false")
+        boolean enabled,
+
+        // Blank picks a random id on every start.
+        String nodeId,
+
+        // Base URL other nodes use to forward writes to this one.
+        @DefaultValue("http://localhost:8080")
+        String advertisedUrl,
+
+        // Must be the same on every node.
+        @Min(value = 1, message = "At least one ownership bucket is required")
+        @DefaultValue("64")
+        int buckets,
+
+        @DefaultValue("PT10S")
+        Duration leaseDuration,
+
+        @DefaultValue("PT2S")
+        Duration heartbeatInterval,
+
+        // Forward writes for buckets owned elsewhere instead of answering 421 with the owner's URL.
+        @DefaultValue("true")
+        boolean forward
+) {
+}
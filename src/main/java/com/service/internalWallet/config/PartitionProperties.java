@@ -0,0 +1,23 @@
+package com.service.internalWallet.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "wallet.partitioning")
+public record PartitionProperties(
+        @Min(value = 1, message = "At least one future partition is required")
+        @DefaultValue("3")
+        int monthsAhead,
+
+        @DefaultValue("false")
+        boolean archiveEnabled,
+
+        // Months kept attached, not counting the current one.
+        @Min(value = 1, message = "At least one month of ledger must stay attached")
+        @DefaultValue("12")
+        int retentionMonths
+) {
+}
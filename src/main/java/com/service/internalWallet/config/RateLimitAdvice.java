@@ -0,0 +1,75 @@
+package com.service.internalWallet.config;
+
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.service.internalWallet.config.RateLimitInterceptor.Charge;
+import com.service.internalWallet.controller.TransactionController;
+import com.service.internalWallet.dto.request.BatchTransactionRequestDto;
+import com.service.internalWallet.dto.request.TransactionRequestDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+// Charges what RateLimitInterceptor could not: every batch item, and single requests without the user
+// and asset headers or whose headers do not match the body, so the headers can never dodge a limit.
+// Runs after admission control but before validation and the handler, so a rejected request still
+// never reaches the reference lookups or the database.
+@ControllerAdvice(assignableTypes = TransactionController.class)
+@ConditionalOnProperty(prefix = "wallet.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class RateLimitAdvice extends RequestBodyAdviceAdapter {
+
+    private final TransactionRateLimiter transactionRateLimiter;
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return targetType == TransactionRequestDto.class || targetType == BatchTransactionRequestDto.class;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        if (body instanceof BatchTransactionRequestDto batch) {
+            chargeBatch(batch);
+            return body;
+        }
+        TransactionRequestDto request = (TransactionRequestDto) body;
+        // Requests without these fields fail validation next and are never charged.
+        if (request.email() != null && request.assetCode() != null
+                && !new Charge(request.email(), request.assetCode()).equals(chargedByInterceptor())) {
+            transactionRateLimiter.admit(request.email(), request.assetCode());
+        }
+        return body;
+    }
+
+    // Every item costs a token of its user and its asset; items that will fail validation are free.
+    private void chargeBatch(BatchTransactionRequestDto batch) {
+        if (batch.transactions() == null) {
+            return;
+        }
+        Map<String, Integer> userCounts = new HashMap<>();
+        Map<String, Integer> assetCounts = new HashMap<>();
+        for (TransactionRequestDto item : batch.transactions()) {
+            if (item != null && item.email() != null && item.assetCode() != null) {
+                userCounts.merge(item.email(), 1, Integer::sum);
+                assetCounts.merge(item.assetCode(), 1, Integer::sum);
+            }
+        }
+        if (!userCounts.isEmpty()) {
+            transactionRateLimiter.admit(userCounts, assetCounts);
+        }
+    }
+
+    private static Object chargedByInterceptor() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null ? attributes.getAttribute(RateLimitInterceptor.CHARGED_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) : null;
+    }
+}
@@ -0,0 +1,40 @@
+package com.service.internalWallet.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(prefix = "wallet.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<TransactionRateLimiter> transactionRateLimiter;
+
+    public RateLimitConfig(ObjectProvider<TransactionRateLimiter> transactionRateLimiter) {
+        this.transactionRateLimiter = transactionRateLimiter;
+    }
+
+    @Bean
+    public TransactionRateLimiter transactionRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        return new TransactionRateLimiter(properties, meterRegistry);
+    }
+
+    @Bean
+    public RateLimitEndpoint rateLimitEndpoint(TransactionRateLimiter transactionRateLimiter,
+                                               ObjectProvider<AdmissionControlConfig> admissionControlConfig) {
+        return new RateLimitEndpoint(transactionRateLimiter, admissionControlConfig);
+    }
+
+    // Ahead of admission control, so a client over its limit is turned away without waiting for a permit.
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RateLimitInterceptor(transactionRateLimiter.getObject()))
+                .addPathPatterns("/api/v1/transactions", RateLimitInterceptor.BATCH_PATH)
+                .order(Ordered.HIGHEST_PRECEDENCE);
+    }
+}
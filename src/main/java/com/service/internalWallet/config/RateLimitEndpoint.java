@@ -0,0 +1,73 @@
+package com.service.internalWallet.config;
+
+import com.service.internalWallet.config.TransactionRateLimiter.Limits;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.OptionalParameter;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+/**
+ * {@code GET /actuator/ratelimits} shows the limits in force and {@code POST /actuator/ratelimits}
+ * changes any of them without a restart. Changes are not persisted and apply to this node only.
+ * The endpoint is not secured, so it is left out of the default web exposure and, once exposed,
+ * is only served on the management port.
+ */
+@Endpoint(id = "ratelimits")
+@RequiredArgsConstructor
+public class RateLimitEndpoint {
+
+    private final TransactionRateLimiter transactionRateLimiter;
+    private final ObjectProvider<AdmissionControlConfig> admissionControlConfig;
+
+    public record RateLimitSettings(
+            double userRate,
+            int userBurst,
+            double assetRate,
+            int assetBurst,
+            Integer maxConcurrent
+    ) {
+    }
+
+    @ReadOperation
+    public RateLimitSettings settings() {
+        Limits limits = transactionRateLimiter.limits();
+        AdmissionControlConfig admission = admissionControlConfig.getIfAvailable();
+        return new RateLimitSettings(
+                limits.userRate(),
+                limits.userBurst(),
+                limits.assetRate(),
+                limits.assetBurst(),
+                admission != null ? admission.admissionControlInterceptor().maxConcurrent() : null
+        );
+    }
+
+    @WriteOperation
+    public synchronized RateLimitSettings update(@OptionalParameter Double userRate,
+                                                 @OptionalParameter Integer userBurst,
+                                                 @OptionalParameter Double assetRate,
+                                                 @OptionalParameter Integer assetBurst,
+                                                 @OptionalParameter Integer maxConcurrent) {
+        Limits current = transactionRateLimiter.limits();
+        Limits updated = new Limits(
+                userRate != null ? userRate : current.userRate(),
+                userBurst != null ? userBurst : current.userBurst(),
+                assetRate != null ? assetRate : current.assetRate(),
+                assetBurst != null ? assetBurst : current.assetBurst()
+        );
+        if (updated.userRate() < 0 || updated.assetRate() < 0 || updated.userBurst() < 1 || updated.assetBurst() < 1) {
+            throw new InvalidEndpointRequestException("Rates must not be negative and bursts must be at least 1", "Invalid rate limits");
+        }
+        if (maxConcurrent != null && maxConcurrent < 1) {
+            throw new InvalidEndpointRequestException("Max concurrent requests must be at least 1", "Invalid admission limit");
+        }
+
+        transactionRateLimiter.setLimits(updated);
+        if (maxConcurrent != null) {
+            admissionControlConfig.ifAvailable(admission -> admission.admissionControlInterceptor().setMaxConcurrent(maxConcurrent));
+        }
+        return settings();
+    }
+}
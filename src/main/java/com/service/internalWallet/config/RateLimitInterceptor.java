@@ -0,0 +1,48 @@
+package com.service.internalWallet.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Charges a transaction to its user and asset buckets from {@link #USER_HEADER} and {@link #ASSET_HEADER}
+ * before admission control, so a client over its limit gets its 429 without queueing for a permit.
+ * A batch only costs what its body holds, so for a batch the headers are checked against empty buckets
+ * without charging them. Everything not charged here is charged by {@link RateLimitAdvice} once the
+ * body is parsed.
+ */
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    public static final String USER_HEADER = "X-Wallet-User";
+    public static final String ASSET_HEADER = "X-Wallet-Asset";
+
+    static final String CHARGED_ATTRIBUTE = RateLimitInterceptor.class.getName() + ".charged";
+    static final String BATCH_PATH = "/api/v1/transactions/batch";
+
+    private final TransactionRateLimiter transactionRateLimiter;
+
+    record Charge(String email, String assetCode) {
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.POST.matches(request.getMethod())) {
+            return true;
+        }
+        String email = request.getHeader(USER_HEADER);
+        String assetCode = request.getHeader(ASSET_HEADER);
+        if (email == null || email.isBlank() || assetCode == null || assetCode.isBlank()) {
+            return true;
+        }
+        if (request.getRequestURI().endsWith(BATCH_PATH)) {
+            transactionRateLimiter.check(email, assetCode);
+        } else {
+            transactionRateLimiter.admit(email, assetCode);
+            request.setAttribute(CHARGED_ATTRIBUTE, new Charge(email, assetCode));
+        }
+        return true;
+    }
+}
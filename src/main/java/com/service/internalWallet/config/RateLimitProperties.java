@@ -0,0 +1,41 @@
+package com.service.internalWallet.config;
+
+import java.time.Duration;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "wallet.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true")
+        boolean enabled,
+
+        // Sustained transactions per second; 0 turns the limit off.
+        @Min(value = 0, message = "User rate must not be negative")
+        @DefaultValue("20")
+        double userRate,
+
+        @Min(value = 1, message = "User burst must be at least 1")
+        @DefaultValue("40")
+        int userBurst,
+
+        @Min(value = 0, message = "Asset rate must not be negative")
+        @DefaultValue("2000")
+        double assetRate,
+
+        @Min(value = 1, message = "Asset burst must be at least 1")
+        @DefaultValue("4000")
+        int assetBurst,
+
+        // Buckets of users idle for this long are dropped; a returning user starts with a full bucket.
+        @DefaultValue("PT10M")
+        Duration idleExpiry,
+
+        @Min(value = 1, message = "Max tracked users must be at least 1")
+        @DefaultValue("100000")
+        int maxTrackedUsers
+) {
+}
@@ -0,0 +1,36 @@
+package com.service.internalWallet.config;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "wallet.reconciliation")
+public record ReconciliationProperties(
+        @Min(value = 1, message = "At least one reconciliation range is required")
+        @DefaultValue("256")
+        int ranges,
+
+        // Each worker holds a connection for the duration of its range, so keep this below the pool size.
+        @Min(value = 1, message = "Reconciliation parallelism must be at least 1")
+        @DefaultValue("4")
+        int parallelism,
+
+        @Min(value = 1, message = "Fetch size must be at least 1")
+        @DefaultValue("10000")
+        int fetchSize,
+
+        @Min(value = 0, message = "Max reported mismatches must not be negative")
+        @DefaultValue("1000")
+        int maxReportedMismatches,
+
+        // Share of table blocks read to pick range bounds.
+        @DecimalMin(value = "0.0001", message = "Sample percent must be positive")
+        @DecimalMax(value = "100", message = "Sample percent must be at most 100")
+        @DefaultValue("1")
+        double samplePercent
+) {
+}
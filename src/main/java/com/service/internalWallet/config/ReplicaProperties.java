@@ -0,0 +1,28 @@
+package com.service.internalWallet.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "wallet.replica")
+public record ReplicaProperties(
+        @DefaultValue("false")
+        boolean enabled,
+
+        String url,
+
+        String username,
+
+        String password,
+
+        // Read-only work falls back to the primary while the replica is further behind than this.
+        @DefaultValue("PT5S")
+        Duration maxStaleness,
+
+        @DefaultValue("PT1S")
+        Duration lagCheckInterval
+) {
+}
@@ -0,0 +1,20 @@
+package com.service.internalWallet.config;
+
+import java.time.Duration;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "wallet.system-account")
+public record SystemAccountProperties(
+        @Min(value = 1, message = "At least one system account stripe is required")
+        @DefaultValue("8")
+        int stripes,
+
+        @DefaultValue("PT30S")
+        Duration consolidationInterval
+) {
+}
@@ -0,0 +1,45 @@
+package com.service.internalWallet.config;
+
+/**
+ * Refilled lazily on every call, so an idle bucket costs nothing. Rate and burst are passed in
+ * rather than stored, which lets the limits change at runtime without replacing existing buckets.
+ */
+final class TokenBucket {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(int burst, long now) {
+        this.tokens = burst;
+        this.refilledAt = now;
+    }
+
+    // Returns 0 when the tokens were taken, otherwise the nanoseconds until they are available. More tokens
+    // than the burst are taken once the bucket is full, leaving it in debt that later requests wait out.
+    synchronized long tryTake(double ratePerSecond, int burst, long now, int count) {
+        refill(ratePerSecond, burst, now);
+        double needed = Math.min(count, burst);
+        if (tokens >= needed) {
+            tokens -= count;
+            return 0;
+        }
+        return (long) Math.ceil((needed - tokens) * NANOS_PER_SECOND / ratePerSecond);
+    }
+
+    // Like tryTake of a single token, without taking it.
+    synchronized long waitNanos(double ratePerSecond, int burst, long now) {
+        refill(ratePerSecond, burst, now);
+        return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) * NANOS_PER_SECOND / ratePerSecond);
+    }
+
+    synchronized void giveBack(int burst, int count) {
+        tokens = Math.min(burst, tokens + count);
+    }
+
+    private void refill(double ratePerSecond, int burst, long now) {
+        tokens = Math.min(burst, tokens + (now - refilledAt) * ratePerSecond / NANOS_PER_SECOND);
+        refilledAt = now;
+    }
+}
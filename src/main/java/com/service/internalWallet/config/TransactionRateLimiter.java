@@ -0,0 +1,153 @@
+package com.service.internalWallet.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.service.internalWallet.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Token buckets per user and per asset in front of the transaction write path. A request over
+ * either limit is rejected at once with the time until its bucket refills, instead of waiting for
+ * a connection or a row lock that well-behaved clients need. The user's token is given back when
+ * the asset limit rejects the request, so a busy asset does not also drain its users' buckets.
+ * A batch costs one token per transaction; one larger than a burst is let through on a full bucket
+ * and leaves it in debt, so batches cannot exceed the sustained rate either.
+ */
+public class TransactionRateLimiter {
+
+    public record Limits(double userRate, int userBurst, double assetRate, int assetBurst) {
+    }
+
+    private final Cache<String, TokenBucket> userBuckets;
+    private final Cache<String, TokenBucket> assetBuckets;
+    private final LongSupplier nanoClock;
+    private final Counter userRejections;
+    private final Counter assetRejections;
+
+    private volatile Limits limits;
+
+    public TransactionRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    TransactionRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.limits = new Limits(properties.userRate(), properties.userBurst(), properties.assetRate(), properties.assetBurst());
+        this.nanoClock = nanoClock;
+        this.userBuckets = Caffeine.newBuilder()
+                .expireAfterAccess(properties.idleExpiry())
+                .maximumSize(properties.maxTrackedUsers())
+                .build();
+        // Asset codes come from the request body, so unknown codes must not grow this without bound either.
+        this.assetBuckets = Caffeine.newBuilder()
+                .expireAfterAccess(properties.idleExpiry())
+                .maximumSize(1_000)
+                .build();
+
+        this.userRejections = rejections(meterRegistry, "user");
+        this.assetRejections = rejections(meterRegistry, "asset");
+        Gauge.builder("wallet.ratelimit.rate", this, limiter -> limiter.limits().userRate())
+                .description("Sustained requests per second allowed by each bucket, 0 when unlimited")
+                .tag("scope", "user")
+                .register(meterRegistry);
+        Gauge.builder("wallet.ratelimit.rate", this, limiter -> limiter.limits().assetRate())
+                .description("Sustained requests per second allowed by each bucket, 0 when unlimited")
+                .tag("scope", "asset")
+                .register(meterRegistry);
+        Gauge.builder("wallet.ratelimit.tracked.users", userBuckets, Cache::estimatedSize)
+                .description("Users with a live token bucket")
+                .register(meterRegistry);
+    }
+
+    public void admit(String email, String assetCode) {
+        admit(Map.of(email, 1), Map.of(assetCode, 1));
+    }
+
+    /**
+     * Charges a batch with its number of transactions per user and per asset, all or nothing: if any
+     * bucket rejects it, the tokens already taken from the others are given back.
+     */
+    public void admit(Map<String, Integer> userCounts, Map<String, Integer> assetCounts) {
+        Limits current = limits;
+        long now = nanoClock.getAsLong();
+        Map<TokenBucket, Integer> takenFromUsers = new HashMap<>();
+
+        if (current.userRate() > 0) {
+            for (Map.Entry<String, Integer> user : userCounts.entrySet()) {
+                TokenBucket bucket = userBuckets.get(user.getKey(), key -> new TokenBucket(current.userBurst(), now));
+                long waitNanos = bucket.tryTake(current.userRate(), current.userBurst(), now, user.getValue());
+                if (waitNanos > 0) {
+                    giveBack(takenFromUsers, current);
+                    userRejections.increment();
+                    throw new RateLimitExceededException("Too many transactions for this user, retry later", retryAfterSeconds(waitNanos));
+                }
+                takenFromUsers.put(bucket, user.getValue());
+            }
+        }
+
+        if (current.assetRate() > 0) {
+            Map<TokenBucket, Integer> takenFromAssets = new HashMap<>();
+            for (Map.Entry<String, Integer> asset : assetCounts.entrySet()) {
+                TokenBucket bucket = assetBuckets.get(asset.getKey(), key -> new TokenBucket(current.assetBurst(), now));
+                long waitNanos = bucket.tryTake(current.assetRate(), current.assetBurst(), now, asset.getValue());
+                if (waitNanos > 0) {
+                    giveBack(takenFromUsers, current);
+                    takenFromAssets.forEach((taken, count) -> taken.giveBack(current.assetBurst(), count));
+                    assetRejections.increment();
+                    throw new RateLimitExceededException("Too many transactions for this asset, retry later", retryAfterSeconds(waitNanos));
+                }
+                takenFromAssets.put(bucket, asset.getValue());
+            }
+        }
+    }
+
+    // Rejects a client whose bucket is already empty without charging it, for requests whose cost is
+    // only known once their body is read.
+    public void check(String email, String assetCode) {
+        Limits current = limits;
+        long now = nanoClock.getAsLong();
+
+        TokenBucket userBucket = current.userRate() > 0 ? userBuckets.getIfPresent(email) : null;
+        long waitNanos = userBucket != null ? userBucket.waitNanos(current.userRate(), current.userBurst(), now) : 0;
+        if (waitNanos > 0) {
+            userRejections.increment();
+            throw new RateLimitExceededException("Too many transactions for this user, retry later", retryAfterSeconds(waitNanos));
+        }
+
+        TokenBucket assetBucket = current.assetRate() > 0 ? assetBuckets.getIfPresent(assetCode) : null;
+        waitNanos = assetBucket != null ? assetBucket.waitNanos(current.assetRate(), current.assetBurst(), now) : 0;
+        if (waitNanos > 0) {
+            assetRejections.increment();
+            throw new RateLimitExceededException("Too many transactions for this asset, retry later", retryAfterSeconds(waitNanos));
+        }
+    }
+
+    public Limits limits() {
+        return limits;
+    }
+
+    public void setLimits(Limits limits) {
+        this.limits = limits;
+    }
+
+    private static void giveBack(Map<TokenBucket, Integer> takenFromUsers, Limits limits) {
+        takenFromUsers.forEach((bucket, count) -> bucket.giveBack(limits.userBurst(), count));
+    }
+
+    private static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String scope) {
+        return Counter.builder("wallet.ratelimit.rejected")
+                .description("Transactions rejected with 429 by a token bucket")
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+}
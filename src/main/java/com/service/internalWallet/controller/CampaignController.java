@@ -0,0 +1,51 @@
+package com.service.internalWallet.controller;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import com.service.internalWallet.dto.response.BonusCampaignDto;
+import com.service.internalWallet.service.BonusCampaignService;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/campaigns")
+@RequiredArgsConstructor
+public class CampaignController {
+
+    private final BonusCampaignService bonusCampaignService;
+
+    @PostMapping(value = "/bonus", consumes = {"text/csv", "text/plain"})
+    public ResponseEntity<BonusCampaignDto> createBonusCampaign(@RequestParam(required = false) @Size(max = 100) String name,
+                                                                @RequestParam(defaultValue = "false") boolean dryRun,
+                                                                InputStream body) {
+        UUID campaignId = bonusCampaignService.stageCampaign(name, dryRun, new InputStreamReader(body, StandardCharsets.UTF_8));
+        bonusCampaignService.startCampaign(campaignId);
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(bonusCampaignService.getCampaign(campaignId));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<BonusCampaignDto> getCampaign(@PathVariable UUID id) {
+        return ResponseEntity
+                .ok(bonusCampaignService.getCampaign(id));
+    }
+
+    @PostMapping("/{id}/resume")
+    public ResponseEntity<BonusCampaignDto> resumeCampaign(@PathVariable UUID id) {
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(bonusCampaignService.resumeCampaign(id));
+    }
+}
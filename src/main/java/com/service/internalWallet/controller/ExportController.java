@@ -0,0 +1,64 @@
+package com.service.internalWallet.controller;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+import com.service.internalWallet.dto.request.LedgerExportFilter;
+import com.service.internalWallet.enums.ExportFormat;
+import com.service.internalWallet.service.LedgerExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/v1/exports")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final LedgerExportService ledgerExportService;
+
+    @GetMapping("/ledger")
+    public ResponseEntity<StreamingResponseBody> exportLedger(@RequestParam(required = false) UUID accountId,
+                                                              @RequestParam(required = false) String email,
+                                                              @RequestParam(required = false) String assetCode,
+                                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+                                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+                                                              @RequestParam(defaultValue = "CSV") ExportFormat format,
+                                                              @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        LedgerExportFilter filter = new LedgerExportFilter(accountId, email, assetCode, from, to);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        String fileName = "ledger." + (format == ExportFormat.CSV ? "csv" : "ndjson");
+
+        StreamingResponseBody body = outputStream -> {
+            if (gzip) {
+                try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, 64 * 1024)) {
+                    ledgerExportService.export(filter, format, gzipOutputStream);
+                }
+            } else {
+                ledgerExportService.export(filter, format, outputStream);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(format == ExportFormat.CSV ? TEXT_CSV : APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+}
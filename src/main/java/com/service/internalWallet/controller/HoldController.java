@@ -0,0 +1,50 @@
+package com.service.internalWallet.controller;
+
+import java.util.UUID;
+
+import com.service.internalWallet.dto.request.HoldRequestDto;
+import com.service.internalWallet.dto.response.HoldResponseDto;
+import com.service.internalWallet.service.HoldService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/holds")
+@RequiredArgsConstructor
+public class HoldController {
+
+    private final HoldService holdService;
+
+    @PostMapping
+    public ResponseEntity<HoldResponseDto> authorize(@Valid @RequestBody HoldRequestDto holdRequestDto) {
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(holdService.authorize(holdRequestDto));
+    }
+
+    @PostMapping("/{id}/capture")
+    public ResponseEntity<HoldResponseDto> capture(@PathVariable UUID id) {
+        return ResponseEntity
+                .ok(holdService.capture(id));
+    }
+
+    @PostMapping("/{id}/void")
+    public ResponseEntity<HoldResponseDto> voidHold(@PathVariable UUID id) {
+        return ResponseEntity
+                .ok(holdService.voidHold(id));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<HoldResponseDto> getHold(@PathVariable UUID id) {
+        return ResponseEntity
+                .ok(holdService.getHold(id));
+    }
+}
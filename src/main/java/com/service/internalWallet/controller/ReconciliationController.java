@@ -0,0 +1,34 @@
+package com.service.internalWallet.controller;
+
+import com.service.internalWallet.dto.response.ReconciliationReportDto;
+import com.service.internalWallet.exception.ResourceNotFoundException;
+import com.service.internalWallet.service.ReconciliationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/reconciliation")
+@RequiredArgsConstructor
+public class ReconciliationController {
+
+    private final ReconciliationService reconciliationService;
+
+    @PostMapping
+    public ResponseEntity<Void> startReconciliation() {
+        reconciliationService.startReconciliation();
+        return ResponseEntity
+                .accepted()
+                .build();
+    }
+
+    @GetMapping("/latest")
+    public ResponseEntity<ReconciliationReportDto> getLatestReport() {
+        return ResponseEntity
+                .ok(reconciliationService.getLatestReport()
+                        .orElseThrow(() -> new ResourceNotFoundException("No reconciliation run has completed yet")));
+    }
+}
@@ -0,0 +1,25 @@
+package com.service.internalWallet.controller;
+
+import com.service.internalWallet.dto.response.SystemBalanceResponseDto;
+import com.service.internalWallet.service.SystemAccountService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/system")
+@RequiredArgsConstructor
+public class SystemAccountController {
+
+    private final SystemAccountService systemAccountService;
+
+    @GetMapping("/balance")
+    public ResponseEntity<SystemBalanceResponseDto> getSystemBalance(@RequestParam String assetCode,
+                                                                     @RequestParam(defaultValue = "false") boolean live) {
+        return ResponseEntity
+                .ok(systemAccountService.getSystemBalance(assetCode, live));
+    }
+}
@@ -1,17 +1,30 @@
 package com.service.internalWallet.controller;
 
-import java.util.List;
+import java.time.OffsetDateTime;
 
+import com.service.internalWallet.dto.request.BalanceBatchGetRequestDto;
+import com.service.internalWallet.dto.request.BatchTransactionRequestDto;
 import com.service.internalWallet.dto.request.TransactionRequestDto;
+import com.service.internalWallet.dto.response.BalanceBatchGetResponseDto;
 import com.service.internalWallet.dto.response.BalanceResponseDto;
-import com.service.internalWallet.dto.response.ListTransactionResponseDto;
+import com.service.internalWallet.dto.response.BatchTransactionResponseDto;
+import com.service.internalWallet.dto.response.TransactionPageResponseDto;
 import com.service.internalWallet.dto.response.TransactionResponseDto;
+import com.service.internalWallet.dto.response.UserBalancesResponseDto;
+import com.service.internalWallet.enums.TransactionType;
+import com.service.internalWallet.replica.ReadConsistency;
+import com.service.internalWallet.service.BalanceLookupService;
+import com.service.internalWallet.service.BatchTransactionService;
 import com.service.internalWallet.service.TransactionService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -24,6 +37,9 @@ import org.springframework.web.bind.annotation.RestController;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final BatchTransactionService batchTransactionService;
+    private final BalanceLookupService balanceLookupService;
+    private final ReadConsistency readConsistency;
 
     @PostMapping("/transactions")
     public ResponseEntity<TransactionResponseDto> createTransaction(@Valid @RequestBody TransactionRequestDto transactionRequestDto) {
@@ -32,15 +48,43 @@ public class TransactionController {
                 .body(transactionService.processTransaction(transactionRequestDto));
     }
 
+    @PostMapping("/transactions/batch")
+    public ResponseEntity<BatchTransactionResponseDto> createTransactions(@Valid @RequestBody BatchTransactionRequestDto batchTransactionRequestDto) {
+        return ResponseEntity
+                .ok(batchTransactionService.processBatch(batchTransactionRequestDto));
+    }
+
     @GetMapping("/balance")
-    public ResponseEntity<BalanceResponseDto> getBalance(@RequestParam String email, @RequestParam String assetCode) {
+    public ResponseEntity<BalanceResponseDto> getBalance(@RequestParam String email,
+                                                         @RequestParam String assetCode,
+                                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime asOf,
+                                                         @RequestParam(required = false) String readAfter) {
+        return ResponseEntity
+                .ok(readConsistency.readAfter(readAfter, () -> transactionService.getBalance(email, assetCode, asOf)));
+    }
+
+    @GetMapping("/users/{email}/balances")
+    public ResponseEntity<UserBalancesResponseDto> getUserBalances(@PathVariable String email,
+                                                                   @RequestParam(required = false) String readAfter) {
+        return ResponseEntity
+                .ok(readConsistency.readAfter(readAfter, () -> balanceLookupService.getUserBalances(email)));
+    }
+
+    @PostMapping("/balances:batchGet")
+    public ResponseEntity<BalanceBatchGetResponseDto> batchGetBalances(@Valid @RequestBody BalanceBatchGetRequestDto balanceBatchGetRequestDto,
+                                                                       @RequestParam(required = false) String readAfter) {
         return ResponseEntity
-                .ok(transactionService.getBalance(email, assetCode));
+                .ok(readConsistency.readAfter(readAfter, () -> balanceLookupService.batchGetBalances(balanceBatchGetRequestDto)));
     }
 
     @GetMapping("/transactions")
-    public ResponseEntity<List<ListTransactionResponseDto>> getTransactions(@RequestParam String email) {
+    public ResponseEntity<TransactionPageResponseDto> getTransactions(@RequestParam String email,
+                                                                      @RequestParam(required = false) String assetCode,
+                                                                      @RequestParam(required = false) TransactionType type,
+                                                                      @RequestParam(required = false) String cursor,
+                                                                      @RequestParam(defaultValue = "50") @Min(1) @Max(200) int limit,
+                                                                      @RequestParam(required = false) String readAfter) {
         return ResponseEntity
-                .ok(transactionService.getTransactionHistory(email));
+                .ok(readConsistency.readAfter(readAfter, () -> transactionService.getTransactionHistory(email, assetCode, type, cursor, limit)));
     }
 }
@@ -0,0 +1,7 @@
+package com.service.internalWallet.dto.projection;
+
+public record AccountBalanceView(
+        Long balance,
+        Long heldBalance
+) {
+}
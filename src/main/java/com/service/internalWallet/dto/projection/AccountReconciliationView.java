@@ -0,0 +1,15 @@
+package com.service.internalWallet.dto.projection;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record AccountReconciliationView(
+        UUID accountId,
+        long balance,
+        long ledgerBalance,
+        long entries,
+        OffsetDateTime checkpointAt,
+        Long checkpointBalance,
+        long ledgerBalanceAtCheckpoint
+) {
+}
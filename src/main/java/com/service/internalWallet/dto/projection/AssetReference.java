@@ -0,0 +1,10 @@
+package com.service.internalWallet.dto.projection;
+
+import java.util.UUID;
+
+public record AssetReference(
+        UUID id,
+        String code,
+        String name
+) {
+}
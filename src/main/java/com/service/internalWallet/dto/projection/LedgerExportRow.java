@@ -0,0 +1,18 @@
+package com.service.internalWallet.dto.projection;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record LedgerExportRow(
+        UUID ledgerEntryId,
+        OffsetDateTime createdAt,
+        UUID accountId,
+        String assetCode,
+        String entryType,
+        long amount,
+        UUID transactionId,
+        String transactionType,
+        String status,
+        String idempotencyKey
+) {
+}
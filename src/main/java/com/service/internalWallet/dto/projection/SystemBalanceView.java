@@ -0,0 +1,8 @@
+package com.service.internalWallet.dto.projection;
+
+public record SystemBalanceView(
+        String assetCode,
+        Long balance,
+        Long stripes
+) {
+}
@@ -0,0 +1,20 @@
+package com.service.internalWallet.dto.projection;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import com.service.internalWallet.enums.Status;
+import com.service.internalWallet.enums.TransactionType;
+
+public record TransactionHistoryView(
+        UUID ledgerEntryId,
+        OffsetDateTime ledgerEntryCreatedAt,
+        UUID transactionId,
+        TransactionType transactionType,
+        String assetCode,
+        long amount,
+        Status status,
+        LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,14 @@
+package com.service.internalWallet.dto.request;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+public record BalanceBatchGetRequestDto(
+        @NotEmpty(message = "At least one balance key is required")
+        @Size(max = 5000, message = "A batch may contain at most 5000 balance keys")
+        List<@Valid BalanceKeyDto> keys
+) {
+}
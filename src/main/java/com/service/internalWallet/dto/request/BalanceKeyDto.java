@@ -0,0 +1,12 @@
+package com.service.internalWallet.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record BalanceKeyDto(
+        @NotBlank(message = "Email is required")
+        String email,
+
+        @NotBlank(message = "Asset code is required")
+        String assetCode
+) {
+}
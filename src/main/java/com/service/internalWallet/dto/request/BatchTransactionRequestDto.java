@@ -0,0 +1,13 @@
+package com.service.internalWallet.dto.request;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+public record BatchTransactionRequestDto(
+        @NotEmpty(message = "At least one transaction is required")
+        @Size(max = 1000, message = "A batch may contain at most 1000 transactions")
+        List<TransactionRequestDto> transactions
+) {
+}
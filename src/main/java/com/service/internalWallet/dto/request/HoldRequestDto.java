@@ -0,0 +1,29 @@
+package com.service.internalWallet.dto.request;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+public record HoldRequestDto(
+        @NotBlank(message = "Email is required")
+        @Email(message = "Invalid email format")
+        String email,
+
+        @NotBlank(message = "Asset code is required")
+        String assetCode,
+
+        @NotNull(message = "Amount is required")
+        @Positive(message = "Amount must be greater than 0")
+        Long amount,
+
+        @NotBlank(message = "Idempotency key is required")
+        @Size(max = 50, message = "Idempotency key must be at most 50 characters")
+        String idempotencyKey,
+
+        // Defaults to wallet.holds.default-ttl when absent.
+        @Positive(message = "TTL must be greater than 0")
+        Long ttlSeconds
+) {
+}
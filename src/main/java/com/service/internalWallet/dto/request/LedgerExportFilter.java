@@ -0,0 +1,13 @@
+package com.service.internalWallet.dto.request;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record LedgerExportFilter(
+        UUID accountId,
+        String email,
+        String assetCode,
+        OffsetDateTime from,
+        OffsetDateTime to
+) {
+}
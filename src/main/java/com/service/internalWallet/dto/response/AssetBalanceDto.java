@@ -0,0 +1,10 @@
+package com.service.internalWallet.dto.response;
+
+public record AssetBalanceDto(
+        String assetCode,
+        String assetName,
+        Long balance,
+        Long heldBalance,
+        Long availableBalance
+) {
+}
@@ -0,0 +1,8 @@
+package com.service.internalWallet.dto.response;
+
+import java.util.List;
+
+public record BalanceBatchGetResponseDto(
+        List<BalanceLookupResultDto> results
+) {
+}
@@ -0,0 +1,9 @@
+package com.service.internalWallet.dto.response;
+
+public record BalanceLookupResultDto(
+        String email,
+        String assetCode,
+        BalanceResponseDto balance,
+        String error
+) {
+}
@@ -5,6 +5,9 @@ import java.util.UUID;
 public record BalanceResponseDto(
         UUID userId,
         String assetName,
-        Long balance
+        Long balance,
+        // Both null for a balance as of a past instant; holds are not checkpointed.
+        Long heldBalance,
+        Long availableBalance
 ) {
 }
@@ -0,0 +1,15 @@
+package com.service.internalWallet.dto.response;
+
+import com.service.internalWallet.enums.BatchItemStatus;
+
+public record BatchItemResultDto(
+        String idempotencyKey,
+        BatchItemStatus status,
+        TransactionResponseDto transaction,
+        String error
+) {
+
+    public static BatchItemResultDto failed(String idempotencyKey, String error) {
+        return new BatchItemResultDto(idempotencyKey, BatchItemStatus.FAILED, null, error);
+    }
+}
@@ -0,0 +1,11 @@
+package com.service.internalWallet.dto.response;
+
+import java.util.List;
+
+public record BatchTransactionResponseDto(
+        int processed,
+        int replayed,
+        int failed,
+        List<BatchItemResultDto> results
+) {
+}
@@ -0,0 +1,26 @@
+package com.service.internalWallet.dto.response;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.service.internalWallet.enums.CampaignRowStatus;
+import com.service.internalWallet.enums.CampaignStatus;
+
+public record BonusCampaignDto(
+        UUID id,
+        String name,
+        CampaignStatus status,
+        boolean dryRun,
+        long totalRows,
+        long processedRows,
+        double progress,
+        Map<CampaignRowStatus, Long> rows,
+        long bonusAmount,
+        String error,
+        OffsetDateTime createdAt,
+        OffsetDateTime updatedAt,
+        List<CampaignFailureDto> failures
+) {
+}
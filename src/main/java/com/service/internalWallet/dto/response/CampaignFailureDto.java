@@ -0,0 +1,9 @@
+package com.service.internalWallet.dto.response;
+
+public record CampaignFailureDto(
+        long line,
+        String email,
+        String idempotencyKey,
+        String error
+) {
+}
@@ -0,0 +1,16 @@
+package com.service.internalWallet.dto.response;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import com.service.internalWallet.enums.HoldStatus;
+
+public record HoldResponseDto(
+        UUID holdId,
+        HoldStatus status,
+        Long amount,
+        OffsetDateTime expiresAt,
+        UUID transactionId,
+        OffsetDateTime createdAt
+) {
+}
@@ -9,6 +9,8 @@ import com.service.internalWallet.enums.TransactionType;
 public record ListTransactionResponseDto(
         UUID transactionId,
         TransactionType transactionType,
+        String assetCode,
+        Long amount,
         Status status,
         LocalDateTime createdAt
 ) {
@@ -0,0 +1,13 @@
+package com.service.internalWallet.dto.response;
+
+import java.util.UUID;
+
+import com.service.internalWallet.enums.MismatchType;
+
+public record ReconciliationMismatchDto(
+        MismatchType type,
+        UUID id,
+        long expected,
+        long actual
+) {
+}
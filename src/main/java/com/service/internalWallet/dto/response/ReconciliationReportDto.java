@@ -0,0 +1,15 @@
+package com.service.internalWallet.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record ReconciliationReportDto(
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        long accountsChecked,
+        long ledgerEntriesChecked,
+        double ledgerEntriesPerSecond,
+        long mismatchCount,
+        List<ReconciliationMismatchDto> mismatches
+) {
+}
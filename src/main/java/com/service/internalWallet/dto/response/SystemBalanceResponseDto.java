@@ -0,0 +1,11 @@
+package com.service.internalWallet.dto.response;
+
+import java.time.LocalDateTime;
+
+public record SystemBalanceResponseDto(
+        String assetCode,
+        Long balance,
+        Long stripes,
+        LocalDateTime consolidatedAt
+) {
+}
@@ -0,0 +1,9 @@
+package com.service.internalWallet.dto.response;
+
+import java.util.List;
+
+public record TransactionPageResponseDto(
+        List<ListTransactionResponseDto> transactions,
+        String nextCursor
+) {
+}
@@ -0,0 +1,10 @@
+package com.service.internalWallet.dto.response;
+
+import java.util.List;
+import java.util.UUID;
+
+public record UserBalancesResponseDto(
+        UUID userId,
+        List<AssetBalanceDto> balances
+) {
+}
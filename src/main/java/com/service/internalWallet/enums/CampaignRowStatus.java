@@ -0,0 +1,5 @@
+package com.service.internalWallet.enums;
+
+public enum CampaignRowStatus {
+    PENDING, VALID, PROCESSED, REPLAYED, FAILED
+}
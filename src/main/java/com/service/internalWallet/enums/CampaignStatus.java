@@ -0,0 +1,5 @@
+package com.service.internalWallet.enums;
+
+public enum CampaignStatus {
+    STAGED, RUNNING, COMPLETED, FAILED
+}
@@ -0,0 +1,19 @@
+package com.service.internalWallet.exception;
+
+import com.service.internalWallet.dto.request.TransactionRequestDto;
+import com.service.internalWallet.ownership.LeaseOwner;
+import lombok.Getter;
+
+@Getter
+public class AccountNotOwnedException extends RuntimeException {
+
+    // Null while no live node holds the bucket, e.g. during failover.
+    private final LeaseOwner owner;
+    private final TransactionRequestDto request;
+
+    public AccountNotOwnedException(String message, LeaseOwner owner, TransactionRequestDto request) {
+        super(message);
+        this.owner = owner;
+        this.request = request;
+    }
+}
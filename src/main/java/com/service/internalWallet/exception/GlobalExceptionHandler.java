@@ -1,14 +1,25 @@
 package com.service.internalWallet.exception;
 
 import com.service.internalWallet.dto.response.ErrorResponseDto;
+import com.service.internalWallet.ownership.OwnershipForwarder;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    public static final String OWNER_URL_HEADER = "X-Wallet-Owner-Url";
+
+    private final ObjectProvider<OwnershipForwarder> ownershipForwarder;
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ErrorResponseDto> handleResourceNotFound(ResourceNotFoundException exception) {
         return ResponseEntity
@@ -22,4 +33,50 @@ public class GlobalExceptionHandler {
                 .status(HttpStatus.BAD_REQUEST)
                 .body(new ErrorResponseDto("Invalid Data", exception.getMessage()));
     }
+
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ErrorResponseDto> handleInvalidRequest(InvalidRequestException exception) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponseDto("Invalid Data", exception.getMessage()));
+    }
+
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<ErrorResponseDto> handleServiceBusy(ServiceBusyException exception) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponseDto("Service Unavailable", exception.getMessage()));
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponseDto> handleRateLimitExceeded(RateLimitExceededException exception) {
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(exception.getRetryAfterSeconds()))
+                .body(new ErrorResponseDto("Too Many Requests", exception.getMessage()));
+    }
+
+    // Forwards to the owning node when possible, otherwise answers 421 with the owner as a redirect hint.
+    // An exception thrown from here would not reach the other handlers, so an unreachable owner, e.g. one
+    // that died and still holds its lease, is answered with the 503 directly.
+    @ExceptionHandler(AccountNotOwnedException.class)
+    public ResponseEntity<?> handleAccountNotOwned(AccountNotOwnedException exception, HttpServletRequest request) {
+        OwnershipForwarder forwarder = ownershipForwarder.getIfAvailable();
+        if (forwarder != null && exception.getOwner() != null && request.getHeader(OwnershipForwarder.FORWARDED_HEADER) == null) {
+            try {
+                return forwarder.forward(exception.getOwner(), exception.getRequest());
+            } catch (ServiceBusyException e) {
+                return handleServiceBusy(e);
+            }
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity
+                .status(HttpStatusCode.valueOf(421))
+                .header(HttpHeaders.RETRY_AFTER, "1");
+        if (exception.getOwner() != null) {
+            response.header(OWNER_URL_HEADER, exception.getOwner().url());
+        }
+        return response.body(new ErrorResponseDto("Misdirected Request", exception.getMessage()));
+    }
 }
@@ -0,0 +1,147 @@
+package com.service.internalWallet.metrics;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.service.internalWallet.dto.request.TransactionRequestDto;
+import com.service.internalWallet.enums.TransactionType;
+import com.service.internalWallet.service.ReferenceDataService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Stage timings and outcome counters of the transaction hot path, tagged by transaction type and asset.
+ * <p>
+ * The asset code arrives in the request body before it is validated, so it is only used as a tag once the
+ * asset has been resolved into the reference-data cache; any other code is tagged as {@value #OTHER_ASSET}.
+ */
+@Component
+@RequiredArgsConstructor
+public class WalletMetrics {
+
+    public static final String STAGE_TIMER = "wallet.transaction.stage";
+    public static final String INSUFFICIENT_FUNDS_COUNTER = "wallet.transaction.insufficient.funds";
+    public static final String REPLAY_COUNTER = "wallet.transaction.replays";
+
+    public static final String IDEMPOTENCY_LOOKUP = "idempotency_lookup";
+    public static final String REFERENCE_RESOLUTION = "reference_resolution";
+    public static final String USER_BALANCE_UPDATE = "user_balance_update";
+    public static final String SYSTEM_BALANCE_UPDATE = "system_balance_update";
+    public static final String LEDGER_INSERT = "ledger_insert";
+    // Stages of the lane path, which locks and then updates the balances of a whole group at once.
+    public static final String BALANCE_LOCK = "balance_lock";
+    public static final String BALANCE_UPDATE = "balance_update";
+    public static final String COMMIT = "commit";
+
+    static final String OTHER_ASSET = "other";
+
+    private final MeterRegistry meterRegistry;
+    private final CacheManager cacheManager;
+
+    public <T> T timeStage(String stage, TransactionType type, String asset, Supplier<T> work) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return work.get();
+        } finally {
+            sample.stop(stageTimer(stage, type, asset));
+        }
+    }
+
+    // A stage run once for a whole group of operations, such as a lane's group commit, is recorded once per
+    // operation with the group's duration, so the timers keep counting operations on either write path.
+    public <T> T timeStage(String stage, List<TransactionRequestDto> requests, Supplier<T> work) {
+        long start = meterRegistry.config().clock().monotonicTime();
+        try {
+            return work.get();
+        } finally {
+            record(stage, requests, meterRegistry.config().clock().monotonicTime() - start);
+        }
+    }
+
+    // Times the commit of the surrounding transaction, from the start of the commit to its completion.
+    public void timeCommit(TransactionType type, String asset) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private Timer.Sample sample;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                sample = Timer.start(meterRegistry);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (sample != null) {
+                    sample.stop(stageTimer(COMMIT, type, asset));
+                }
+            }
+        });
+    }
+
+    public void timeCommit(List<TransactionRequestDto> requests) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long start = -1;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                start = meterRegistry.config().clock().monotonicTime();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (start >= 0) {
+                    record(COMMIT, requests, meterRegistry.config().clock().monotonicTime() - start);
+                }
+            }
+        });
+    }
+
+    public void recordInsufficientFunds(TransactionType type, String asset) {
+        Counter.builder(INSUFFICIENT_FUNDS_COUNTER)
+                .description("SPEND requests rejected for insufficient balance")
+                .tag("type", type.name())
+                .tag("asset", assetTag(asset))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordReplay(String source) {
+        Counter.builder(REPLAY_COUNTER)
+                .description("Requests answered from an existing idempotency key")
+                .tag("source", source)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void record(String stage, List<TransactionRequestDto> requests, long nanos) {
+        requests.forEach(request -> stageTimer(stage, request.type(), request.assetCode()).record(nanos, TimeUnit.NANOSECONDS));
+    }
+
+    private Timer stageTimer(String stage, TransactionType type, String asset) {
+        return Timer.builder(STAGE_TIMER)
+                .description("Time spent in each stage of a wallet transaction")
+                .tag("stage", stage)
+                .tag("type", type.name())
+                .tag("asset", assetTag(asset))
+                .register(meterRegistry);
+    }
+
+    // Only codes that resolved to a real asset are in the cache; unknown codes are never cached.
+    private String assetTag(String asset) {
+        Cache assets = cacheManager.getCache(ReferenceDataService.ASSETS_BY_CODE);
+        return asset != null && assets != null && assets.get(asset) != null ? asset : OTHER_ASSET;
+    }
+}
@@ -1,39 +1,36 @@
 package com.service.internalWallet.model;
 
 import java.time.LocalDateTime;
-import java.util.HashSet;
-import java.util.Set;
 import java.util.UUID;
 
-import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.service.internalWallet.enums.Status;
 import com.service.internalWallet.enums.TransactionType;
-import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
+import lombok.Setter;
+import lombok.ToString;
 
 @Entity
 @Table(name = "transactions")
-@Data
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 public class Transaction {
 
     @Id
     @NonNull
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @Enumerated(EnumType.STRING)
@@ -45,16 +42,30 @@ public class Transaction {
     @Enumerated(EnumType.STRING)
     private Status status;
 
+    private Long amount;
+
+    @Column(name = "balance_after")
+    private Long balanceAfter;
+
     @NonNull
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
-    @OneToMany(mappedBy = "transaction", cascade = CascadeType.ALL)
-    @JsonIgnore
-    private Set<LedgerEntry> ledgerEntries = new HashSet<>();
-
     @PrePersist
     public void prePersist() {
         this.createdAt = LocalDateTime.now();
     }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        return other instanceof Transaction that && id != null && id.equals(that.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Transaction.class.hashCode();
+    }
 }
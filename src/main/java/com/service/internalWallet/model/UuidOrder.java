@@ -0,0 +1,20 @@
+package com.service.internalWallet.model;
+
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * The order PostgreSQL sorts {@code uuid} columns in: byte by byte, unsigned. {@link UUID#compareTo}
+ * compares the two halves as signed longs and disagrees with it whenever exactly one of two ids has
+ * its top bit set, so every write path that locks several account rows from Java sorts with
+ * {@link #ASCENDING} to take them in the same order as {@code ORDER BY id ... FOR UPDATE}.
+ */
+public final class UuidOrder {
+
+    public static final Comparator<UUID> ASCENDING = Comparator
+            .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    private UuidOrder() {
+    }
+}
@@ -0,0 +1,50 @@
+package com.service.internalWallet.model;
+
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+/**
+ * RFC 9562 UUIDv7: a 48-bit Unix millisecond timestamp, a 12-bit counter and 62 random bits.
+ * Timestamp and counter are advanced together, so ids generated by one JVM are strictly increasing
+ * even within the same millisecond or when the clock steps back.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    private static final int COUNTER_BITS = 12;
+
+    // Unix milliseconds shifted left by COUNTER_BITS, plus the counter.
+    private static final AtomicLong LAST_TIMESTAMP = new AtomicLong();
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << COUNTER_BITS;
+        long previous;
+        long timestamp;
+        do {
+            previous = LAST_TIMESTAMP.get();
+            timestamp = Math.max(now, previous + 1);
+        } while (!LAST_TIMESTAMP.compareAndSet(previous, timestamp));
+
+        long mostSigBits = (timestamp >>> COUNTER_BITS) << 16
+                | 0x7000L
+                | (timestamp & ((1L << COUNTER_BITS) - 1));
+        long leastSigBits = ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
@@ -0,0 +1,277 @@
+package com.service.internalWallet.ownership;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.sql.DataSource;
+
+import com.service.internalWallet.config.OwnershipProperties;
+import com.service.internalWallet.dto.request.TransactionRequestDto;
+import com.service.internalWallet.exception.AccountNotOwnedException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Splits user accounts into {@code buckets} by account id and lets every node own a fair share of
+ * them, so that writes for one account are only ever issued by one node. A node owns a bucket while
+ * it holds a session-level advisory lock on it through a dedicated connection and keeps renewing the
+ * bucket's lease row. If the node dies its connection drops and the locks go with it; if it hangs
+ * with the connection open, another node terminates that session once the lease has been expired
+ * for a full lease duration. A node stops serving a bucket as soon as its own lease lapses locally.
+ *
+ * Ownership only routes load: balance updates still take row locks, so a stale owner can never
+ * corrupt a balance, it can only contend.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "wallet.ownership", name = "enabled", havingValue = "true")
+public class AccountOwnershipService {
+
+    // "WALL": first key of every bucket lock, the bucket number is the second.
+    static final int LOCK_NAMESPACE = 0x57414C4C;
+
+    private final DataSource dataSource;
+    private final OwnershipProperties properties;
+    private final String nodeId;
+
+    private final Map<Integer, Instant> owned = new ConcurrentHashMap<>();
+    private volatile Map<Integer, LeaseOwner> owners = Map.of();
+    private Connection leaseConnection;
+
+    public AccountOwnershipService(DataSource dataSource, OwnershipProperties properties) {
+        this.dataSource = dataSource;
+        this.properties = properties;
+        this.nodeId = properties.nodeId() == null || properties.nodeId().isBlank()
+                ? UUID.randomUUID().toString()
+                : properties.nodeId();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public int bucketOf(UUID accountId) {
+        return Math.floorMod(accountId.hashCode(), properties.buckets());
+    }
+
+    public boolean owns(int bucket) {
+        Instant validUntil = owned.get(bucket);
+        return validUntil != null && validUntil.isAfter(Instant.now());
+    }
+
+    public List<Integer> ownedBuckets() {
+        return owned.keySet().stream().filter(this::owns).sorted().toList();
+    }
+
+    public void checkOwned(UUID userAccountId, TransactionRequestDto request) {
+        int bucket = bucketOf(userAccountId);
+        if (owns(bucket)) {
+            return;
+        }
+        LeaseOwner owner = owners.get(bucket);
+        if (owner != null && owner.nodeId().equals(nodeId)) {
+            owner = null;
+        }
+        throw new AccountNotOwnedException("Account is owned by another node", owner, request);
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.ownership.heartbeat-interval:PT2S}")
+    public synchronized void heartbeat() {
+        Instant validUntil = Instant.now().plus(properties.leaseDuration());
+        try {
+            Connection connection = leaseConnection();
+
+            update(connection, """
+                    INSERT INTO wallet_nodes (node_id, url, heartbeat_at) VALUES (?, ?, now())
+                    ON CONFLICT (node_id) DO UPDATE SET url = EXCLUDED.url, heartbeat_at = EXCLUDED.heartbeat_at
+                    """, nodeId, properties.advertisedUrl());
+
+            if (!owned.isEmpty()) {
+                update(connection, """
+                        UPDATE account_bucket_leases
+                        SET expires_at = now() + ? * INTERVAL '1 millisecond'
+                        WHERE owner_id = ?
+                          AND bucket = ANY (?)
+                        """, leaseMillis(), nodeId, connection.createArrayOf("int4", owned.keySet().toArray()));
+                owned.replaceAll((bucket, previous) -> validUntil);
+            }
+
+            int liveNodes = queryInts(connection,
+                    "SELECT count(*)::int FROM wallet_nodes WHERE heartbeat_at > now() - ? * INTERVAL '1 millisecond'",
+                    leaseMillis()).getFirst();
+            int fairShare = Math.ceilDiv(properties.buckets(), Math.max(liveNodes, 1));
+
+            while (owned.size() > fairShare) {
+                release(connection, owned.keySet().stream().max(Integer::compare).orElseThrow());
+            }
+            if (owned.size() < fairShare) {
+                acquire(connection, fairShare, validUntil);
+            }
+
+            refreshOwners(connection);
+        } catch (SQLException e) {
+            log.warn("Lost the ownership lease connection, giving up {} buckets: {}", owned.size(), e.getMessage());
+            owned.clear();
+            closeLeaseConnection();
+        }
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (leaseConnection != null && !owned.isEmpty()) {
+            try {
+                update(leaseConnection, "DELETE FROM account_bucket_leases WHERE owner_id = ?", nodeId);
+            } catch (SQLException e) {
+                log.warn("Could not release ownership leases: {}", e.getMessage());
+            }
+        }
+        owned.clear();
+        closeLeaseConnection();
+    }
+
+    private void acquire(Connection connection, int fairShare, Instant validUntil) throws SQLException {
+        List<Integer> candidates = queryInts(connection, """
+                SELECT b
+                FROM generate_series(0, ? - 1) b
+                WHERE NOT EXISTS (
+                    SELECT 1
+                    FROM account_bucket_leases l
+                    WHERE l.bucket = b
+                      AND l.owner_id <> ?
+                      AND l.expires_at > now()
+                )
+                ORDER BY random()
+                """, properties.buckets(), nodeId);
+
+        for (int bucket : candidates) {
+            if (owned.size() >= fairShare) {
+                return;
+            }
+            if (owned.containsKey(bucket)) {
+                continue;
+            }
+            if (queryBoolean(connection, "SELECT pg_try_advisory_lock(?, ?)", LOCK_NAMESPACE, bucket)) {
+                update(connection, """
+                        INSERT INTO account_bucket_leases (bucket, owner_id, expires_at)
+                        VALUES (?, ?, now() + ? * INTERVAL '1 millisecond')
+                        ON CONFLICT (bucket) DO UPDATE SET owner_id = EXCLUDED.owner_id, expires_at = EXCLUDED.expires_at
+                        """, bucket, nodeId, leaseMillis());
+                owned.put(bucket, validUntil);
+                log.info("Node {} took ownership of bucket {}", nodeId, bucket);
+            } else {
+                terminateStaleHolder(connection, bucket);
+            }
+        }
+    }
+
+    // The lock is still held but nobody has renewed the lease for a whole lease duration past its
+    // expiry: the holder is hung. Ending its session frees the lock for the next heartbeat.
+    private void terminateStaleHolder(Connection connection, int bucket) throws SQLException {
+        List<Integer> terminated = queryInts(connection, """
+                SELECT count(pg_terminate_backend(lk.pid))::int
+                FROM pg_locks lk
+                JOIN account_bucket_leases l ON l.bucket = ?
+                WHERE lk.locktype = 'advisory'
+                  AND lk.classid = ?::oid
+                  AND lk.objid = ?::oid
+                  AND lk.objsubid = 2
+                  AND lk.granted
+                  AND l.expires_at < now() - ? * INTERVAL '1 millisecond'
+                """, bucket, LOCK_NAMESPACE, bucket, leaseMillis());
+        if (terminated.getFirst() > 0) {
+            log.warn("Terminated the hung owner session of bucket {}", bucket);
+        }
+    }
+
+    private void release(Connection connection, int bucket) throws SQLException {
+        update(connection, "DELETE FROM account_bucket_leases WHERE bucket = ? AND owner_id = ?", bucket, nodeId);
+        queryBoolean(connection, "SELECT pg_advisory_unlock(?, ?)", LOCK_NAMESPACE, bucket);
+        owned.remove(bucket);
+        log.info("Node {} released bucket {}", nodeId, bucket);
+    }
+
+    private void refreshOwners(Connection connection) throws SQLException {
+        Map<Integer, LeaseOwner> current = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement("""
+                SELECT l.bucket, n.node_id, n.url
+                FROM account_bucket_leases l
+                JOIN wallet_nodes n ON n.node_id = l.owner_id
+                WHERE l.expires_at > now()
+                """);
+             ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                current.put(rs.getInt(1), new LeaseOwner(rs.getString(2), rs.getString(3)));
+            }
+        }
+        owners = Map.copyOf(current);
+    }
+
+    private Connection leaseConnection() throws SQLException {
+        if (leaseConnection == null || leaseConnection.isClosed()) {
+            leaseConnection = dataSource.getConnection();
+            leaseConnection.setAutoCommit(true);
+        }
+        return leaseConnection;
+    }
+
+    private void closeLeaseConnection() {
+        if (leaseConnection == null) {
+            return;
+        }
+        // A pooled connection outlives close(), so its session must not keep any bucket locked.
+        try (leaseConnection; PreparedStatement statement = leaseConnection.prepareStatement("SELECT pg_advisory_unlock_all()")) {
+            statement.execute();
+        } catch (SQLException e) {
+            log.debug("Could not close the lease connection: {}", e.getMessage());
+        }
+        leaseConnection = null;
+    }
+
+    private long leaseMillis() {
+        return properties.leaseDuration().toMillis();
+    }
+
+    private static void update(Connection connection, String sql, Object... args) throws SQLException {
+        try (PreparedStatement statement = prepare(connection, sql, args)) {
+            statement.executeUpdate();
+        }
+    }
+
+    private static boolean queryBoolean(Connection connection, String sql, Object... args) throws SQLException {
+        try (PreparedStatement statement = prepare(connection, sql, args);
+             ResultSet rs = statement.executeQuery()) {
+            return rs.next() && rs.getBoolean(1);
+        }
+    }
+
+    private static List<Integer> queryInts(Connection connection, String sql, Object... args) throws SQLException {
+        List<Integer> values = new ArrayList<>();
+        try (PreparedStatement statement = prepare(connection, sql, args);
+             ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                values.add(rs.getInt(1));
+            }
+        }
+        return values;
+    }
+
+    private static PreparedStatement prepare(Connection connection, String sql, Object... args) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        for (int i = 0; i < args.length; i++) {
+            statement.setObject(i + 1, args[i]);
+        }
+        return statement;
+    }
+}
@@ -0,0 +1,7 @@
+package com.service.internalWallet.ownership;
+
+public record LeaseOwner(
+        String nodeId,
+        String url
+) {
+}
@@ -0,0 +1,68 @@
+package com.service.internalWallet.ownership;
+
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import com.service.internalWallet.config.RateLimitInterceptor;
+import com.service.internalWallet.dto.request.TransactionRequestDto;
+import com.service.internalWallet.exception.ServiceBusyException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Replays a write on the node that owns the account and relays its response unchanged. Forwarded
+ * requests carry {@link #FORWARDED_HEADER}, and a node never forwards such a request again, so a
+ * routing table that is briefly out of date cannot bounce a request between nodes.
+ */
+@Component
+@ConditionalOnProperty(prefix = "wallet.ownership", name = {"enabled", "forward"}, havingValue = "true")
+public class OwnershipForwarder {
+
+    public static final String FORWARDED_HEADER = "X-Wallet-Forwarded-By";
+
+    private final AccountOwnershipService accountOwnershipService;
+    private final RestClient restClient;
+
+    public OwnershipForwarder(AccountOwnershipService accountOwnershipService) {
+        this.accountOwnershipService = accountOwnershipService;
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(
+                HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build());
+        requestFactory.setReadTimeout(Duration.ofSeconds(10));
+        this.restClient = RestClient.builder().requestFactory(requestFactory).build();
+    }
+
+    public ResponseEntity<String> forward(LeaseOwner owner, TransactionRequestDto request) {
+        try {
+            return restClient.post()
+                    .uri(owner.url() + "/api/v1/transactions")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(FORWARDED_HEADER, accountOwnershipService.getNodeId())
+                    .header(RateLimitInterceptor.USER_HEADER, request.email())
+                    .header(RateLimitInterceptor.ASSET_HEADER, request.assetCode())
+                    .body(request)
+                    .exchange((clientRequest, clientResponse) -> {
+                        HttpHeaders headers = new HttpHeaders();
+                        if (clientResponse.getHeaders().getContentType() != null) {
+                            headers.setContentType(clientResponse.getHeaders().getContentType());
+                        }
+                        String retryAfter = clientResponse.getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+                        if (retryAfter != null) {
+                            headers.set(HttpHeaders.RETRY_AFTER, retryAfter);
+                        }
+                        return ResponseEntity.status(clientResponse.getStatusCode())
+                                .headers(headers)
+                                .body(new String(clientResponse.getBody().readAllBytes(), StandardCharsets.UTF_8));
+                    });
+        } catch (RestClientException e) {
+            throw new ServiceBusyException("Account owner " + owner.nodeId() + " is unreachable");
+        }
+    }
+}
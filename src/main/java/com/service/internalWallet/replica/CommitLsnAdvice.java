@@ -0,0 +1,47 @@
+package com.service.internalWallet.replica;
+
+import javax.sql.DataSource;
+
+import com.service.internalWallet.dto.response.ErrorResponseDto;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// Runs once the handler has returned, so the write has committed and the primary's current WAL position
+// is at or past its commit record.
+@ControllerAdvice
+@ConditionalOnProperty(prefix = "wallet.replica", name = "enabled", havingValue = "true")
+public class CommitLsnAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String READ_AFTER_HEADER = "X-Read-After";
+
+    private final JdbcTemplate primaryJdbcTemplate;
+
+    public CommitLsnAdvice(@Qualifier("primaryDataSource") DataSource primaryDataSource) {
+        this.primaryJdbcTemplate = new JdbcTemplate(primaryDataSource);
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        boolean write = !HttpMethod.GET.equals(request.getMethod()) && !(body instanceof ErrorResponseDto);
+        if (write && request.getURI().getPath().startsWith("/api/")) {
+            response.getHeaders().set(READ_AFTER_HEADER, primaryJdbcTemplate.queryForObject("SELECT pg_current_wal_lsn()::text", String.class));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,33 @@
+package com.service.internalWallet.replica;
+
+import java.util.regex.Pattern;
+
+/**
+ * A PostgreSQL WAL position, written {@code X/Y} with both halves in hex.
+ */
+public record Lsn(long value) implements Comparable<Lsn> {
+
+    private static final Pattern FORMAT = Pattern.compile("[0-9A-Fa-f]{1,8}/[0-9A-Fa-f]{1,8}");
+
+    public static boolean isLsn(String text) {
+        return text != null && FORMAT.matcher(text).matches();
+    }
+
+    public static Lsn parse(String text) {
+        if (!isLsn(text)) {
+            throw new IllegalArgumentException("Not a WAL position: " + text);
+        }
+        int slash = text.indexOf('/');
+        return new Lsn(Long.parseLong(text.substring(0, slash), 16) << 32 | Long.parseLong(text.substring(slash + 1), 16));
+    }
+
+    @Override
+    public int compareTo(Lsn other) {
+        return Long.compareUnsigned(value, other.value);
+    }
+
+    @Override
+    public String toString() {
+        return Long.toHexString(value >>> 32).toUpperCase() + "/" + Long.toHexString(value & 0xFFFFFFFFL).toUpperCase();
+    }
+}
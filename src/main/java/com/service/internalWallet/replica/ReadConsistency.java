@@ -0,0 +1,56 @@
+package com.service.internalWallet.replica;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import com.service.internalWallet.exception.InvalidRequestException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read-your-writes for replica reads. Write responses carry the primary's WAL position after the commit in
+ * {@link CommitLsnAdvice#READ_AFTER_HEADER}; a caller passing it back as {@code readAfter} is served by the
+ * replica once it has replayed that far, and by the primary until then.
+ * <p>
+ * A transaction id or a timestamp is still accepted, but a time cannot be compared with the replica's
+ * progress without trusting two clocks, so such reads always go to the primary.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReadConsistency {
+
+    private final ObjectProvider<ReplicaLagMonitor> replicaLagMonitor;
+
+    public <T> T readAfter(String lastWrite, Supplier<T> read) {
+        ReplicaLagMonitor monitor = replicaLagMonitor.getIfAvailable();
+        if (monitor == null || lastWrite == null || lastWrite.isBlank()) {
+            return read.get();
+        }
+
+        if (Lsn.isLsn(lastWrite)) {
+            return monitor.hasReplayed(Lsn.parse(lastWrite)) ? read.get() : ReadReplicaRoutingDataSource.onPrimary(read);
+        }
+        validate(lastWrite);
+        return ReadReplicaRoutingDataSource.onPrimary(read);
+    }
+
+    private void validate(String lastWrite) {
+        try {
+            UUID.fromString(lastWrite);
+        } catch (IllegalArgumentException notAnId) {
+            try {
+                OffsetDateTime.parse(lastWrite);
+            } catch (DateTimeParseException notOffset) {
+                try {
+                    LocalDateTime.parse(lastWrite);
+                } catch (DateTimeParseException e) {
+                    throw new InvalidRequestException("readAfter must be a WAL position, a transaction id or an ISO-8601 timestamp");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.service.internalWallet.replica;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.sql.DataSource;
+
+import com.service.internalWallet.config.ReplicaProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Tracks how far the replica has replayed the WAL and how far behind the primary it is. Both are read
+ * on the replica alone, so neither depends on the application and database clocks agreeing. A replica
+ * whose WAL receiver is streaming and has replayed all it received, or a server that is not a standby
+ * at all (both pools pointing at one database), counts as not lagging. A replica whose receiver is down
+ * lags by the age of its last replayed commit, however much of the received WAL it has replayed.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String REPLAY_STATE = """
+            SELECT (CASE WHEN pg_is_in_recovery() THEN pg_last_wal_replay_lsn() ELSE pg_current_wal_lsn() END)::text AS replayed_lsn,
+                   CASE
+                       WHEN NOT pg_is_in_recovery() THEN 0
+                       WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn()
+                            AND EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN 0
+                       ELSE (EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000)::bigint
+                   END AS lag_millis
+            """;
+
+    private static final Duration UNKNOWN_LAG = Duration.ofDays(365);
+
+    private record ReplayState(Lsn replayedLsn, Duration lag, long checkedAtNanos) {
+    }
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final Duration maxStaleness;
+    private final AtomicReference<ReplayState> replayState = new AtomicReference<>();
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, ReplicaProperties properties, MeterRegistry meterRegistry) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.maxStaleness = properties.maxStaleness();
+
+        Gauge.builder("wallet.replica.lag", this, monitor -> monitor.lag().toMillis() / 1000.0)
+                .description("How far the read replica is behind the primary")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.replica.lag-check-interval:PT1S}")
+    public void checkLag() {
+        try {
+            ReplayState state = replicaJdbcTemplate.queryForObject(REPLAY_STATE, (rs, rowNum) -> {
+                String replayedLsn = rs.getString("replayed_lsn");
+                long lagMillis = rs.getLong("lag_millis");
+                // No replayed commit to measure from yet.
+                Duration lag = rs.wasNull() ? UNKNOWN_LAG : Duration.ofMillis(Math.max(0, lagMillis));
+                return replayedLsn == null ? null : new ReplayState(Lsn.parse(replayedLsn), lag, System.nanoTime());
+            });
+            if (state != null) {
+                replayState.set(state);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not read replica lag, reads stay on the primary until it recovers: {}", e.getMessage());
+        }
+    }
+
+    public boolean isWithinTolerance() {
+        return lag().compareTo(maxStaleness) <= 0;
+    }
+
+    public boolean hasReplayed(Lsn lsn) {
+        ReplayState state = replayState.get();
+        return state != null && state.replayedLsn().compareTo(lsn) >= 0;
+    }
+
+    // The lag measured at the last check, plus the time since, during which the replica may have fallen further behind.
+    private Duration lag() {
+        ReplayState state = replayState.get();
+        return state == null ? UNKNOWN_LAG : state.lag().plusNanos(System.nanoTime() - state.checkedAtNanos());
+    }
+}
@@ -0,0 +1,11 @@
+package com.service.internalWallet.repository;
+
+import java.util.OptionalLong;
+import java.util.UUID;
+
+public interface AccountBalanceRepository {
+
+    long applyDelta(UUID accountId, long delta);
+
+    OptionalLong debitIfSufficient(UUID accountId, long amount);
+}
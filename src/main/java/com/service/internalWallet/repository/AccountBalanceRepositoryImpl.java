@@ -0,0 +1,50 @@
+package com.service.internalWallet.repository;
+
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import com.service.internalWallet.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Balance mutations as single conditional UPDATE statements. The row lock is taken and released by
+ * the statement itself, so no account has to be loaded, locked and saved back by the caller.
+ */
+@RequiredArgsConstructor
+public class AccountBalanceRepositoryImpl implements AccountBalanceRepository {
+
+    private static final String APPLY_DELTA = """
+            UPDATE accounts
+            SET balance = balance + ?
+            WHERE id = ?
+            RETURNING balance
+            """;
+
+    private static final String DEBIT_IF_SUFFICIENT = """
+            UPDATE accounts
+            SET balance = balance - ?
+            WHERE id = ?
+              AND balance - held_balance >= ?
+            RETURNING balance
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public long applyDelta(UUID accountId, long delta) {
+        return returningBalance(APPLY_DELTA, delta, accountId)
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found"));
+    }
+
+    @Override
+    public OptionalLong debitIfSufficient(UUID accountId, long amount) {
+        return returningBalance(DEBIT_IF_SUFFICIENT, amount, accountId, amount);
+    }
+
+    private OptionalLong returningBalance(String sql, Object... args) {
+        List<Long> balances = jdbcTemplate.query(sql, (rs, rowNum) -> rs.getLong(1), args);
+        return balances.isEmpty() ? OptionalLong.empty() : OptionalLong.of(balances.getFirst());
+    }
+}
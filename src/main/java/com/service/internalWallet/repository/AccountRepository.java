@@ -1,26 +1,55 @@
 package com.service.internalWallet.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import com.service.internalWallet.dto.projection.AccountBalanceView;
+import com.service.internalWallet.dto.projection.SystemBalanceView;
 import com.service.internalWallet.enums.AccountType;
 import com.service.internalWallet.model.Account;
-import jakarta.persistence.LockModeType;
-import lombok.NonNull;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface AccountRepository extends JpaRepository<Account, UUID> {
+public interface AccountRepository extends JpaRepository<Account, UUID>, AccountBalanceRepository {
 
     Optional<Account> findByUserIdAndAssetId(UUID userId, UUID assetId);
 
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT ac FROM Account ac WHERE ac.id = :accountId")
-    Optional<Account> findByAccountId(@Param("accountId") UUID id);
+    List<Account> findByTypeAndAssetId(AccountType type, UUID assetId);
 
-    Optional<Account> findByTypeAndAssetId(AccountType system, @NonNull UUID id);
+    List<Account> findByTypeAndUserIdIn(AccountType type, Collection<UUID> userIds);
+
+    List<Account> findByTypeAndAssetIdIn(AccountType type, Collection<UUID> assetIds);
+
+    @Query("SELECT ac.id FROM Account ac WHERE ac.type = :type AND ac.user.id = :userId AND ac.asset.id = :assetId")
+    Optional<UUID> findIdByTypeAndUserIdAndAssetId(@Param("type") AccountType type, @Param("userId") UUID userId, @Param("assetId") UUID assetId);
+
+    @Query("SELECT ac.id FROM Account ac WHERE ac.type = :type AND ac.asset.id = :assetId AND ac.stripe = :stripe")
+    Optional<UUID> findIdByTypeAndAssetIdAndStripe(@Param("type") AccountType type, @Param("assetId") UUID assetId, @Param("stripe") int stripe);
+
+    @Query("SELECT new com.service.internalWallet.dto.projection.AccountBalanceView(ac.balance, ac.heldBalance) FROM Account ac WHERE ac.id = :accountId")
+    Optional<AccountBalanceView> findBalanceViewById(@Param("accountId") UUID accountId);
+
+    @Query("""
+        SELECT new com.service.internalWallet.dto.projection.SystemBalanceView(a.code, COALESCE(SUM(ac.balance), 0), COUNT(ac))
+        FROM Account ac
+        JOIN ac.asset a
+        WHERE ac.type = com.service.internalWallet.enums.AccountType.SYSTEM
+        GROUP BY a.code
+    """)
+    List<SystemBalanceView> sumSystemBalancesByAsset();
+
+    @Query("""
+        SELECT new com.service.internalWallet.dto.projection.SystemBalanceView(a.code, COALESCE(SUM(ac.balance), 0), COUNT(ac))
+        FROM Account ac
+        JOIN ac.asset a
+        WHERE ac.type = com.service.internalWallet.enums.AccountType.SYSTEM
+          AND a.code = :assetCode
+        GROUP BY a.code
+    """)
+    Optional<SystemBalanceView> sumSystemBalanceByAssetCode(@Param("assetCode") String assetCode);
 }
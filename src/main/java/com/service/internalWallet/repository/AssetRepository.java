@@ -1,14 +1,24 @@
 package com.service.internalWallet.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import com.service.internalWallet.dto.projection.AssetReference;
 import com.service.internalWallet.model.Asset;
 import jakarta.validation.constraints.NotBlank;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface AssetRepository extends JpaRepository<Asset, UUID> {
     Optional<Asset> findByCode(@NotBlank(message = "Asset code is required") String s);
+
+    List<Asset> findByCodeIn(Collection<String> codes);
+
+    @Query("SELECT new com.service.internalWallet.dto.projection.AssetReference(a.id, a.code, a.name) FROM Asset a WHERE a.code = :code")
+    Optional<AssetReference> findReferenceByCode(@Param("code") String code);
 }
@@ -0,0 +1,101 @@
+package com.service.internalWallet.repository;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class BalanceCheckpointRepository {
+
+    private static final String ACCOUNT_IDS_AFTER = """
+            SELECT id
+            FROM accounts
+            WHERE id > ?
+            ORDER BY id
+            LIMIT ?
+            """;
+
+    // Ledger rows are stamped by the application inside their transaction, so an entry can commit well after
+    // its created_at. No transaction still in flight can add an entry older than its own start, hence the
+    // watermark stops at the oldest open transaction on this database, less the allowed clock skew.
+    // Only transactions that have written something hold an xid: every write path updates or locks its rows
+    // before stamping its entries, so read-only ones (exports, reconciliation) never hold the watermark back.
+    private static final String WATERMARK = """
+            SELECT LEAST(now(), COALESCE(MIN(xact_start), now())) - ? * INTERVAL '1 millisecond'
+            FROM pg_stat_activity
+            WHERE datname = current_database()
+              AND pid <> pg_backend_pid()
+              AND xact_start IS NOT NULL
+              AND backend_xid IS NOT NULL
+            """;
+
+    // Extends each account's latest checkpoint before checkpoint_at with the entries written since, skipping
+    // accounts without new entries. A checkpoint covers the entries with created_at < checkpoint_at.
+    private static final String WRITE_CHECKPOINTS = """
+            INSERT INTO balance_checkpoints (account_id, checkpoint_at, balance, entry_count)
+            SELECT a.id, ?, COALESCE(cp.balance, 0) + d.delta, COALESCE(cp.entry_count, 0) + d.entries
+            FROM unnest(?::text[]) AS ids(id)
+            CROSS JOIN LATERAL (SELECT ids.id::uuid AS id) a
+            LEFT JOIN LATERAL (
+                SELECT c.balance, c.entry_count, c.checkpoint_at
+                FROM balance_checkpoints c
+                WHERE c.account_id = a.id
+                  AND c.checkpoint_at <= ?
+                ORDER BY c.checkpoint_at DESC
+                LIMIT 1
+            ) cp ON true
+            CROSS JOIN LATERAL (
+                SELECT COALESCE(SUM(CASE WHEN le.type = 'CREDIT' THEN le.amount ELSE -le.amount END), 0) AS delta,
+                       COUNT(*) AS entries
+                FROM ledger_entries le
+                WHERE le.account_id = a.id
+                  AND le.created_at >= COALESCE(cp.checkpoint_at, '-infinity')
+                  AND le.created_at < ?
+            ) d
+            WHERE d.entries > 0
+            ON CONFLICT (account_id, checkpoint_at) DO NOTHING
+            """;
+
+    private static final String BALANCE_AS_OF = """
+            SELECT COALESCE(cp.balance, 0)
+                   + COALESCE(SUM(CASE WHEN le.type = 'CREDIT' THEN le.amount ELSE -le.amount END), 0)
+            FROM (SELECT ?::uuid AS id) a
+            LEFT JOIN LATERAL (
+                SELECT c.balance, c.checkpoint_at
+                FROM balance_checkpoints c
+                WHERE c.account_id = a.id
+                  AND c.checkpoint_at <= ?
+                ORDER BY c.checkpoint_at DESC
+                LIMIT 1
+            ) cp ON true
+            LEFT JOIN ledger_entries le
+                ON le.account_id = a.id
+               AND le.created_at >= COALESCE(cp.checkpoint_at, '-infinity')
+               AND le.created_at <= ?
+            GROUP BY cp.balance
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<UUID> findAccountIdsAfter(UUID after, int limit) {
+        return jdbcTemplate.queryForList(ACCOUNT_IDS_AFTER, UUID.class, after, limit);
+    }
+
+    public OffsetDateTime findWatermark(Duration clockSkew) {
+        return jdbcTemplate.queryForObject(WATERMARK, OffsetDateTime.class, clockSkew.toMillis());
+    }
+
+    public int writeCheckpoints(List<UUID> accountIds, OffsetDateTime checkpointAt) {
+        return jdbcTemplate.update(WRITE_CHECKPOINTS, checkpointAt, accountIds.stream().map(UUID::toString).toArray(String[]::new), checkpointAt, checkpointAt);
+    }
+
+    public long balanceAsOf(UUID accountId, OffsetDateTime asOf) {
+        return jdbcTemplate.queryForObject(BALANCE_AS_OF, Long.class, accountId, asOf, asOf);
+    }
+}
@@ -0,0 +1,70 @@
+package com.service.internalWallet.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Balance reads that resolve users, assets and accounts in the same statement as the balances
+ * themselves, so fetching any number of balances costs one round trip instead of a lookup per key.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BalanceLookupRepository {
+
+    // A user without accounts still yields one row, with null asset columns, so an empty result
+    // means the user does not exist.
+    private static final String USER_BALANCES = """
+            SELECT u.id AS user_id, a.code AS asset_code, a.name AS asset_name, ac.balance, ac.held_balance
+            FROM users u
+            LEFT JOIN accounts ac ON ac.user_id = u.id AND ac.type = 'USER'
+            LEFT JOIN assets a ON a.id = ac.asset_id
+            WHERE u.email = ?
+            ORDER BY a.code
+            """;
+
+    // One row per requested key, in request order. Which of the joins came up empty tells a missing
+    // user, asset or account apart.
+    private static final String BALANCES_BY_KEYS = """
+            SELECT u.id AS user_id, k.asset_code, a.name AS asset_name, ac.balance, ac.held_balance
+            FROM unnest(?::text[], ?::text[]) WITH ORDINALITY AS k(email, asset_code, ord)
+            LEFT JOIN users u ON u.email = k.email
+            LEFT JOIN assets a ON a.code = k.asset_code
+            LEFT JOIN accounts ac ON ac.type = 'USER' AND ac.user_id = u.id AND ac.asset_id = a.id
+            ORDER BY k.ord
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record BalanceRow(
+            UUID userId,
+            String assetCode,
+            String assetName,
+            Long balance,
+            Long heldBalance
+    ) {
+    }
+
+    public List<BalanceRow> findUserBalances(String email) {
+        return jdbcTemplate.query(USER_BALANCES, this::mapRow, email);
+    }
+
+    public List<BalanceRow> findBalances(String[] emails, String[] assetCodes) {
+        return jdbcTemplate.query(BALANCES_BY_KEYS, this::mapRow, emails, assetCodes);
+    }
+
+    private BalanceRow mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new BalanceRow(
+                rs.getObject("user_id", UUID.class),
+                rs.getString("asset_code"),
+                rs.getString("asset_name"),
+                rs.getObject("balance", Long.class),
+                rs.getObject("held_balance", Long.class)
+        );
+    }
+}
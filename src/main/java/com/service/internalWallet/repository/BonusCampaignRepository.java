@@ -0,0 +1,331 @@
+package com.service.internalWallet.repository;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.service.internalWallet.dto.response.CampaignFailureDto;
+import com.service.internalWallet.enums.CampaignRowStatus;
+import com.service.internalWallet.enums.CampaignStatus;
+import com.service.internalWallet.exception.InvalidRequestException;
+import com.service.internalWallet.model.UuidOrder;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Staging and set-based processing of bonus campaigns. Every step of a chunk is one statement over
+ * the rows with {@code from < line_no <= to}, so the cost per chunk does not depend on how many
+ * accounts it touches. All methods must run inside a transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BonusCampaignRepository {
+
+    // Rows of a chunk whose user account and SYSTEM stripe both exist. Campaign debits are spread
+    // over the stripes by line number so that no single stripe takes the whole campaign.
+    private static final String RESOLVED_CHUNK = """
+            SELECT r.line_no, r.amount, r.idempotency_key, ua.id AS user_account_id, sa.id AS system_account_id
+            FROM bonus_campaign_rows r
+            JOIN users u ON u.email = r.email
+            JOIN assets a ON a.code = r.asset_code
+            JOIN accounts ua ON ua.type = 'USER' AND ua.user_id = u.id AND ua.asset_id = a.id
+            JOIN accounts sa ON sa.type = 'SYSTEM' AND sa.asset_id = a.id AND sa.stripe = r.line_no % :stripes
+            WHERE r.campaign_id = :campaignId
+              AND r.line_no > :from
+              AND r.line_no <= :to
+              AND r.status = 'PENDING'
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public record CampaignRow(
+            UUID id,
+            String name,
+            CampaignStatus status,
+            boolean dryRun,
+            long totalRows,
+            long processedThrough,
+            String error,
+            OffsetDateTime createdAt,
+            OffsetDateTime updatedAt
+    ) {
+    }
+
+    public UUID createCampaign(String name, boolean dryRun) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO bonus_campaigns (name, status, dry_run) VALUES (?, 'STAGED', ?) RETURNING id",
+                UUID.class, name, dryRun);
+    }
+
+    /**
+     * Loads a CSV file with the header {@code email,assetCode,amount,idempotencyKey} through COPY and
+     * stages its rows under the campaign. Rows that can never succeed (missing fields, non-positive
+     * amounts, keys repeated within the file) are staged as FAILED right away.
+     */
+    public long stageRows(UUID campaignId, Reader csv) {
+        jdbcTemplate.execute("""
+                CREATE TEMP TABLE bonus_campaign_upload (
+                    line_no BIGINT GENERATED ALWAYS AS IDENTITY,
+                    email TEXT,
+                    asset_code TEXT,
+                    amount TEXT,
+                    idempotency_key TEXT
+                ) ON COMMIT DROP
+                """);
+
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class)
+                        .getCopyAPI()
+                        .copyIn("COPY bonus_campaign_upload (email, asset_code, amount, idempotency_key) FROM STDIN WITH (FORMAT csv, HEADER true)", csv);
+            } catch (SQLException e) {
+                throw new InvalidRequestException("Invalid campaign file: " + e.getMessage());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        int staged = jdbcTemplate.update("""
+                INSERT INTO bonus_campaign_rows (campaign_id, line_no, email, asset_code, amount, idempotency_key, status, error)
+                SELECT ?, line_no, email, asset_code,
+                       CASE WHEN error IS NULL THEN amount::BIGINT END,
+                       idempotency_key,
+                       CASE WHEN error IS NULL THEN 'PENDING' ELSE 'FAILED' END,
+                       error
+                FROM (
+                    SELECT line_no, email, asset_code, amount, idempotency_key,
+                           CASE
+                               WHEN email = '' THEN 'Email is required'
+                               WHEN asset_code = '' THEN 'Asset code is required'
+                               WHEN amount !~ '^[0-9]{1,18}$' THEN 'Amount must be greater than 0'
+                               WHEN amount::BIGINT = 0 THEN 'Amount must be greater than 0'
+                               WHEN idempotency_key = '' THEN 'Idempotency key is required'
+                               WHEN length(idempotency_key) > 50 THEN 'Idempotency key must be at most 50 characters'
+                               WHEN row_number() OVER (PARTITION BY idempotency_key ORDER BY line_no) > 1 THEN 'Duplicate idempotency key in campaign'
+                           END AS error
+                    FROM (
+                        SELECT line_no,
+                               coalesce(trim(email), '') AS email,
+                               coalesce(trim(asset_code), '') AS asset_code,
+                               coalesce(trim(amount), '') AS amount,
+                               coalesce(trim(idempotency_key), '') AS idempotency_key
+                        FROM bonus_campaign_upload
+                    ) trimmed
+                ) validated
+                """, campaignId);
+
+        jdbcTemplate.update(
+                "UPDATE bonus_campaigns SET total_rows = ?, status = 'RUNNING', updated_at = now() WHERE id = ?",
+                staged, campaignId);
+        return staged;
+    }
+
+    // The row lock serializes chunk processing of one campaign across threads and instances.
+    public Optional<CampaignRow> lockCampaign(UUID campaignId) {
+        return jdbcTemplate.query(
+                "SELECT * FROM bonus_campaigns WHERE id = ? FOR UPDATE",
+                (rs, rowNum) -> toCampaign(rs), campaignId).stream().findFirst();
+    }
+
+    public Optional<CampaignRow> findCampaign(UUID campaignId) {
+        return jdbcTemplate.query(
+                "SELECT * FROM bonus_campaigns WHERE id = ?",
+                (rs, rowNum) -> toCampaign(rs), campaignId).stream().findFirst();
+    }
+
+    public List<UUID> findCampaignIdsByStatus(CampaignStatus status) {
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM bonus_campaigns WHERE status = ? ORDER BY id", UUID.class, status.name());
+    }
+
+    public int markReplayed(UUID campaignId, long from, long to) {
+        return jdbcTemplate.update("""
+                UPDATE bonus_campaign_rows r
+                SET status = 'REPLAYED',
+                    transaction_id = k.transaction_id
+                FROM idempotency_keys k
+                WHERE r.campaign_id = ?
+                  AND r.line_no > ?
+                  AND r.line_no <= ?
+                  AND r.status = 'PENDING'
+                  AND k.idempotency_key = r.idempotency_key
+                """, campaignId, from, to);
+    }
+
+    public int markUnresolved(UUID campaignId, long from, long to, int stripes) {
+        return jdbcTemplate.update("""
+                UPDATE bonus_campaign_rows r
+                SET status = 'FAILED',
+                    error = CASE
+                        WHEN s.user_id IS NULL THEN 'User not found'
+                        WHEN s.asset_id IS NULL THEN 'Asset not found'
+                        WHEN s.user_account_id IS NULL THEN 'Account not found'
+                        ELSE 'System Account not found'
+                    END
+                FROM (
+                    SELECT c.line_no, u.id AS user_id, a.id AS asset_id, ua.id AS user_account_id, sa.id AS system_account_id
+                    FROM bonus_campaign_rows c
+                    LEFT JOIN users u ON u.email = c.email
+                    LEFT JOIN assets a ON a.code = c.asset_code
+                    LEFT JOIN accounts ua ON ua.type = 'USER' AND ua.user_id = u.id AND ua.asset_id = a.id
+                    LEFT JOIN accounts sa ON sa.type = 'SYSTEM' AND sa.asset_id = a.id AND sa.stripe = c.line_no % ?
+                    WHERE c.campaign_id = ?
+                      AND c.line_no > ?
+                      AND c.line_no <= ?
+                      AND c.status = 'PENDING'
+                ) s
+                WHERE r.campaign_id = ?
+                  AND r.line_no = s.line_no
+                  AND (s.user_account_id IS NULL OR s.system_account_id IS NULL)
+                """, stripes, campaignId, from, to, campaignId);
+    }
+
+    public int markValid(UUID campaignId, long from, long to) {
+        return jdbcTemplate.update("""
+                UPDATE bonus_campaign_rows
+                SET status = 'VALID'
+                WHERE campaign_id = ?
+                  AND line_no > ?
+                  AND line_no <= ?
+                  AND status = 'PENDING'
+                """, campaignId, from, to);
+    }
+
+    /**
+     * Grants the BONUS of every resolved row of the chunk: one aggregated balance update per touched
+     * account, one transaction and two ledger entries per row. Accounts are locked first, in PostgreSQL's
+     * ascending id order, which the Java write paths match through {@link UuidOrder#ASCENDING}.
+     */
+    public int grantChunk(UUID campaignId, long from, long to, int stripes, OffsetDateTime createdAt) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("campaignId", campaignId)
+                .addValue("from", from)
+                .addValue("to", to)
+                .addValue("stripes", stripes)
+                .addValue("createdAt", createdAt);
+
+        namedParameterJdbcTemplate.query("""
+                WITH resolved AS (%s)
+                SELECT ac.id
+                FROM accounts ac
+                WHERE ac.id IN (SELECT user_account_id FROM resolved UNION SELECT system_account_id FROM resolved)
+                ORDER BY ac.id
+                FOR UPDATE
+                """.formatted(RESOLVED_CHUNK), params, rs -> {
+        });
+
+        return namedParameterJdbcTemplate.update("""
+                WITH chunk AS MATERIALIZED (
+                    SELECT resolved.*, uuid_generate_v7() AS transaction_id
+                    FROM (%s) resolved
+                ),
+                deltas AS (
+                    SELECT user_account_id AS account_id, SUM(amount) AS delta FROM chunk GROUP BY user_account_id
+                    UNION ALL
+                    SELECT system_account_id, -SUM(amount) FROM chunk GROUP BY system_account_id
+                ),
+                updated AS (
+                    UPDATE accounts ac
+                    SET balance = ac.balance + d.delta
+                    FROM deltas d
+                    WHERE ac.id = d.account_id
+                    RETURNING ac.id, ac.balance, d.delta
+                ),
+                inserted_transactions AS (
+                    INSERT INTO transactions (id, type, idempotency_key, status, amount, balance_after, created_at)
+                    SELECT c.transaction_id, 'BONUS', c.idempotency_key, 'SUCCESS', c.amount,
+                           u.balance - u.delta + SUM(c.amount) OVER (PARTITION BY c.user_account_id ORDER BY c.line_no),
+                           :createdAt
+                    FROM chunk c
+                    JOIN updated u ON u.id = c.user_account_id
+                ),
+                inserted_entries AS (
+                    INSERT INTO ledger_entries (id, account_id, type, amount, transaction_id, created_at)
+                    SELECT uuid_generate_v7(), e.account_id, e.type, c.amount, c.transaction_id, :createdAt
+                    FROM chunk c
+                    CROSS JOIN LATERAL (VALUES (c.system_account_id, 'DEBIT'), (c.user_account_id, 'CREDIT')) e(account_id, type)
+                )
+                UPDATE bonus_campaign_rows r
+                SET status = 'PROCESSED',
+                    transaction_id = c.transaction_id
+                FROM chunk c
+                WHERE r.campaign_id = :campaignId
+                  AND r.line_no = c.line_no
+                """.formatted(RESOLVED_CHUNK), params);
+    }
+
+    public void advance(UUID campaignId, long processedThrough) {
+        jdbcTemplate.update(
+                "UPDATE bonus_campaigns SET processed_through = ?, updated_at = now() WHERE id = ?",
+                processedThrough, campaignId);
+    }
+
+    public void updateStatus(UUID campaignId, CampaignStatus status, String error) {
+        jdbcTemplate.update(
+                "UPDATE bonus_campaigns SET status = ?, error = ?, updated_at = now() WHERE id = ?",
+                status.name(), error, campaignId);
+    }
+
+    public Map<CampaignRowStatus, Long> countRows(UUID campaignId) {
+        Map<CampaignRowStatus, Long> counts = new EnumMap<>(CampaignRowStatus.class);
+        jdbcTemplate.query(
+                "SELECT status, count(*) FROM bonus_campaign_rows WHERE campaign_id = ? GROUP BY status",
+                rs -> {
+                    counts.put(CampaignRowStatus.valueOf(rs.getString(1)), rs.getLong(2));
+                }, campaignId);
+        return counts;
+    }
+
+    // Granted amount of a live campaign, or the amount a dry run would grant.
+    public long sumBonusAmount(UUID campaignId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT coalesce(sum(amount), 0) FROM bonus_campaign_rows WHERE campaign_id = ? AND status IN ('PROCESSED', 'VALID')",
+                Long.class, campaignId);
+    }
+
+    public List<CampaignFailureDto> findFailures(UUID campaignId, int limit) {
+        return jdbcTemplate.query("""
+                SELECT line_no, email, idempotency_key, error
+                FROM bonus_campaign_rows
+                WHERE campaign_id = ?
+                  AND status = 'FAILED'
+                ORDER BY line_no
+                LIMIT ?
+                """,
+                (rs, rowNum) -> new CampaignFailureDto(
+                        rs.getLong("line_no"),
+                        rs.getString("email"),
+                        rs.getString("idempotency_key"),
+                        rs.getString("error")
+                ),
+                campaignId, limit);
+    }
+
+    private static CampaignRow toCampaign(ResultSet rs) throws SQLException {
+        return new CampaignRow(
+                rs.getObject("id", UUID.class),
+                rs.getString("name"),
+                CampaignStatus.valueOf(rs.getString("status")),
+                rs.getBoolean("dry_run"),
+                rs.getLong("total_rows"),
+                rs.getLong("processed_through"),
+                rs.getString("error"),
+                rs.getObject("created_at", OffsetDateTime.class),
+                rs.getObject("updated_at", OffsetDateTime.class)
+        );
+    }
+}
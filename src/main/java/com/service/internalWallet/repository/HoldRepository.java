@@ -0,0 +1,157 @@
+package com.service.internalWallet.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.UUID;
+
+import com.service.internalWallet.enums.HoldStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Holds and the held part of account balances. Every method is a single statement, and every state
+ * change is conditional on the hold still being AUTHORIZED, so a capture, a void and the expiry
+ * sweeper racing on the same hold resolve to exactly one winner without an explicit lock.
+ */
+@Repository
+@RequiredArgsConstructor
+public class HoldRepository {
+
+    private static final String HOLD_COLUMNS = """
+            id, idempotency_key, account_id, system_account_id, amount, status, expires_at, transaction_id, created_at
+            """;
+
+    // Picks the oldest expired holds no capture or void is working on and expires them in the same
+    // statement; the released amounts are returned so the caller can give them back to the accounts.
+    private static final String EXPIRE_BATCH = """
+            WITH expired AS (
+                SELECT id
+                FROM holds
+                WHERE status = 'AUTHORIZED'
+                  AND expires_at <= now()
+                ORDER BY expires_at
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            UPDATE holds h
+            SET status = 'EXPIRED', updated_at = now()
+            FROM expired
+            WHERE h.id = expired.id
+            RETURNING h.account_id, h.amount
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record HoldRow(
+            UUID id,
+            String idempotencyKey,
+            UUID accountId,
+            UUID systemAccountId,
+            long amount,
+            HoldStatus status,
+            OffsetDateTime expiresAt,
+            UUID transactionId,
+            OffsetDateTime createdAt
+    ) {
+    }
+
+    public record ReleasedHold(UUID accountId, long amount) {
+    }
+
+    public Optional<HoldRow> insertHold(String idempotencyKey, UUID accountId, UUID systemAccountId, long amount, long ttlSeconds) {
+        return first(jdbcTemplate.query("""
+                INSERT INTO holds (idempotency_key, account_id, system_account_id, amount, status, expires_at)
+                VALUES (?, ?, ?, ?, 'AUTHORIZED', now() + ? * INTERVAL '1 second')
+                ON CONFLICT (idempotency_key) DO NOTHING
+                RETURNING\s""" + HOLD_COLUMNS,
+                this::mapHold, idempotencyKey, accountId, systemAccountId, amount, ttlSeconds));
+    }
+
+    public Optional<HoldRow> findById(UUID holdId) {
+        return first(jdbcTemplate.query("SELECT " + HOLD_COLUMNS + " FROM holds WHERE id = ?", this::mapHold, holdId));
+    }
+
+    public Optional<HoldRow> findByIdempotencyKey(String idempotencyKey) {
+        return first(jdbcTemplate.query("SELECT " + HOLD_COLUMNS + " FROM holds WHERE idempotency_key = ?", this::mapHold, idempotencyKey));
+    }
+
+    public Optional<HoldRow> markCaptured(UUID holdId, UUID transactionId) {
+        return first(jdbcTemplate.query("""
+                UPDATE holds
+                SET status = 'CAPTURED', transaction_id = ?, updated_at = now()
+                WHERE id = ?
+                  AND status = 'AUTHORIZED'
+                  AND expires_at > now()
+                RETURNING\s""" + HOLD_COLUMNS,
+                this::mapHold, transactionId, holdId));
+    }
+
+    public Optional<HoldRow> markVoided(UUID holdId) {
+        return first(jdbcTemplate.query("""
+                UPDATE holds
+                SET status = 'VOIDED', updated_at = now()
+                WHERE id = ?
+                  AND status = 'AUTHORIZED'
+                RETURNING\s""" + HOLD_COLUMNS,
+                this::mapHold, holdId));
+    }
+
+    public List<ReleasedHold> expireBatch(int limit) {
+        return jdbcTemplate.query(EXPIRE_BATCH,
+                (rs, rowNum) -> new ReleasedHold(rs.getObject("account_id", UUID.class), rs.getLong("amount")),
+                limit);
+    }
+
+    // Only succeeds while the available part of the balance covers the amount.
+    public boolean reserve(UUID accountId, long amount) {
+        return jdbcTemplate.update("""
+                UPDATE accounts
+                SET held_balance = held_balance + ?
+                WHERE id = ?
+                  AND balance - held_balance >= ?
+                """, amount, accountId, amount) == 1;
+    }
+
+    // Released amounts must be applied in UuidOrder.ASCENDING account id order, like every other multi-row write.
+    public void release(SortedMap<UUID, Long> amounts) {
+        List<Object[]> args = new ArrayList<>(amounts.size());
+        amounts.forEach((accountId, amount) -> args.add(new Object[]{amount, accountId}));
+
+        jdbcTemplate.batchUpdate("UPDATE accounts SET held_balance = held_balance - ? WHERE id = ?", args);
+    }
+
+    // Takes the captured amount out of both the balance and the held part, which leaves the
+    // available balance of the account unchanged.
+    public long settle(UUID accountId, long amount) {
+        return jdbcTemplate.queryForObject("""
+                UPDATE accounts
+                SET balance = balance - ?, held_balance = held_balance - ?
+                WHERE id = ?
+                RETURNING balance
+                """, Long.class, amount, amount, accountId);
+    }
+
+    private HoldRow mapHold(ResultSet rs, int rowNum) throws SQLException {
+        return new HoldRow(
+                rs.getObject("id", UUID.class),
+                rs.getString("idempotency_key"),
+                rs.getObject("account_id", UUID.class),
+                rs.getObject("system_account_id", UUID.class),
+                rs.getLong("amount"),
+                HoldStatus.valueOf(rs.getString("status")),
+                rs.getObject("expires_at", OffsetDateTime.class),
+                rs.getObject("transaction_id", UUID.class),
+                rs.getObject("created_at", OffsetDateTime.class)
+        );
+    }
+
+    private static Optional<HoldRow> first(List<HoldRow> rows) {
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.getFirst());
+    }
+}
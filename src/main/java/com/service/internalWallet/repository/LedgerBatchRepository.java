@@ -0,0 +1,117 @@
+package com.service.internalWallet.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.UUID;
+
+import com.service.internalWallet.enums.LedgerEntryType;
+import com.service.internalWallet.enums.Status;
+import com.service.internalWallet.enums.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Set-based JDBC writes for callers that record many wallet operations in one database transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LedgerBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public record TransactionRow(
+            UUID id,
+            TransactionType type,
+            String idempotencyKey,
+            Status status,
+            long amount,
+            long balanceAfter,
+            LocalDateTime createdAt
+    ) {
+    }
+
+    public record LedgerEntryRow(
+            UUID id,
+            UUID transactionId,
+            UUID accountId,
+            LedgerEntryType type,
+            long amount,
+            LocalDateTime createdAt
+    ) {
+    }
+
+    // Deltas must be applied in UuidOrder.ASCENDING account id order, the same order the single-operation
+    // path and ORDER BY id lock rows in, so that a batch and concurrent single writes cannot deadlock.
+    public void applyBalanceDeltas(SortedMap<UUID, Long> deltas) {
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        deltas.forEach((accountId, delta) -> args.add(new Object[]{delta, accountId}));
+
+        jdbcTemplate.batchUpdate("UPDATE accounts SET balance = balance + ? WHERE id = ?", args);
+    }
+
+    public record LockedBalance(long balance, long heldBalance) {
+    }
+
+    // Rows are locked in PostgreSQL's ascending id order, which the Java-side lockers match with UuidOrder.ASCENDING.
+    public Map<UUID, LockedBalance> lockBalances(Collection<UUID> accountIds) {
+        Map<UUID, LockedBalance> balances = new HashMap<>();
+        namedParameterJdbcTemplate.query(
+                "SELECT id, balance, held_balance FROM accounts WHERE id IN (:ids) ORDER BY id FOR UPDATE",
+                new MapSqlParameterSource("ids", accountIds),
+                rs -> {
+                    balances.put(rs.getObject("id", UUID.class), new LockedBalance(rs.getLong("balance"), rs.getLong("held_balance")));
+                });
+        return balances;
+    }
+
+    public Map<UUID, Long> findBalances(Collection<UUID> accountIds) {
+        Map<UUID, Long> balances = new HashMap<>();
+        namedParameterJdbcTemplate.query(
+                "SELECT id, balance FROM accounts WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", accountIds),
+                rs -> {
+                    balances.put(rs.getObject("id", UUID.class), rs.getLong("balance"));
+                });
+        return balances;
+    }
+
+    public void insertTransactions(List<TransactionRow> transactions) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO transactions (id, type, idempotency_key, status, amount, balance_after, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                transactions,
+                transactions.size(),
+                (ps, row) -> {
+                    ps.setObject(1, row.id());
+                    ps.setString(2, row.type().name());
+                    ps.setString(3, row.idempotencyKey());
+                    ps.setString(4, row.status().name());
+                    ps.setLong(5, row.amount());
+                    ps.setLong(6, row.balanceAfter());
+                    ps.setObject(7, row.createdAt());
+                });
+    }
+
+    public void insertLedgerEntries(List<LedgerEntryRow> entries) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO ledger_entries (id, account_id, type, amount, transaction_id, created_at) VALUES (?, ?, ?, ?, ?, ?)",
+                entries,
+                entries.size(),
+                (ps, row) -> {
+                    ps.setObject(1, row.id());
+                    ps.setObject(2, row.accountId());
+                    ps.setString(3, row.type().name());
+                    ps.setLong(4, row.amount());
+                    ps.setObject(5, row.transactionId());
+                    ps.setObject(6, row.createdAt());
+                });
+    }
+}
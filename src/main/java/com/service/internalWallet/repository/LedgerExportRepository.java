@@ -0,0 +1,92 @@
+package com.service.internalWallet.repository;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import com.service.internalWallet.dto.projection.LedgerExportRow;
+import com.service.internalWallet.dto.request.LedgerExportFilter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Streams ledger rows in (created_at, id) order through a server-side cursor with a fixed fetch size.
+ * PostgreSQL only opens the cursor inside a transaction, so callers must run this in one.
+ */
+@Repository
+public class LedgerExportRepository {
+
+    private static final int FETCH_SIZE = 1_000;
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public LedgerExportRepository(DataSource dataSource) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    public void stream(LedgerExportFilter filter, Consumer<LedgerExportRow> consumer) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+
+        StringBuilder where = new StringBuilder("WHERE TRUE");
+        if (filter.accountId() != null) {
+            where.append(" AND le.account_id = :accountId");
+            params.addValue("accountId", filter.accountId());
+        }
+        if (filter.email() != null) {
+            where.append(" AND ac.user_id = (SELECT id FROM users WHERE email = :email)");
+            params.addValue("email", filter.email());
+        }
+        if (filter.assetCode() != null) {
+            where.append(" AND a.code = :assetCode");
+            params.addValue("assetCode", filter.assetCode());
+        }
+        if (filter.from() != null) {
+            where.append(" AND le.created_at >= :from");
+            params.addValue("from", filter.from());
+        }
+        if (filter.to() != null) {
+            where.append(" AND le.created_at < :to");
+            params.addValue("to", filter.to());
+        }
+
+        String sql = """
+                SELECT le.id,
+                       le.created_at,
+                       le.account_id,
+                       a.code AS asset_code,
+                       le.type AS entry_type,
+                       le.amount,
+                       t.id AS transaction_id,
+                       t.type AS transaction_type,
+                       t.status,
+                       t.idempotency_key
+                FROM ledger_entries le
+                JOIN accounts ac ON ac.id = le.account_id
+                JOIN assets a ON a.id = ac.asset_id
+                JOIN transactions t ON t.id = le.transaction_id AND t.created_at = le.created_at
+                %s
+                ORDER BY le.created_at, le.id
+                """.formatted(where);
+
+        namedParameterJdbcTemplate.query(sql, params, rs -> {
+            consumer.accept(new LedgerExportRow(
+                    rs.getObject("id", UUID.class),
+                    rs.getObject("created_at", OffsetDateTime.class),
+                    rs.getObject("account_id", UUID.class),
+                    rs.getString("asset_code"),
+                    rs.getString("entry_type"),
+                    rs.getLong("amount"),
+                    rs.getObject("transaction_id", UUID.class),
+                    rs.getString("transaction_type"),
+                    rs.getString("status"),
+                    rs.getString("idempotency_key")
+            ));
+        });
+    }
+}
@@ -0,0 +1,106 @@
+package com.service.internalWallet.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Monthly partitions of {@code transactions} and {@code ledger_entries}, named
+ * {@code <table>_YYYY_MM} and bounded on UTC month starts.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PartitionRepository {
+
+    public static final List<String> PARTITIONED_TABLES = List.of("ledger_entries", "transactions");
+
+    // Advisory lock key of partition maintenance, in its own namespace next to the account bucket leases.
+    private static final int LOCK_NAMESPACE = 0x50415254;
+    private static final int MAINTENANCE_LOCK = 1;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public int ensurePartitions(LocalDate firstMonth, LocalDate lastMonth) {
+        return jdbcTemplate.queryForObject("SELECT wallet_ensure_partitions(?, ?)", Integer.class, firstMonth, lastMonth);
+    }
+
+    // Runs `work` while holding a session-level advisory lock on a connection of its own, so that only one node
+    // maintains partitions at a time. Returns false without running it if another node holds the lock.
+    public boolean withMaintenanceLock(Runnable work) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            if (!callLockFunction(connection, "pg_try_advisory_lock")) {
+                return false;
+            }
+            try {
+                work.run();
+                return true;
+            } finally {
+                callLockFunction(connection, "pg_advisory_unlock");
+            }
+        }));
+    }
+
+    // Monthly partitions still in the public schema, whether attached, pending detach or already detached.
+    public List<String> findMonthlyPartitions(String parentTable) {
+        return jdbcTemplate.queryForList("""
+                SELECT c.relname
+                FROM pg_class c
+                JOIN pg_namespace n ON n.oid = c.relnamespace
+                WHERE n.nspname = 'public'
+                  AND c.relkind = 'r'
+                  AND c.relname ~ ('^' || ? || '_[0-9]{4}_[0-9]{2}$')
+                ORDER BY c.relname
+                """, String.class, parentTable);
+    }
+
+    // DETACH ... CONCURRENTLY cannot run inside a transaction block, so this must be called without one.
+    // The archive is recorded first and every step checks whether it is still needed, so a run interrupted
+    // part way through, even inside the two transactions of a concurrent detach, is finished by the next one.
+    public void archive(String parentTable, String partition, OffsetDateTime rangeStart, OffsetDateTime rangeEnd) {
+        jdbcTemplate.update("""
+                INSERT INTO archived_partitions (partition_name, parent_table, range_start, range_end)
+                VALUES (?, ?, ?, ?)
+                ON CONFLICT (partition_name) DO NOTHING
+                """, partition, parentTable, rangeStart, rangeEnd);
+
+        List<Boolean> detachPending = jdbcTemplate.queryForList("""
+                SELECT i.inhdetachpending
+                FROM pg_inherits i
+                WHERE i.inhrelid = to_regclass('public.' || ?)
+                """, Boolean.class, partition);
+        if (!detachPending.isEmpty()) {
+            jdbcTemplate.execute("ALTER TABLE public.%s DETACH PARTITION public.%s %s"
+                    .formatted(parentTable, partition, detachPending.getFirst() ? "FINALIZE" : "CONCURRENTLY"));
+        }
+
+        if (jdbcTemplate.queryForObject("SELECT to_regclass('public.' || ?) IS NOT NULL", Boolean.class, partition)) {
+            jdbcTemplate.execute("ALTER TABLE public.%s SET SCHEMA ledger_archive".formatted(partition));
+        }
+    }
+
+    // Every ledger entry created before the horizon is detached, or about to be; balances before it come from checkpoints.
+    public Optional<OffsetDateTime> findArchiveHorizon() {
+        return Optional.ofNullable(jdbcTemplate.queryForObject(
+                "SELECT max(range_end) FROM archived_partitions WHERE parent_table = 'ledger_entries'", OffsetDateTime.class));
+    }
+
+    private static boolean callLockFunction(Connection connection, String function) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT " + function + "(?, ?)")) {
+            statement.setInt(1, LOCK_NAMESPACE);
+            statement.setInt(2, MAINTENANCE_LOCK);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+}
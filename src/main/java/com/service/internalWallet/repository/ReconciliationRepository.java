@@ -0,0 +1,125 @@
+package com.service.internalWallet.repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import com.service.internalWallet.config.ReconciliationProperties;
+import com.service.internalWallet.dto.projection.AccountReconciliationView;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Read-only aggregate scans over one account-id or transaction-id range. Rows are streamed with a
+ * server-side cursor, which PostgreSQL only opens inside a transaction, so callers must run these
+ * in one.
+ */
+@Repository
+public class ReconciliationRepository {
+
+    private static final String ACCOUNT_TOTALS = """
+            SELECT a.id,
+                   COALESCE(a.balance, 0) AS balance,
+                   COALESCE(base.balance, 0)
+                       + COALESCE(SUM(CASE WHEN le.type = 'CREDIT' THEN le.amount ELSE -le.amount END), 0) AS ledger_balance,
+                   COUNT(le.account_id) AS entries,
+                   cp.checkpoint_at,
+                   cp.balance AS checkpoint_balance,
+                   COALESCE(base.balance, 0)
+                       + COALESCE(SUM(CASE WHEN le.type = 'CREDIT' THEN le.amount ELSE -le.amount END)
+                                  FILTER (WHERE le.created_at < cp.checkpoint_at), 0) AS ledger_balance_at_checkpoint
+            FROM accounts a
+            LEFT JOIN LATERAL (
+                SELECT c.balance
+                FROM balance_checkpoints c
+                WHERE c.account_id = a.id
+                  AND c.checkpoint_at <= ?::timestamptz
+                ORDER BY c.checkpoint_at DESC
+                LIMIT 1
+            ) base ON true
+            LEFT JOIN LATERAL (
+                SELECT c.checkpoint_at, c.balance
+                FROM balance_checkpoints c
+                WHERE c.account_id = a.id
+                ORDER BY c.checkpoint_at DESC
+                LIMIT 1
+            ) cp ON true
+            LEFT JOIN ledger_entries le ON le.account_id = a.id
+            WHERE a.id >= ?
+              AND (?::uuid IS NULL OR a.id < ?::uuid)
+            GROUP BY a.id, a.balance, base.balance, cp.checkpoint_at, cp.balance
+            """;
+
+    // Only transactions whose entries do not net to zero leave the database.
+    private static final String UNBALANCED_TRANSACTIONS = """
+            SELECT le.transaction_id,
+                   SUM(CASE WHEN le.type = 'CREDIT' THEN le.amount ELSE -le.amount END) AS net
+            FROM ledger_entries le
+            WHERE le.transaction_id >= ?
+              AND (?::uuid IS NULL OR le.transaction_id < ?::uuid)
+            GROUP BY le.transaction_id
+            HAVING SUM(CASE WHEN le.type = 'CREDIT' THEN le.amount ELSE -le.amount END) <> 0
+            """;
+
+    public record TransactionNet(UUID transactionId, long net) {
+    }
+
+    public record IdColumn(String table, String column) {
+    }
+
+    public static final IdColumn ACCOUNT_IDS = new IdColumn("accounts", "id");
+    public static final IdColumn LEDGER_TRANSACTION_IDS = new IdColumn("ledger_entries", "transaction_id");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ReconciliationRepository(DataSource dataSource, ReconciliationProperties properties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(properties.fetchSize());
+    }
+
+    // Distinct, ascending quantiles 1/ranges ... (ranges-1)/ranges of the column over a block sample.
+    public List<UUID> sampleQuantiles(IdColumn idColumn, int ranges, double samplePercent) {
+        if (ranges < 2) {
+            return List.of();
+        }
+        Double[] fractions = new Double[ranges - 1];
+        for (int i = 1; i < ranges; i++) {
+            fractions[i - 1] = (double) i / ranges;
+        }
+
+        String sql = """
+                SELECT DISTINCT bound
+                FROM unnest((
+                    SELECT percentile_disc(?::float8[]) WITHIN GROUP (ORDER BY s.id)
+                    FROM (SELECT %2$s AS id FROM %1$s TABLESAMPLE SYSTEM (?) WHERE %2$s IS NOT NULL) s
+                )) AS bound
+                WHERE bound IS NOT NULL
+                ORDER BY bound
+                """.formatted(idColumn.table(), idColumn.column());
+        return jdbcTemplate.queryForList(sql, UUID.class, fractions, samplePercent);
+    }
+
+    // Entries before the archive horizon are detached; their sum is taken from the account's checkpoint at the horizon.
+    public void streamAccountTotals(UUID from, UUID to, OffsetDateTime archiveHorizon, Consumer<AccountReconciliationView> consumer) {
+        jdbcTemplate.query(ACCOUNT_TOTALS, rs -> {
+            consumer.accept(new AccountReconciliationView(
+                    rs.getObject("id", UUID.class),
+                    rs.getLong("balance"),
+                    rs.getLong("ledger_balance"),
+                    rs.getLong("entries"),
+                    rs.getObject("checkpoint_at", OffsetDateTime.class),
+                    rs.getObject("checkpoint_balance", Long.class),
+                    rs.getLong("ledger_balance_at_checkpoint")
+            ));
+        }, archiveHorizon, from, to, to);
+    }
+
+    public void streamUnbalancedTransactions(UUID from, UUID to, Consumer<TransactionNet> consumer) {
+        jdbcTemplate.query(UNBALANCED_TRANSACTIONS, rs -> {
+            consumer.accept(new TransactionNet(rs.getObject("transaction_id", UUID.class), rs.getLong("net")));
+        }, from, to, to);
+    }
+}
@@ -0,0 +1,94 @@
+package com.service.internalWallet.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import com.service.internalWallet.dto.projection.TransactionHistoryView;
+import com.service.internalWallet.enums.Status;
+import com.service.internalWallet.enums.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Keyset-paginated transaction history. Every wallet of the user is seeked separately on
+ * {@code ledger_entries (account_id, created_at)} with a LATERAL subquery and only the newest
+ * {@code limit} rows of each are merged, so the cost of a page does not depend on the size of the history.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TransactionHistoryRepository {
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public List<TransactionHistoryView> findPage(String email,
+                                                 String assetCode,
+                                                 TransactionType type,
+                                                 OffsetDateTime cursorCreatedAt,
+                                                 UUID cursorId,
+                                                 int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("email", email)
+                .addValue("limit", limit);
+
+        StringBuilder entryFilter = new StringBuilder();
+        if (cursorCreatedAt != null) {
+            entryFilter.append(" AND (le.created_at, le.id) < (:cursorCreatedAt, :cursorId)");
+            params.addValue("cursorCreatedAt", cursorCreatedAt).addValue("cursorId", cursorId);
+        }
+        if (type != null) {
+            entryFilter.append(" AND t.type = :type");
+            params.addValue("type", type.name());
+        }
+
+        StringBuilder accountFilter = new StringBuilder();
+        if (assetCode != null) {
+            accountFilter.append(" AND a.code = :assetCode");
+            params.addValue("assetCode", assetCode);
+        }
+
+        String sql = """
+                SELECT h.*, a.code AS asset_code
+                FROM accounts ac
+                JOIN users u ON u.id = ac.user_id
+                JOIN assets a ON a.id = ac.asset_id
+                CROSS JOIN LATERAL (
+                    SELECT le.id AS entry_id,
+                           le.created_at AS entry_created_at,
+                           t.id AS transaction_id,
+                           t.type,
+                           t.status,
+                           t.created_at,
+                           CASE WHEN le.type = 'CREDIT' THEN le.amount ELSE -le.amount END AS amount
+                    FROM ledger_entries le
+                    JOIN transactions t ON t.id = le.transaction_id AND t.created_at = le.created_at
+                    WHERE le.account_id = ac.id%s
+                    ORDER BY le.created_at DESC, le.id DESC
+                    LIMIT :limit
+                ) h
+                WHERE u.email = :email
+                  AND ac.type = 'USER'%s
+                ORDER BY h.entry_created_at DESC, h.entry_id DESC
+                LIMIT :limit
+                """.formatted(entryFilter, accountFilter);
+
+        return namedParameterJdbcTemplate.query(sql, params, this::mapRow);
+    }
+
+    private TransactionHistoryView mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new TransactionHistoryView(
+                rs.getObject("entry_id", UUID.class),
+                rs.getObject("entry_created_at", OffsetDateTime.class),
+                rs.getObject("transaction_id", UUID.class),
+                TransactionType.valueOf(rs.getString("type")),
+                rs.getString("asset_code"),
+                rs.getLong("amount"),
+                Status.valueOf(rs.getString("status")),
+                rs.getTimestamp("created_at").toLocalDateTime()
+        );
+    }
+}
@@ -1,27 +1,42 @@
 package com.service.internalWallet.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import com.service.internalWallet.dto.response.TransactionResponseDto;
 import com.service.internalWallet.model.Transaction;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, UUID> {
 
-    Optional<Transaction> findByIdempotencyKey(String idempotencyKey);
+    // Keys are resolved through idempotency_keys, whose created_at lets the planner prune transactions to one partition.
+    @Query("""
+        SELECT t
+        FROM IdempotencyKey k
+        JOIN Transaction t ON t.id = k.transactionId AND t.createdAt = k.createdAt
+        WHERE k.idempotencyKey = :idempotencyKey
+    """)
+    Optional<Transaction> findByIdempotencyKey(@Param("idempotencyKey") String idempotencyKey);
+
+    @Query("""
+        SELECT new com.service.internalWallet.dto.response.TransactionResponseDto(t.id, t.type, t.amount, t.balanceAfter, t.status, t.createdAt)
+        FROM IdempotencyKey k
+        JOIN Transaction t ON t.id = k.transactionId AND t.createdAt = k.createdAt
+        WHERE k.idempotencyKey = :idempotencyKey
+    """)
+    Optional<TransactionResponseDto> findSnapshotByIdempotencyKey(@Param("idempotencyKey") String idempotencyKey);
 
     @Query("""
-        SELECT DISTINCT t
-        FROM Transaction t
-        JOIN t.ledgerEntries le
-        JOIN le.account a
-        JOIN a.user u
-        WHERE u.email = :email
-        ORDER BY t.createdAt DESC
+        SELECT t
+        FROM IdempotencyKey k
+        JOIN Transaction t ON t.id = k.transactionId AND t.createdAt = k.createdAt
+        WHERE k.idempotencyKey IN :idempotencyKeys
     """)
-    List<Transaction> findByUserEmail(String email);
+    List<Transaction> findByIdempotencyKeyIn(@Param("idempotencyKeys") Collection<String> idempotencyKeys);
 }
@@ -1,5 +1,7 @@
 package com.service.internalWallet.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -7,9 +9,16 @@ import com.service.internalWallet.model.User;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmail(@NotBlank(message = "Email is required") @Email(message = "Invalid email format") String email);
+
+    List<User> findByEmailIn(Collection<String> emails);
+
+    @Query("SELECT u.id FROM User u WHERE u.email = :email")
+    Optional<UUID> findIdByEmail(@Param("email") String email);
 }
@@ -0,0 +1,302 @@
+package com.service.internalWallet.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.service.internalWallet.config.LaneProperties;
+import com.service.internalWallet.dto.request.TransactionRequestDto;
+import com.service.internalWallet.dto.response.TransactionResponseDto;
+import com.service.internalWallet.enums.LedgerEntryType;
+import com.service.internalWallet.enums.Status;
+import com.service.internalWallet.enums.TransactionType;
+import com.service.internalWallet.exception.InsufficientFundsException;
+import com.service.internalWallet.exception.ResourceNotFoundException;
+import com.service.internalWallet.exception.ServiceBusyException;
+import com.service.internalWallet.metrics.WalletMetrics;
+import com.service.internalWallet.model.Transaction;
+import com.service.internalWallet.model.UuidOrder;
+import com.service.internalWallet.model.UuidV7Generator;
+import com.service.internalWallet.repository.LedgerBatchRepository;
+import com.service.internalWallet.repository.LedgerBatchRepository.LedgerEntryRow;
+import com.service.internalWallet.repository.LedgerBatchRepository.LockedBalance;
+import com.service.internalWallet.repository.LedgerBatchRepository.TransactionRow;
+import com.service.internalWallet.repository.TransactionRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Optional write mode in which every wallet operation is queued on one of {@code lanes} single-writer
+ * lanes, chosen by the user account id, so operations on one account never race each other for its
+ * row lock. A lane drains whatever has queued up, up to {@code maxGroupSize} operations, and commits
+ * them in one database transaction (group commit). Balance checks run in queue order against the
+ * balances the lane locked for the group, so a burst of SPENDs costs one lock per account instead of
+ * one lock wait per request and still never overdraws. Callers block on a future that completes once
+ * the group has committed.
+ */
+@Slf4j
+@Service
+public class AccountLaneService {
+
+    private final LaneProperties properties;
+    private final TransactionRepository transactionRepository;
+    private final LedgerBatchRepository ledgerBatchRepository;
+    private final WalletMetrics walletMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final DistributionSummary groupSizes;
+
+    private final List<Lane> lanes = new ArrayList<>();
+
+    public AccountLaneService(LaneProperties properties,
+                              TransactionRepository transactionRepository,
+                              LedgerBatchRepository ledgerBatchRepository,
+                              WalletMetrics walletMetrics,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.transactionRepository = transactionRepository;
+        this.ledgerBatchRepository = ledgerBatchRepository;
+        this.walletMetrics = walletMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.groupSizes = DistributionSummary.builder("wallet.lanes.group.size")
+                .description("Operations committed together by one lane transaction")
+                .register(meterRegistry);
+        Gauge.builder("wallet.lanes.queued", this, service -> service.lanes.stream().mapToInt(lane -> lane.queue.size()).sum())
+                .description("Operations waiting in account lanes")
+                .register(meterRegistry);
+
+        if (properties.enabled()) {
+            for (int i = 0; i < properties.lanes(); i++) {
+                Lane lane = new Lane(new ArrayBlockingQueue<>(properties.queueCapacity()));
+                lane.thread = Thread.ofVirtual().name("account-lane-" + i).start(lane);
+                lanes.add(lane);
+            }
+            log.info("Started {} account lanes", properties.lanes());
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    public TransactionResponseDto submit(TransactionRequestDto request, UUID userAccountId, UUID systemAccountId) {
+        PendingWrite write = new PendingWrite(request, userAccountId, systemAccountId, new CompletableFuture<>());
+        Lane lane = lanes.get(Math.floorMod(userAccountId.hashCode(), lanes.size()));
+
+        if (!lane.queue.offer(write)) {
+            throw new ServiceBusyException("Account lane is full, retry later");
+        }
+        try {
+            return write.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lanes.forEach(lane -> lane.thread.interrupt());
+    }
+
+    private void commit(List<PendingWrite> group) {
+        groupSizes.record(group.size());
+        List<Outcome> outcomes;
+        try {
+            outcomes = transactionTemplate.execute(status -> writeGroup(group));
+        } catch (RuntimeException e) {
+            if (group.size() == 1) {
+                group.getFirst().result().completeExceptionally(e);
+                return;
+            }
+            // One bad operation must not fail its neighbours: retry each of them on its own.
+            log.warn("Group commit of {} operations failed, retrying them one by one: {}", group.size(), e.getMessage());
+            group.forEach(write -> commit(List.of(write)));
+            return;
+        }
+
+        for (int i = 0; i < group.size(); i++) {
+            Outcome outcome = outcomes.get(i);
+            if (outcome.failure() != null) {
+                group.get(i).result().completeExceptionally(outcome.failure());
+            } else {
+                group.get(i).result().complete(outcome.response());
+            }
+        }
+    }
+
+    private List<Outcome> writeGroup(List<PendingWrite> group) {
+        List<TransactionRequestDto> requests = group.stream().map(PendingWrite::request).toList();
+        walletMetrics.timeCommit(requests);
+
+        Set<String> keys = requests.stream()
+                .map(TransactionRequestDto::idempotencyKey)
+                .collect(Collectors.toSet());
+        Map<String, Transaction> existing = walletMetrics.timeStage(WalletMetrics.IDEMPOTENCY_LOOKUP, requests,
+                () -> transactionRepository.findByIdempotencyKeyIn(keys)
+                        .stream()
+                        .collect(Collectors.toMap(Transaction::getIdempotencyKey, Function.identity())));
+
+        Set<UUID> accountIds = new HashSet<>();
+        group.forEach(write -> {
+            accountIds.add(write.userAccountId());
+            accountIds.add(write.systemAccountId());
+        });
+        Map<UUID, LockedBalance> balances = walletMetrics.timeStage(WalletMetrics.BALANCE_LOCK, requests,
+                () -> ledgerBatchRepository.lockBalances(accountIds));
+
+        LocalDateTime createdAt = LocalDateTime.now();
+        TreeMap<UUID, Long> deltas = new TreeMap<>(UuidOrder.ASCENDING);
+        Map<String, TransactionResponseDto> written = new HashMap<>();
+        List<TransactionRow> transactions = new ArrayList<>();
+        List<LedgerEntryRow> ledgerEntries = new ArrayList<>();
+        List<TransactionRequestDto> writtenRequests = new ArrayList<>();
+        List<Outcome> outcomes = new ArrayList<>(group.size());
+
+        for (PendingWrite write : group) {
+            TransactionRequestDto request = write.request();
+            String key = request.idempotencyKey();
+
+            if (existing.containsKey(key)) {
+                walletMetrics.recordReplay("snapshot");
+                outcomes.add(Outcome.of(toResponse(existing.get(key))));
+                continue;
+            }
+            if (written.containsKey(key)) {
+                walletMetrics.recordReplay("lane");
+                outcomes.add(Outcome.of(written.get(key)));
+                continue;
+            }
+
+            LockedBalance locked = balances.get(write.userAccountId());
+            if (locked == null || !balances.containsKey(write.systemAccountId())) {
+                outcomes.add(Outcome.failed(new ResourceNotFoundException("Account not found")));
+                continue;
+            }
+
+            long userDelta = request.type() == TransactionType.SPEND ? -request.amount() : request.amount();
+            if (locked.balance() + userDelta < locked.heldBalance()) {
+                walletMetrics.recordInsufficientFunds(request.type(), request.assetCode());
+                outcomes.add(Outcome.failed(new InsufficientFundsException("Insufficient balance")));
+                continue;
+            }
+
+            long balanceAfter = locked.balance() + userDelta;
+            balances.put(write.userAccountId(), new LockedBalance(balanceAfter, locked.heldBalance()));
+            deltas.merge(write.userAccountId(), userDelta, Long::sum);
+            deltas.merge(write.systemAccountId(), -userDelta, Long::sum);
+
+            UUID transactionId = UuidV7Generator.next();
+            UUID debitAccountId = userDelta < 0 ? write.userAccountId() : write.systemAccountId();
+            UUID creditAccountId = userDelta < 0 ? write.systemAccountId() : write.userAccountId();
+
+            transactions.add(new TransactionRow(transactionId, request.type(), key, Status.SUCCESS, request.amount(), balanceAfter, createdAt));
+            ledgerEntries.add(new LedgerEntryRow(UuidV7Generator.next(), transactionId, debitAccountId, LedgerEntryType.DEBIT, request.amount(), createdAt));
+            ledgerEntries.add(new LedgerEntryRow(UuidV7Generator.next(), transactionId, creditAccountId, LedgerEntryType.CREDIT, request.amount(), createdAt));
+
+            TransactionResponseDto response = new TransactionResponseDto(transactionId, request.type(), request.amount(), balanceAfter, Status.SUCCESS, createdAt);
+            written.put(key, response);
+            writtenRequests.add(request);
+            outcomes.add(Outcome.of(response));
+        }
+
+        if (!transactions.isEmpty()) {
+            walletMetrics.timeStage(WalletMetrics.BALANCE_UPDATE, writtenRequests, () -> {
+                ledgerBatchRepository.applyBalanceDeltas(deltas);
+                return null;
+            });
+            walletMetrics.timeStage(WalletMetrics.LEDGER_INSERT, writtenRequests, () -> {
+                ledgerBatchRepository.insertTransactions(transactions);
+                ledgerBatchRepository.insertLedgerEntries(ledgerEntries);
+                return null;
+            });
+        }
+        return outcomes;
+    }
+
+    private TransactionResponseDto toResponse(Transaction transaction) {
+        return new TransactionResponseDto(
+                transaction.getId(),
+                transaction.getType(),
+                transaction.getAmount(),
+                transaction.getBalanceAfter(),
+                transaction.getStatus(),
+                transaction.getCreatedAt()
+        );
+    }
+
+    private final class Lane implements Runnable {
+
+        private final BlockingQueue<PendingWrite> queue;
+        private Thread thread;
+
+        private Lane(BlockingQueue<PendingWrite> queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public void run() {
+            List<PendingWrite> group = new ArrayList<>(properties.maxGroupSize());
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    group.add(queue.take());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                queue.drainTo(group, properties.maxGroupSize() - 1);
+                try {
+                    commit(group);
+                } catch (RuntimeException e) {
+                    log.error("Account lane failed to commit a group", e);
+                    group.forEach(write -> write.result().completeExceptionally(e));
+                }
+                group.clear();
+            }
+
+            List<PendingWrite> abandoned = new ArrayList<>();
+            queue.drainTo(abandoned);
+            abandoned.forEach(write -> write.result().completeExceptionally(new ServiceBusyException("Service is shutting down")));
+        }
+    }
+
+    private record PendingWrite(
+            TransactionRequestDto request,
+            UUID userAccountId,
+            UUID systemAccountId,
+            CompletableFuture<TransactionResponseDto> result
+    ) {
+    }
+
+    private record Outcome(TransactionResponseDto response, RuntimeException failure) {
+
+        static Outcome of(TransactionResponseDto response) {
+            return new Outcome(response, null);
+        }
+
+        static Outcome failed(RuntimeException failure) {
+            return new Outcome(null, failure);
+        }
+    }
+}
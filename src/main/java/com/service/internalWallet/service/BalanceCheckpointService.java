@@ -0,0 +1,66 @@
+package com.service.internalWallet.service;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import com.service.internalWallet.config.CheckpointProperties;
+import com.service.internalWallet.exception.InvalidRequestException;
+import com.service.internalWallet.repository.BalanceCheckpointRepository;
+import com.service.internalWallet.repository.PartitionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Periodically extends every account's balance checkpoint up to a watermark read from the database, so that a
+ * point-in-time balance only has to sum the ledger entries after the nearest earlier checkpoint.
+ * The watermark is the start of the oldest transaction still open with writes, less {@code settleLag}: an entry
+ * committed after a checkpoint could otherwise fall behind it and never be counted. Read-only transactions such
+ * as exports are ignored, since they cannot add entries.
+ * Accounts are walked in id order in small batches, each batch committing on its own.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BalanceCheckpointService {
+
+    private static final UUID FIRST_ACCOUNT_ID = new UUID(0L, 0L);
+
+    private final BalanceCheckpointRepository balanceCheckpointRepository;
+    private final PartitionRepository partitionRepository;
+    private final CheckpointProperties properties;
+
+    @Scheduled(
+            initialDelayString = "${wallet.checkpoint.interval:PT1H}",
+            fixedDelayString = "${wallet.checkpoint.interval:PT1H}"
+    )
+    public void writeCheckpoints() {
+        writeCheckpoints(balanceCheckpointRepository.findWatermark(properties.settleLag()));
+    }
+
+    public int writeCheckpoints(OffsetDateTime checkpointAt) {
+        UUID after = FIRST_ACCOUNT_ID;
+        int written = 0;
+
+        List<UUID> accountIds = balanceCheckpointRepository.findAccountIdsAfter(after, properties.batchSize());
+        while (!accountIds.isEmpty()) {
+            written += balanceCheckpointRepository.writeCheckpoints(accountIds, checkpointAt);
+            after = accountIds.getLast();
+            accountIds = balanceCheckpointRepository.findAccountIdsAfter(after, properties.batchSize());
+        }
+
+        log.info("Wrote {} balance checkpoints at {}", written, checkpointAt);
+        return written;
+    }
+
+    public long balanceAsOf(UUID accountId, OffsetDateTime asOf) {
+        partitionRepository.findArchiveHorizon()
+                .filter(asOf::isBefore)
+                .ifPresent(horizon -> {
+                    throw new InvalidRequestException("Ledger entries before " + horizon + " are archived");
+                });
+        return balanceCheckpointRepository.balanceAsOf(accountId, asOf);
+    }
+}
@@ -0,0 +1,79 @@
+package com.service.internalWallet.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.service.internalWallet.dto.request.BalanceBatchGetRequestDto;
+import com.service.internalWallet.dto.request.BalanceKeyDto;
+import com.service.internalWallet.dto.response.AssetBalanceDto;
+import com.service.internalWallet.dto.response.BalanceBatchGetResponseDto;
+import com.service.internalWallet.dto.response.BalanceLookupResultDto;
+import com.service.internalWallet.dto.response.BalanceResponseDto;
+import com.service.internalWallet.dto.response.UserBalancesResponseDto;
+import com.service.internalWallet.exception.ResourceNotFoundException;
+import com.service.internalWallet.repository.BalanceLookupRepository;
+import com.service.internalWallet.repository.BalanceLookupRepository.BalanceRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class BalanceLookupService {
+
+    private final BalanceLookupRepository balanceLookupRepository;
+
+    @Transactional(readOnly = true)
+    public UserBalancesResponseDto getUserBalances(String email) {
+        List<BalanceRow> rows = balanceLookupRepository.findUserBalances(email);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("User not found");
+        }
+
+        return new UserBalancesResponseDto(
+                rows.getFirst().userId(),
+                rows.stream()
+                    .filter(row -> row.assetCode() != null)
+                    .map(row -> new AssetBalanceDto(
+                            row.assetCode(),
+                            row.assetName(),
+                            row.balance(),
+                            row.heldBalance(),
+                            row.balance() - row.heldBalance()
+                    ))
+                    .toList()
+        );
+    }
+
+    @Transactional(readOnly = true)
+    public BalanceBatchGetResponseDto batchGetBalances(BalanceBatchGetRequestDto request) {
+        List<BalanceKeyDto> keys = request.keys();
+        List<BalanceRow> rows = balanceLookupRepository.findBalances(
+                keys.stream().map(BalanceKeyDto::email).toArray(String[]::new),
+                keys.stream().map(BalanceKeyDto::assetCode).toArray(String[]::new));
+
+        List<BalanceLookupResultDto> results = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            results.add(toResult(keys.get(i), rows.get(i)));
+        }
+        return new BalanceBatchGetResponseDto(results);
+    }
+
+    private BalanceLookupResultDto toResult(BalanceKeyDto key, BalanceRow row) {
+        if (row.userId() == null) {
+            return new BalanceLookupResultDto(key.email(), key.assetCode(), null, "User not found");
+        }
+        if (row.assetName() == null) {
+            return new BalanceLookupResultDto(key.email(), key.assetCode(), null, "Asset not found");
+        }
+        if (row.balance() == null) {
+            return new BalanceLookupResultDto(key.email(), key.assetCode(), null, "Account not found");
+        }
+        return new BalanceLookupResultDto(
+                key.email(),
+                key.assetCode(),
+                new BalanceResponseDto(row.userId(), row.assetName(), row.balance(), row.heldBalance(), row.balance() - row.heldBalance()),
+                null
+        );
+    }
+}
@@ -0,0 +1,297 @@
+package com.service.internalWallet.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.service.internalWallet.dto.request.BatchTransactionRequestDto;
+import com.service.internalWallet.dto.request.TransactionRequestDto;
+import com.service.internalWallet.dto.response.BatchItemResultDto;
+import com.service.internalWallet.dto.response.BatchTransactionResponseDto;
+import com.service.internalWallet.dto.response.TransactionResponseDto;
+import com.service.internalWallet.enums.AccountType;
+import com.service.internalWallet.enums.BatchItemStatus;
+import com.service.internalWallet.enums.LedgerEntryType;
+import com.service.internalWallet.enums.Status;
+import com.service.internalWallet.enums.TransactionType;
+import com.service.internalWallet.model.Account;
+import com.service.internalWallet.model.Asset;
+import com.service.internalWallet.model.Transaction;
+import com.service.internalWallet.model.User;
+import com.service.internalWallet.model.UuidOrder;
+import com.service.internalWallet.model.UuidV7Generator;
+import com.service.internalWallet.repository.AccountRepository;
+import com.service.internalWallet.repository.AssetRepository;
+import com.service.internalWallet.repository.LedgerBatchRepository;
+import com.service.internalWallet.repository.LedgerBatchRepository.LedgerEntryRow;
+import com.service.internalWallet.repository.LedgerBatchRepository.TransactionRow;
+import com.service.internalWallet.repository.TransactionRepository;
+import com.service.internalWallet.repository.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Processes a batch of credit operations (TOPUP and BONUS) in one database transaction: idempotency
+ * keys, users, assets and accounts are resolved with one query each, balances are updated once per
+ * touched account and transactions and ledger entries are written with JDBC batch inserts. Every
+ * item gets its own result, so an invalid item does not fail the rest of the batch.
+ * <p>
+ * A key written by a concurrent request between the lookup and the insert makes the insert fail on
+ * the unique key. That request has committed by then, so the batch is simply run again and the item
+ * comes back as REPLAYED.
+ */
+@Service
+@RequiredArgsConstructor
+public class BatchTransactionService {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final TransactionRepository transactionRepository;
+    private final UserRepository userRepository;
+    private final AssetRepository assetRepository;
+    private final AccountRepository accountRepository;
+    private final LedgerBatchRepository ledgerBatchRepository;
+    private final SystemAccountService systemAccountService;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+    public BatchTransactionResponseDto processBatch(BatchTransactionRequestDto batchTransactionRequestDto) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> writeBatch(batchTransactionRequestDto));
+            } catch (DuplicateKeyException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private BatchTransactionResponseDto writeBatch(BatchTransactionRequestDto batchTransactionRequestDto) {
+        List<TransactionRequestDto> requests = batchTransactionRequestDto.transactions();
+        BatchItemResultDto[] results = new BatchItemResultDto[requests.size()];
+
+        Set<String> keys = requests.stream()
+                .filter(Objects::nonNull)
+                .map(TransactionRequestDto::idempotencyKey)
+                .filter(key -> key != null && !key.isBlank())
+                .collect(Collectors.toSet());
+
+        Map<String, Transaction> existing = keys.isEmpty()
+                ? Map.of()
+                : transactionRepository.findByIdempotencyKeyIn(keys)
+                                       .stream()
+                                       .collect(Collectors.toMap(Transaction::getIdempotencyKey, Function.identity()));
+
+        Set<String> seenKeys = new HashSet<>();
+        List<Integer> accepted = new ArrayList<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            TransactionRequestDto request = requests.get(i);
+            if (request == null) {
+                results[i] = BatchItemResultDto.failed(null, "Transaction is required");
+                continue;
+            }
+            String error = validate(request);
+
+            if (error != null) {
+                results[i] = BatchItemResultDto.failed(request.idempotencyKey(), error);
+            } else if (existing.containsKey(request.idempotencyKey())) {
+                results[i] = replayed(existing.get(request.idempotencyKey()));
+            } else if (!seenKeys.add(request.idempotencyKey())) {
+                results[i] = BatchItemResultDto.failed(request.idempotencyKey(), "Duplicate idempotency key in batch");
+            } else if (request.type() == TransactionType.SPEND) {
+                results[i] = BatchItemResultDto.failed(request.idempotencyKey(), "SPEND is not supported in batch requests");
+            } else {
+                accepted.add(i);
+            }
+        }
+
+        if (accepted.isEmpty()) {
+            return summarize(results);
+        }
+
+        Map<String, User> users = userRepository.findByEmailIn(collect(requests, accepted, TransactionRequestDto::email))
+                .stream()
+                .collect(Collectors.toMap(User::getEmail, Function.identity()));
+
+        Map<String, Asset> assets = assetRepository.findByCodeIn(collect(requests, accepted, TransactionRequestDto::assetCode))
+                .stream()
+                .collect(Collectors.toMap(Asset::getCode, Function.identity()));
+
+        Map<UUID, Map<UUID, Account>> userAccounts = accountRepository.findByTypeAndUserIdIn(AccountType.USER, idsOf(users.values(), User::getId))
+                .stream()
+                .collect(Collectors.groupingBy(
+                        account -> account.getUser().getId(),
+                        Collectors.toMap(account -> account.getAsset().getId(), Function.identity())
+                ));
+
+        Map<UUID, Map<Integer, Account>> stripes = systemAccountService.loadStripes(idsOf(assets.values(), Asset::getId));
+
+        List<PendingItem> pending = new ArrayList<>();
+        TreeMap<UUID, Long> deltas = new TreeMap<>(UuidOrder.ASCENDING);
+
+        for (int i : accepted) {
+            TransactionRequestDto request = requests.get(i);
+            User user = users.get(request.email());
+            Asset asset = assets.get(request.assetCode());
+
+            if (user == null) {
+                results[i] = BatchItemResultDto.failed(request.idempotencyKey(), "User not found");
+                continue;
+            }
+            if (asset == null) {
+                results[i] = BatchItemResultDto.failed(request.idempotencyKey(), "Asset not found");
+                continue;
+            }
+
+            Account userAccount = userAccounts.getOrDefault(user.getId(), Map.of()).get(asset.getId());
+            if (userAccount == null) {
+                results[i] = BatchItemResultDto.failed(request.idempotencyKey(), "Account not found");
+                continue;
+            }
+
+            Account systemAccount = stripes.getOrDefault(asset.getId(), Map.of())
+                    .get(systemAccountService.stripeFor(userAccount.getId()));
+            if (systemAccount == null) {
+                results[i] = BatchItemResultDto.failed(request.idempotencyKey(), "System Account not found");
+                continue;
+            }
+
+            pending.add(new PendingItem(i, request, UuidV7Generator.next(), userAccount.getId(), systemAccount.getId()));
+            deltas.merge(userAccount.getId(), request.amount(), Long::sum);
+            deltas.merge(systemAccount.getId(), -request.amount(), Long::sum);
+        }
+
+        if (!pending.isEmpty()) {
+            writePending(pending, deltas, results);
+        }
+
+        return summarize(results);
+    }
+
+    private void writePending(List<PendingItem> pending, TreeMap<UUID, Long> deltas, BatchItemResultDto[] results) {
+        ledgerBatchRepository.applyBalanceDeltas(deltas);
+        // Stamped only once the balance updates have given this transaction an id, so that the checkpoint
+        // watermark, which only waits for transactions holding one, cannot pass entries still uncommitted.
+        LocalDateTime createdAt = LocalDateTime.now();
+
+        Set<UUID> userAccountIds = pending.stream()
+                .map(PendingItem::userAccountId)
+                .collect(Collectors.toSet());
+        Map<UUID, Long> balances = new HashMap<>(ledgerBatchRepository.findBalances(userAccountIds));
+
+        // The balances read back include every credit of the batch, so walking the items backwards
+        // and subtracting each amount yields the balance right after each individual item.
+        long[] balancesAfter = new long[pending.size()];
+        for (int p = pending.size() - 1; p >= 0; p--) {
+            PendingItem item = pending.get(p);
+            balancesAfter[p] = balances.merge(item.userAccountId(), -item.request().amount(), Long::sum) + item.request().amount();
+        }
+
+        List<TransactionRow> transactions = new ArrayList<>(pending.size());
+        List<LedgerEntryRow> ledgerEntries = new ArrayList<>(pending.size() * 2);
+
+        for (int p = 0; p < pending.size(); p++) {
+            PendingItem item = pending.get(p);
+            TransactionRequestDto request = item.request();
+
+            transactions.add(new TransactionRow(item.transactionId(), request.type(), request.idempotencyKey(), Status.SUCCESS, request.amount(), balancesAfter[p], createdAt));
+            ledgerEntries.add(new LedgerEntryRow(UuidV7Generator.next(), item.transactionId(), item.systemAccountId(), LedgerEntryType.DEBIT, request.amount(), createdAt));
+            ledgerEntries.add(new LedgerEntryRow(UuidV7Generator.next(), item.transactionId(), item.userAccountId(), LedgerEntryType.CREDIT, request.amount(), createdAt));
+
+            results[item.index()] = new BatchItemResultDto(
+                    request.idempotencyKey(),
+                    BatchItemStatus.PROCESSED,
+                    new TransactionResponseDto(
+                            item.transactionId(),
+                            request.type(),
+                            request.amount(),
+                            balancesAfter[p],
+                            Status.SUCCESS,
+                            createdAt
+                    ),
+                    null
+            );
+        }
+
+        ledgerBatchRepository.insertTransactions(transactions);
+        ledgerBatchRepository.insertLedgerEntries(ledgerEntries);
+    }
+
+    private String validate(TransactionRequestDto request) {
+        Set<ConstraintViolation<TransactionRequestDto>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private BatchItemResultDto replayed(Transaction transaction) {
+        return new BatchItemResultDto(
+                transaction.getIdempotencyKey(),
+                BatchItemStatus.REPLAYED,
+                new TransactionResponseDto(
+                        transaction.getId(),
+                        transaction.getType(),
+                        transaction.getAmount(),
+                        transaction.getBalanceAfter(),
+                        transaction.getStatus(),
+                        transaction.getCreatedAt()
+                ),
+                null
+        );
+    }
+
+    private BatchTransactionResponseDto summarize(BatchItemResultDto[] results) {
+        Map<BatchItemStatus, Long> counts = Arrays.stream(results)
+                .collect(Collectors.groupingBy(BatchItemResultDto::status, Collectors.counting()));
+
+        return new BatchTransactionResponseDto(
+                counts.getOrDefault(BatchItemStatus.PROCESSED, 0L).intValue(),
+                counts.getOrDefault(BatchItemStatus.REPLAYED, 0L).intValue(),
+                counts.getOrDefault(BatchItemStatus.FAILED, 0L).intValue(),
+                List.of(results)
+        );
+    }
+
+    private static Set<String> collect(List<TransactionRequestDto> requests, List<Integer> indexes, Function<TransactionRequestDto, String> field) {
+        Set<String> values = new LinkedHashSet<>();
+        indexes.forEach(i -> values.add(field.apply(requests.get(i))));
+        return values;
+    }
+
+    private static <T> Set<UUID> idsOf(Collection<T> entities, Function<T, UUID> id) {
+        return entities.stream()
+                .map(id)
+                .collect(Collectors.toSet());
+    }
+
+    private record PendingItem(
+            int index,
+            TransactionRequestDto request,
+            UUID transactionId,
+            UUID userAccountId,
+            UUID systemAccountId
+    ) {
+    }
+}
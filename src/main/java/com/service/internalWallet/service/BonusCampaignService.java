@@ -0,0 +1,170 @@
+package com.service.internalWallet.service;
+
+import java.io.Reader;
+import java.time.OffsetDateTime;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.service.internalWallet.config.CampaignProperties;
+import com.service.internalWallet.config.SystemAccountProperties;
+import com.service.internalWallet.dto.response.BonusCampaignDto;
+import com.service.internalWallet.enums.CampaignStatus;
+import com.service.internalWallet.exception.InvalidRequestException;
+import com.service.internalWallet.exception.ResourceNotFoundException;
+import com.service.internalWallet.repository.BonusCampaignRepository;
+import com.service.internalWallet.repository.BonusCampaignRepository.CampaignRow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Grants a BONUS to every row of an uploaded campaign file without going through the per-request
+ * write path: rows are staged with COPY, then processed chunk by chunk with a handful of set-based
+ * statements per chunk. Each chunk commits together with the campaign's progress marker, so a
+ * campaign left RUNNING by a crash is picked up again on startup and never grants a row twice.
+ * A dry run resolves and validates every row the same way but writes nothing to the ledger.
+ */
+@Slf4j
+@Service
+public class BonusCampaignService {
+
+    private final BonusCampaignRepository bonusCampaignRepository;
+    private final CampaignProperties properties;
+    private final SystemAccountProperties systemAccountProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter processedRowsCounter;
+
+    private final Set<UUID> running = ConcurrentHashMap.newKeySet();
+
+    public BonusCampaignService(BonusCampaignRepository bonusCampaignRepository,
+                                CampaignProperties properties,
+                                SystemAccountProperties systemAccountProperties,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry) {
+        this.bonusCampaignRepository = bonusCampaignRepository;
+        this.properties = properties;
+        this.systemAccountProperties = systemAccountProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.processedRowsCounter = Counter.builder("wallet.campaign.rows")
+                .description("Campaign rows processed, including dry runs")
+                .register(meterRegistry);
+    }
+
+    public UUID stageCampaign(String name, boolean dryRun, Reader csv) {
+        return transactionTemplate.execute(status -> {
+            UUID campaignId = bonusCampaignRepository.createCampaign(name, dryRun);
+            long rows = bonusCampaignRepository.stageRows(campaignId, csv);
+            log.info("Staged {} rows for {}campaign {}", rows, dryRun ? "dry-run " : "", campaignId);
+            return campaignId;
+        });
+    }
+
+    public void startCampaign(UUID campaignId) {
+        if (!running.add(campaignId)) {
+            return;
+        }
+        Thread.ofVirtual().name("campaign-" + campaignId).start(() -> {
+            try {
+                runCampaign(campaignId);
+            } catch (RuntimeException e) {
+                log.error("Campaign {} failed", campaignId, e);
+            } finally {
+                running.remove(campaignId);
+            }
+        });
+    }
+
+    public BonusCampaignDto resumeCampaign(UUID campaignId) {
+        CampaignRow campaign = findCampaign(campaignId);
+        if (campaign.status() == CampaignStatus.COMPLETED) {
+            throw new InvalidRequestException("Campaign has already completed");
+        }
+        if (campaign.status() == CampaignStatus.FAILED) {
+            bonusCampaignRepository.updateStatus(campaignId, CampaignStatus.RUNNING, null);
+        }
+        startCampaign(campaignId);
+        return getCampaign(campaignId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedCampaigns() {
+        for (UUID campaignId : bonusCampaignRepository.findCampaignIdsByStatus(CampaignStatus.RUNNING)) {
+            log.info("Resuming campaign {}", campaignId);
+            startCampaign(campaignId);
+        }
+    }
+
+    public BonusCampaignDto runCampaign(UUID campaignId) {
+        try {
+            boolean more = true;
+            while (more) {
+                more = Boolean.TRUE.equals(transactionTemplate.execute(status -> processNextChunk(campaignId)));
+            }
+        } catch (RuntimeException e) {
+            bonusCampaignRepository.updateStatus(campaignId, CampaignStatus.FAILED, e.getMessage());
+            throw e;
+        }
+        return getCampaign(campaignId);
+    }
+
+    public BonusCampaignDto getCampaign(UUID campaignId) {
+        CampaignRow campaign = findCampaign(campaignId);
+        return new BonusCampaignDto(
+                campaign.id(),
+                campaign.name(),
+                campaign.status(),
+                campaign.dryRun(),
+                campaign.totalRows(),
+                campaign.processedThrough(),
+                campaign.totalRows() == 0 ? 1.0 : campaign.processedThrough() / (double) campaign.totalRows(),
+                bonusCampaignRepository.countRows(campaignId),
+                bonusCampaignRepository.sumBonusAmount(campaignId),
+                campaign.error(),
+                campaign.createdAt(),
+                campaign.updatedAt(),
+                bonusCampaignRepository.findFailures(campaignId, properties.maxReportedFailures())
+        );
+    }
+
+    private boolean processNextChunk(UUID campaignId) {
+        CampaignRow campaign = bonusCampaignRepository.lockCampaign(campaignId)
+                .orElseThrow(() -> new ResourceNotFoundException("Campaign not found"));
+
+        if (campaign.status() != CampaignStatus.RUNNING) {
+            return false;
+        }
+        if (campaign.processedThrough() >= campaign.totalRows()) {
+            bonusCampaignRepository.updateStatus(campaignId, CampaignStatus.COMPLETED, null);
+            log.info("Campaign {} completed", campaignId);
+            return false;
+        }
+
+        long from = campaign.processedThrough();
+        long to = Math.min(from + properties.chunkSize(), campaign.totalRows());
+        int stripes = systemAccountProperties.stripes();
+
+        bonusCampaignRepository.markReplayed(campaignId, from, to);
+        bonusCampaignRepository.markUnresolved(campaignId, from, to, stripes);
+        if (campaign.dryRun()) {
+            bonusCampaignRepository.markValid(campaignId, from, to);
+        } else {
+            bonusCampaignRepository.grantChunk(campaignId, from, to, stripes, OffsetDateTime.now());
+        }
+        bonusCampaignRepository.advance(campaignId, to);
+
+        processedRowsCounter.increment(to - from);
+        return true;
+    }
+
+    private CampaignRow findCampaign(UUID campaignId) {
+        return bonusCampaignRepository.findCampaign(campaignId)
+                .orElseThrow(() -> new ResourceNotFoundException("Campaign not found"));
+    }
+}
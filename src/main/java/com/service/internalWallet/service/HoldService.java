@@ -0,0 +1,195 @@
+package com.service.internalWallet.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import com.service.internalWallet.config.HoldProperties;
+import com.service.internalWallet.dto.projection.AssetReference;
+import com.service.internalWallet.dto.request.HoldRequestDto;
+import com.service.internalWallet.dto.response.HoldResponseDto;
+import com.service.internalWallet.enums.HoldStatus;
+import com.service.internalWallet.enums.LedgerEntryType;
+import com.service.internalWallet.enums.Status;
+import com.service.internalWallet.enums.TransactionType;
+import com.service.internalWallet.exception.InsufficientFundsException;
+import com.service.internalWallet.exception.InvalidRequestException;
+import com.service.internalWallet.exception.ResourceNotFoundException;
+import com.service.internalWallet.metrics.WalletMetrics;
+import com.service.internalWallet.model.UuidOrder;
+import com.service.internalWallet.model.UuidV7Generator;
+import com.service.internalWallet.repository.AccountRepository;
+import com.service.internalWallet.repository.HoldRepository;
+import com.service.internalWallet.repository.HoldRepository.HoldRow;
+import com.service.internalWallet.repository.HoldRepository.ReleasedHold;
+import com.service.internalWallet.repository.LedgerBatchRepository;
+import com.service.internalWallet.repository.LedgerBatchRepository.LedgerEntryRow;
+import com.service.internalWallet.repository.LedgerBatchRepository.TransactionRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Two-step SPEND: AUTHORIZE moves the amount from the available to the held part of the account,
+ * CAPTURE later turns the hold into a regular SPEND and VOID gives it back. Holds that are neither
+ * captured nor voided before they expire are released by {@link #sweepExpired()}. Each step is one
+ * short transaction, so no row stays locked while the caller runs its own business checks.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HoldService {
+
+    private final HoldRepository holdRepository;
+    private final AccountRepository accountRepository;
+    private final LedgerBatchRepository ledgerBatchRepository;
+    private final ReferenceDataService referenceDataService;
+    private final SystemAccountService systemAccountService;
+    private final HoldProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final WalletMetrics walletMetrics;
+
+    public HoldResponseDto authorize(HoldRequestDto request) {
+        Optional<HoldRow> existing = holdRepository.findByIdempotencyKey(request.idempotencyKey());
+        if (existing.isPresent()) {
+            walletMetrics.recordReplay("hold");
+            return toResponse(existing.get());
+        }
+
+        long ttlSeconds = request.ttlSeconds() != null ? request.ttlSeconds() : properties.defaultTtl().toSeconds();
+        if (ttlSeconds > properties.maxTtl().toSeconds()) {
+            throw new InvalidRequestException("TTL must be at most " + properties.maxTtl().toSeconds() + " seconds");
+        }
+
+        UUID userId = referenceDataService.findUserId(request.email())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        AssetReference asset = referenceDataService.findAsset(request.assetCode())
+                .orElseThrow(() -> new ResourceNotFoundException("Asset not found"));
+        UUID accountId = referenceDataService.findUserAccountId(userId, asset.id())
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found"));
+        UUID systemAccountId = systemAccountService.resolveStripeId(asset.id(), accountId);
+
+        return transactionTemplate.execute(status -> {
+            Optional<HoldRow> inserted = holdRepository.insertHold(request.idempotencyKey(), accountId, systemAccountId, request.amount(), ttlSeconds);
+            if (inserted.isEmpty()) {
+                walletMetrics.recordReplay("hold");
+                return toResponse(findHold(holdRepository.findByIdempotencyKey(request.idempotencyKey())));
+            }
+            // Rolling back also removes the hold row inserted above.
+            if (!holdRepository.reserve(accountId, request.amount())) {
+                walletMetrics.recordInsufficientFunds(TransactionType.SPEND, request.assetCode());
+                throw new InsufficientFundsException("Insufficient balance");
+            }
+            return toResponse(inserted.get());
+        });
+    }
+
+    public HoldResponseDto capture(UUID holdId) {
+        return transactionTemplate.execute(status -> {
+            UUID transactionId = UuidV7Generator.next();
+            Optional<HoldRow> captured = holdRepository.markCaptured(holdId, transactionId);
+            if (captured.isEmpty()) {
+                HoldRow hold = findHold(holdRepository.findById(holdId));
+                if (hold.status() == HoldStatus.CAPTURED) {
+                    walletMetrics.recordReplay("hold");
+                    return toResponse(hold);
+                }
+                throw new InvalidRequestException(hold.status() == HoldStatus.AUTHORIZED
+                        ? "Hold has expired"
+                        : "Hold is " + hold.status());
+            }
+
+            HoldRow hold = captured.get();
+            long balanceAfter = settle(hold);
+
+            LocalDateTime createdAt = LocalDateTime.now();
+            ledgerBatchRepository.insertTransactions(List.of(
+                    new TransactionRow(transactionId, TransactionType.SPEND, "hold:" + hold.id(), Status.SUCCESS, hold.amount(), balanceAfter, createdAt)));
+            ledgerBatchRepository.insertLedgerEntries(List.of(
+                    new LedgerEntryRow(UuidV7Generator.next(), transactionId, hold.accountId(), LedgerEntryType.DEBIT, hold.amount(), createdAt),
+                    new LedgerEntryRow(UuidV7Generator.next(), transactionId, hold.systemAccountId(), LedgerEntryType.CREDIT, hold.amount(), createdAt)));
+
+            return toResponse(hold);
+        });
+    }
+
+    public HoldResponseDto voidHold(UUID holdId) {
+        return transactionTemplate.execute(status -> {
+            Optional<HoldRow> voided = holdRepository.markVoided(holdId);
+            if (voided.isEmpty()) {
+                HoldRow hold = findHold(holdRepository.findById(holdId));
+                if (hold.status() == HoldStatus.CAPTURED) {
+                    throw new InvalidRequestException("Hold is CAPTURED");
+                }
+                // Already voided, or expired and released by the sweeper.
+                return toResponse(hold);
+            }
+
+            HoldRow hold = voided.get();
+            holdRepository.release(new TreeMap<>(Map.of(hold.accountId(), hold.amount())));
+            return toResponse(hold);
+        });
+    }
+
+    public HoldResponseDto getHold(UUID holdId) {
+        return toResponse(findHold(holdRepository.findById(holdId)));
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.holds.sweep-interval:PT10S}")
+    public void sweepExpired() {
+        long released = 0;
+        int swept;
+        do {
+            swept = transactionTemplate.execute(status -> sweepBatch());
+            released += swept;
+        } while (swept == properties.sweepBatchSize());
+
+        if (released > 0) {
+            log.info("Released {} expired holds", released);
+        }
+    }
+
+    int sweepBatch() {
+        List<ReleasedHold> expired = holdRepository.expireBatch(properties.sweepBatchSize());
+        if (expired.isEmpty()) {
+            return 0;
+        }
+        TreeMap<UUID, Long> amounts = new TreeMap<>(UuidOrder.ASCENDING);
+        expired.forEach(hold -> amounts.merge(hold.accountId(), hold.amount(), Long::sum));
+        holdRepository.release(amounts);
+        return expired.size();
+    }
+
+    // Same ascending id order as the single-operation write path.
+    private long settle(HoldRow hold) {
+        boolean userFirst = UuidOrder.ASCENDING.compare(hold.accountId(), hold.systemAccountId()) < 0;
+        if (!userFirst) {
+            accountRepository.applyDelta(hold.systemAccountId(), hold.amount());
+        }
+        long balanceAfter = holdRepository.settle(hold.accountId(), hold.amount());
+        if (userFirst) {
+            accountRepository.applyDelta(hold.systemAccountId(), hold.amount());
+        }
+        return balanceAfter;
+    }
+
+    private HoldRow findHold(Optional<HoldRow> hold) {
+        return hold.orElseThrow(() -> new ResourceNotFoundException("Hold not found"));
+    }
+
+    private HoldResponseDto toResponse(HoldRow hold) {
+        return new HoldResponseDto(
+                hold.id(),
+                hold.status(),
+                hold.amount(),
+                hold.expiresAt(),
+                hold.transactionId(),
+                hold.createdAt()
+        );
+    }
+}
@@ -0,0 +1,133 @@
+package com.service.internalWallet.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import com.service.internalWallet.config.ExportProperties;
+import com.service.internalWallet.dto.projection.LedgerExportRow;
+import com.service.internalWallet.dto.request.LedgerExportFilter;
+import com.service.internalWallet.enums.ExportFormat;
+import com.service.internalWallet.repository.LedgerExportRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Writes ledger rows to the output stream as they come off the database cursor, so memory use
+ * does not depend on the number of rows exported. An export that outlives {@code wallet.export.max-duration}
+ * is cut off between rows, which rolls back its transaction and returns the connection to the pool.
+ */
+@Service
+public class LedgerExportService {
+
+    private static final String CSV_HEADER =
+            "ledger_entry_id,created_at,account_id,asset_code,entry_type,amount,transaction_id,transaction_type,status,idempotency_key";
+
+    private final LedgerExportRepository ledgerExportRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration maxDuration;
+
+    public LedgerExportService(LedgerExportRepository ledgerExportRepository, PlatformTransactionManager transactionManager, ExportProperties properties) {
+        this.ledgerExportRepository = ledgerExportRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setTimeout((int) Math.max(1, properties.maxDuration().toSeconds()));
+        this.maxDuration = properties.maxDuration();
+    }
+
+    public void export(LedgerExportFilter filter, ExportFormat format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long deadline = System.nanoTime() + maxDuration.toNanos();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> ledgerExportRepository.stream(filter, row -> {
+                if (System.nanoTime() - deadline > 0) {
+                    throw new TransactionTimedOutException("Export exceeded " + maxDuration);
+                }
+                try {
+                    writer.write(format == ExportFormat.CSV ? toCsv(row) : toJson(row));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private String toCsv(LedgerExportRow row) {
+        return String.join(",",
+                row.ledgerEntryId().toString(),
+                row.createdAt().toString(),
+                row.accountId().toString(),
+                csvField(row.assetCode()),
+                row.entryType(),
+                Long.toString(row.amount()),
+                row.transactionId().toString(),
+                row.transactionType(),
+                row.status(),
+                csvField(row.idempotencyKey()));
+    }
+
+    private String toJson(LedgerExportRow row) {
+        return "{\"ledgerEntryId\":\"" + row.ledgerEntryId()
+                + "\",\"createdAt\":\"" + row.createdAt()
+                + "\",\"accountId\":\"" + row.accountId()
+                + "\",\"assetCode\":" + jsonString(row.assetCode())
+                + ",\"entryType\":\"" + row.entryType()
+                + "\",\"amount\":" + row.amount()
+                + ",\"transactionId\":\"" + row.transactionId()
+                + "\",\"transactionType\":\"" + row.transactionType()
+                + "\",\"status\":\"" + row.status()
+                + "\",\"idempotencyKey\":" + jsonString(row.idempotencyKey())
+                + "}";
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private static String jsonString(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder json = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        return json.append('"').toString();
+    }
+}
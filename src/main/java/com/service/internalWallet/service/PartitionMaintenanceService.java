@@ -0,0 +1,93 @@
+package com.service.internalWallet.service;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.service.internalWallet.config.PartitionProperties;
+import com.service.internalWallet.repository.PartitionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the previous month and {@code monthsAhead} monthly partitions of the ledger tables ready and, in
+ * archive mode, detaches months older than {@code retentionMonths} once every account has a balance
+ * checkpoint at the end of that month. Detached partitions are moved to the {@code ledger_archive}
+ * schema, where they can be dumped or dropped. Only one node runs maintenance at a time.
+ * <p>
+ * There is no DEFAULT partition: it would rule out {@code DETACH ... CONCURRENTLY}, so entries dated before
+ * the previous month are still rejected.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PartitionMaintenanceService {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final PartitionRepository partitionRepository;
+    private final BalanceCheckpointService balanceCheckpointService;
+    private final PartitionProperties properties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${wallet.partitioning.cron:0 0 3 * * *}", zone = "UTC")
+    public void maintainPartitions() {
+        if (!partitionRepository.withMaintenanceLock(this::maintain)) {
+            log.info("Ledger partitions are being maintained by another node");
+        }
+    }
+
+    private void maintain() {
+        LocalDate currentMonth = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1);
+        // The previous month stays available for entries stamped just before a month boundary and for back-dated seeds.
+        int created = partitionRepository.ensurePartitions(currentMonth.minusMonths(1), currentMonth.plusMonths(properties.monthsAhead()));
+        if (created > 0) {
+            log.info("Created {} ledger partitions", created);
+        }
+
+        if (properties.archiveEnabled()) {
+            archive(currentMonth.minusMonths(properties.retentionMonths()));
+        }
+    }
+
+    // Archives, oldest first, every month that ends at or before `horizon`, including months a previous run
+    // left detached but not yet moved.
+    private void archive(LocalDate horizon) {
+        Set<LocalDate> months = new TreeSet<>();
+        for (String table : PartitionRepository.PARTITIONED_TABLES) {
+            partitionRepository.findMonthlyPartitions(table).stream()
+                    .map(PartitionMaintenanceService::monthOf)
+                    .filter(month -> !month.plusMonths(1).isAfter(horizon))
+                    .forEach(months::add);
+        }
+
+        for (LocalDate month : months) {
+            OffsetDateTime rangeStart = month.atStartOfDay().atOffset(ZoneOffset.UTC);
+            OffsetDateTime rangeEnd = month.plusMonths(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+
+            // Fold the month into checkpoints first, so balances stay computable once its entries are gone.
+            // Accounts already checkpointed at rangeEnd by an interrupted run keep their checkpoint.
+            balanceCheckpointService.writeCheckpoints(rangeEnd);
+
+            for (String table : PartitionRepository.PARTITIONED_TABLES) {
+                String partition = table + "_" + month.format(PARTITION_SUFFIX);
+                if (partitionRepository.findMonthlyPartitions(table).contains(partition)) {
+                    partitionRepository.archive(table, partition, rangeStart, rangeEnd);
+                }
+            }
+            log.info("Archived ledger partitions for {}", month.format(PARTITION_SUFFIX));
+        }
+    }
+
+    private static LocalDate monthOf(String partition) {
+        String suffix = partition.substring(partition.length() - "yyyy_MM".length());
+        return LocalDate.parse(suffix + "_01", DateTimeFormatter.ofPattern("yyyy_MM_dd"));
+    }
+}
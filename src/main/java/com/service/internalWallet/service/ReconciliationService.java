@@ -0,0 +1,236 @@
+package com.service.internalWallet.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import com.service.internalWallet.config.ReconciliationProperties;
+import com.service.internalWallet.dto.projection.AccountReconciliationView;
+import com.service.internalWallet.dto.response.ReconciliationMismatchDto;
+import com.service.internalWallet.dto.response.ReconciliationReportDto;
+import com.service.internalWallet.enums.MismatchType;
+import com.service.internalWallet.exception.InvalidRequestException;
+import com.service.internalWallet.repository.PartitionRepository;
+import com.service.internalWallet.repository.ReconciliationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Checks that every account balance equals the sum of its ledger entries (and of its latest
+ * checkpoint, when there is one) and that the entries of every transaction net to zero.
+ * The id space is cut into {@code ranges} equal UUID ranges that are scanned in parallel on
+ * virtual threads, each range in its own short read-only transaction, so no row locks are taken
+ * and only one row per account and one row per unbalanced transaction is ever held in memory.
+ */
+@Slf4j
+@Service
+public class ReconciliationService {
+
+    private final ReconciliationRepository reconciliationRepository;
+    private final PartitionRepository partitionRepository;
+    private final ReconciliationProperties properties;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicInteger completedRanges = new AtomicInteger();
+    private final AtomicInteger totalRanges = new AtomicInteger();
+    private final AtomicReference<ReconciliationReportDto> latestReport = new AtomicReference<>();
+    private final Counter ledgerEntriesCounter;
+    private final Counter mismatchCounter;
+
+    public ReconciliationService(ReconciliationRepository reconciliationRepository,
+                                 PartitionRepository partitionRepository,
+                                 ReconciliationProperties properties,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry) {
+        this.reconciliationRepository = reconciliationRepository;
+        this.partitionRepository = partitionRepository;
+        this.properties = properties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        this.ledgerEntriesCounter = Counter.builder("wallet.reconciliation.ledger.entries")
+                .description("Ledger entries checked by reconciliation")
+                .register(meterRegistry);
+        this.mismatchCounter = Counter.builder("wallet.reconciliation.mismatches")
+                .description("Mismatches found by reconciliation")
+                .register(meterRegistry);
+        Gauge.builder("wallet.reconciliation.progress", this, service -> service.completedRanges.get() / (double) Math.max(service.totalRanges.get(), 1))
+                .description("Fraction of the current reconciliation run that is done")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${wallet.reconciliation.cron:-}")
+    public void scheduledReconciliation() {
+        if (running.get()) {
+            log.warn("Skipping scheduled reconciliation, a run is still in progress");
+            return;
+        }
+        reconcile();
+    }
+
+    public ReconciliationReportDto reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            throw new InvalidRequestException("A reconciliation run is already in progress");
+        }
+        try {
+            return run();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public void startReconciliation() {
+        if (!running.compareAndSet(false, true)) {
+            throw new InvalidRequestException("A reconciliation run is already in progress");
+        }
+        Thread.ofVirtual().name("reconciliation").start(() -> {
+            try {
+                run();
+            } catch (RuntimeException e) {
+                log.error("Reconciliation failed", e);
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    public Optional<ReconciliationReportDto> getLatestReport() {
+        return Optional.ofNullable(latestReport.get());
+    }
+
+    private ReconciliationReportDto run() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long startNanos = System.nanoTime();
+        completedRanges.set(0);
+
+        AtomicLong accounts = new AtomicLong();
+        AtomicLong ledgerEntries = new AtomicLong();
+        AtomicLong mismatchCount = new AtomicLong();
+        List<ReconciliationMismatchDto> mismatches = Collections.synchronizedList(new ArrayList<>());
+
+        Consumer<ReconciliationMismatchDto> sink = mismatch -> {
+            mismatchCounter.increment();
+            if (mismatchCount.incrementAndGet() <= properties.maxReportedMismatches()) {
+                mismatches.add(mismatch);
+            }
+        };
+
+        OffsetDateTime archiveHorizon = partitionRepository.findArchiveHorizon().orElse(null);
+        List<UUID> accountBounds = sampledBounds(ReconciliationRepository.ACCOUNT_IDS);
+        List<UUID> transactionBounds = sampledBounds(ReconciliationRepository.LEDGER_TRANSACTION_IDS);
+        totalRanges.set(accountBounds.size() + transactionBounds.size());
+        List<Future<?>> futures = new ArrayList<>();
+
+        try (ExecutorService workers = Executors.newFixedThreadPool(properties.parallelism(), Thread.ofVirtual().name("reconciliation-", 0).factory())) {
+            for (int i = 0; i < accountBounds.size(); i++) {
+                UUID from = accountBounds.get(i);
+                UUID to = i + 1 < accountBounds.size() ? accountBounds.get(i + 1) : null;
+                futures.add(workers.submit(() -> reconcileAccounts(from, to, archiveHorizon, accounts, ledgerEntries, sink)));
+            }
+            for (int i = 0; i < transactionBounds.size(); i++) {
+                UUID from = transactionBounds.get(i);
+                UUID to = i + 1 < transactionBounds.size() ? transactionBounds.get(i + 1) : null;
+                futures.add(workers.submit(() -> reconcileTransactions(from, to, sink)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Reconciliation was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Reconciliation failed", e.getCause());
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+        double entriesPerSecond = ledgerEntries.get() / Math.max(elapsed.toNanos() / 1_000_000_000.0, 0.001);
+
+        ReconciliationReportDto report = new ReconciliationReportDto(
+                startedAt,
+                LocalDateTime.now(),
+                accounts.get(),
+                ledgerEntries.get(),
+                entriesPerSecond,
+                mismatchCount.get(),
+                List.copyOf(mismatches)
+        );
+        latestReport.set(report);
+        log.info("Reconciled {} accounts and {} ledger entries in {} ({} entries/s), {} mismatches",
+                report.accountsChecked(), report.ledgerEntriesChecked(), elapsed, Math.round(entriesPerSecond), report.mismatchCount());
+        return report;
+    }
+
+    private void reconcileAccounts(UUID from, UUID to, OffsetDateTime archiveHorizon, AtomicLong accounts, AtomicLong ledgerEntries, Consumer<ReconciliationMismatchDto> sink) {
+        readOnlyTransaction.executeWithoutResult(status ->
+                reconciliationRepository.streamAccountTotals(from, to, archiveHorizon, view -> {
+                    accounts.incrementAndGet();
+                    ledgerEntries.addAndGet(view.entries());
+                    ledgerEntriesCounter.increment(view.entries());
+                    check(view, sink);
+                }));
+        completedRanges.incrementAndGet();
+    }
+
+    private void reconcileTransactions(UUID from, UUID to, Consumer<ReconciliationMismatchDto> sink) {
+        readOnlyTransaction.executeWithoutResult(status ->
+                reconciliationRepository.streamUnbalancedTransactions(from, to, net ->
+                        sink.accept(new ReconciliationMismatchDto(MismatchType.UNBALANCED_TRANSACTION, net.transactionId(), 0, net.net()))));
+        completedRanges.incrementAndGet();
+    }
+
+    private void check(AccountReconciliationView view, Consumer<ReconciliationMismatchDto> sink) {
+        if (view.balance() != view.ledgerBalance()) {
+            sink.accept(new ReconciliationMismatchDto(MismatchType.BALANCE, view.accountId(), view.ledgerBalance(), view.balance()));
+        }
+        if (view.checkpointBalance() != null && view.checkpointBalance() != view.ledgerBalanceAtCheckpoint()) {
+            sink.accept(new ReconciliationMismatchDto(MismatchType.CHECKPOINT, view.accountId(), view.ledgerBalanceAtCheckpoint(), view.checkpointBalance()));
+        }
+    }
+
+    // Ids are time-ordered UUIDv7, so equal slices of the UUID space would put nearly all rows in a few
+    // ranges. Bounds are taken from quantiles of a sample instead, falling back to equal slices when the
+    // sample is empty.
+    private List<UUID> sampledBounds(ReconciliationRepository.IdColumn column) {
+        List<UUID> quantiles = reconciliationRepository.sampleQuantiles(column, properties.ranges(), properties.samplePercent());
+        if (quantiles.isEmpty()) {
+            return rangeBounds(properties.ranges());
+        }
+        List<UUID> bounds = new ArrayList<>(quantiles.size() + 1);
+        bounds.add(new UUID(0L, 0L));
+        quantiles.stream()
+                .filter(bound -> !bound.equals(bounds.getFirst()))
+                .forEach(bounds::add);
+        return bounds;
+    }
+
+    // Lower bounds of `ranges` equal slices of the UUID space, in PostgreSQL's (unsigned) uuid order.
+    static List<UUID> rangeBounds(int ranges) {
+        long step = Long.divideUnsigned(-1L, ranges);
+        List<UUID> bounds = new ArrayList<>(ranges);
+        for (int i = 0; i < ranges; i++) {
+            bounds.add(new UUID(step * i, 0L));
+        }
+        return bounds;
+    }
+}
@@ -0,0 +1,80 @@
+package com.service.internalWallet.service;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import com.service.internalWallet.dto.projection.AssetReference;
+import com.service.internalWallet.enums.AccountType;
+import com.service.internalWallet.repository.AccountRepository;
+import com.service.internalWallet.repository.AssetRepository;
+import com.service.internalWallet.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.stereotype.Service;
+
+/**
+ * Cached resolution of the reference data every wallet operation needs before doing real work:
+ * asset codes, user emails and account ids. Only identifiers are cached, never balances. Misses are
+ * not cached, so newly created users and accounts are visible immediately; renames and deletions
+ * must go through the evict methods (or {@code DELETE /actuator/caches}).
+ */
+@Service
+@RequiredArgsConstructor
+public class ReferenceDataService {
+
+    public static final String ASSETS_BY_CODE = "assetsByCode";
+    public static final String USER_IDS_BY_EMAIL = "userIdsByEmail";
+    public static final String USER_ACCOUNT_IDS = "userAccountIds";
+    public static final String SYSTEM_ACCOUNT_IDS = "systemAccountIds";
+
+    private final AssetRepository assetRepository;
+    private final UserRepository userRepository;
+    private final AccountRepository accountRepository;
+
+    @Cacheable(cacheNames = ASSETS_BY_CODE, unless = "#result == null")
+    public Optional<AssetReference> findAsset(String assetCode) {
+        return assetRepository.findReferenceByCode(assetCode);
+    }
+
+    @Cacheable(cacheNames = USER_IDS_BY_EMAIL, unless = "#result == null")
+    public Optional<UUID> findUserId(String email) {
+        return userRepository.findIdByEmail(email);
+    }
+
+    @Cacheable(cacheNames = USER_ACCOUNT_IDS, unless = "#result == null")
+    public Optional<UUID> findUserAccountId(UUID userId, UUID assetId) {
+        return accountRepository.findIdByTypeAndUserIdAndAssetId(AccountType.USER, userId, assetId);
+    }
+
+    @Cacheable(cacheNames = SYSTEM_ACCOUNT_IDS, unless = "#result == null")
+    public Optional<UUID> findSystemAccountId(UUID assetId, int stripe) {
+        return accountRepository.findIdByTypeAndAssetIdAndStripe(AccountType.SYSTEM, assetId, stripe);
+    }
+
+    @CacheEvict(cacheNames = ASSETS_BY_CODE)
+    public void evictAsset(String assetCode) {
+    }
+
+    @CacheEvict(cacheNames = USER_IDS_BY_EMAIL)
+    public void evictUser(String email) {
+    }
+
+    @CacheEvict(cacheNames = USER_ACCOUNT_IDS)
+    public void evictUserAccount(UUID userId, UUID assetId) {
+    }
+
+    @CacheEvict(cacheNames = SYSTEM_ACCOUNT_IDS, allEntries = true)
+    public void evictSystemAccounts() {
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = ASSETS_BY_CODE, allEntries = true),
+            @CacheEvict(cacheNames = USER_IDS_BY_EMAIL, allEntries = true),
+            @CacheEvict(cacheNames = USER_ACCOUNT_IDS, allEntries = true),
+            @CacheEvict(cacheNames = SYSTEM_ACCOUNT_IDS, allEntries = true)
+    })
+    public void evictAll() {
+    }
+}
@@ -0,0 +1,36 @@
+package com.service.internalWallet.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.service.internalWallet.config.IdempotencyProperties;
+import com.service.internalWallet.dto.response.TransactionResponseDto;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded LRU of the responses of recently committed idempotency keys, so that client retries are
+ * answered without a database round trip. Only committed results are ever put here.
+ */
+@Component
+public class ReplayCache {
+
+    private final Map<String, TransactionResponseDto> entries;
+
+    public ReplayCache(IdempotencyProperties properties) {
+        int maxSize = properties.replayCacheSize();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TransactionResponseDto> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public synchronized TransactionResponseDto get(String idempotencyKey) {
+        return entries.get(idempotencyKey);
+    }
+
+    public synchronized void put(String idempotencyKey, TransactionResponseDto response) {
+        entries.put(idempotencyKey, response);
+    }
+}
@@ -0,0 +1,120 @@
+package com.service.internalWallet.service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.service.internalWallet.config.SystemAccountProperties;
+import com.service.internalWallet.dto.projection.SystemBalanceView;
+import com.service.internalWallet.dto.response.SystemBalanceResponseDto;
+import com.service.internalWallet.enums.AccountType;
+import com.service.internalWallet.exception.ResourceNotFoundException;
+import com.service.internalWallet.model.Account;
+import com.service.internalWallet.model.Asset;
+import com.service.internalWallet.repository.AccountRepository;
+import com.service.internalWallet.repository.AssetRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * The SYSTEM (treasury) account of every asset is split into {@code stripes} sub-accounts so that
+ * concurrent writes for one asset do not all queue on a single row. Each user account is pinned to
+ * one stripe; the logical treasury balance is the sum over all stripes of the asset.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SystemAccountService {
+
+    private final AccountRepository accountRepository;
+    private final AssetRepository assetRepository;
+    private final SystemAccountProperties properties;
+    private final ReferenceDataService referenceDataService;
+
+    private final Map<String, SystemBalanceResponseDto> consolidated = new ConcurrentHashMap<>();
+
+    public int stripeFor(UUID userAccountId) {
+        return Math.floorMod(userAccountId.hashCode(), properties.stripes());
+    }
+
+    public UUID resolveStripeId(UUID assetId, UUID userAccountId) {
+        return referenceDataService.findSystemAccountId(assetId, stripeFor(userAccountId))
+                .orElseThrow(() -> new ResourceNotFoundException("System Account not found"));
+    }
+
+    public Map<UUID, Map<Integer, Account>> loadStripes(Collection<UUID> assetIds) {
+        return accountRepository.findByTypeAndAssetIdIn(AccountType.SYSTEM, assetIds)
+                .stream()
+                .collect(Collectors.groupingBy(
+                        account -> account.getAsset().getId(),
+                        Collectors.toMap(Account::getStripe, Function.identity())
+                ));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void provisionStripes() {
+        for (Asset asset : assetRepository.findAll()) {
+            Set<Integer> existing = accountRepository.findByTypeAndAssetId(AccountType.SYSTEM, asset.getId())
+                    .stream()
+                    .map(Account::getStripe)
+                    .collect(Collectors.toSet());
+
+            for (int stripe = 0; stripe < properties.stripes(); stripe++) {
+                if (existing.contains(stripe)) {
+                    continue;
+                }
+                Account account = new Account();
+                account.setType(AccountType.SYSTEM);
+                account.setAsset(asset);
+                account.setStripe(stripe);
+                accountRepository.save(account);
+                log.info("Provisioned system account stripe {} for asset {}", stripe, asset.getCode());
+            }
+        }
+        referenceDataService.evictSystemAccounts();
+    }
+
+    @Scheduled(
+            initialDelayString = "${wallet.system-account.consolidation-interval:PT30S}",
+            fixedDelayString = "${wallet.system-account.consolidation-interval:PT30S}"
+    )
+    public void consolidate() {
+        LocalDateTime consolidatedAt = LocalDateTime.now();
+        List<SystemBalanceView> balances = accountRepository.sumSystemBalancesByAsset();
+
+        balances.forEach(view -> consolidated.put(view.assetCode(), toResponse(view, consolidatedAt)));
+        log.debug("Consolidated system balances for {} assets", balances.size());
+    }
+
+    public SystemBalanceResponseDto getSystemBalance(String assetCode, boolean live) {
+        SystemBalanceResponseDto snapshot = consolidated.get(assetCode);
+        if (snapshot != null && !live) {
+            return snapshot;
+        }
+
+        return accountRepository.sumSystemBalanceByAssetCode(assetCode)
+                .map(view -> toResponse(view, LocalDateTime.now()))
+                .orElseThrow(() -> new ResourceNotFoundException("System Account not found"));
+    }
+
+    private SystemBalanceResponseDto toResponse(SystemBalanceView view, LocalDateTime consolidatedAt) {
+        return new SystemBalanceResponseDto(
+                view.assetCode(),
+                view.balance(),
+                view.stripes(),
+                consolidatedAt
+        );
+    }
+}
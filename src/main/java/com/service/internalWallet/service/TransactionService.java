@@ -1,250 +1,308 @@
 package com.service.internalWallet.service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
+import com.service.internalWallet.dto.projection.AccountBalanceView;
+import com.service.internalWallet.dto.projection.AssetReference;
+import com.service.internalWallet.dto.projection.TransactionHistoryView;
 import com.service.internalWallet.dto.request.TransactionRequestDto;
 import com.service.internalWallet.dto.response.BalanceResponseDto;
 import com.service.internalWallet.dto.response.ListTransactionResponseDto;
+import com.service.internalWallet.dto.response.TransactionPageResponseDto;
 import com.service.internalWallet.dto.response.TransactionResponseDto;
-import com.service.internalWallet.enums.AccountType;
 import com.service.internalWallet.enums.LedgerEntryType;
 import com.service.internalWallet.enums.Status;
 import com.service.internalWallet.enums.TransactionType;
 import com.service.internalWallet.exception.InsufficientFundsException;
+import com.service.internalWallet.exception.InvalidRequestException;
 import com.service.internalWallet.exception.ResourceNotFoundException;
+import com.service.internalWallet.metrics.WalletMetrics;
 import com.service.internalWallet.model.Account;
-import com.service.internalWallet.model.Asset;
 import com.service.internalWallet.model.LedgerEntry;
 import com.service.internalWallet.model.Transaction;
-import com.service.internalWallet.model.User;
+import com.service.internalWallet.model.UuidOrder;
+import com.service.internalWallet.ownership.AccountOwnershipService;
 import com.service.internalWallet.repository.AccountRepository;
-import com.service.internalWallet.repository.AssetRepository;
 import com.service.internalWallet.repository.LedgerEntryRepository;
+import com.service.internalWallet.repository.TransactionHistoryRepository;
 import com.service.internalWallet.repository.TransactionRepository;
-import com.service.internalWallet.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @RequiredArgsConstructor
 public class TransactionService {
 
+    private static final int MAX_HISTORY_PAGE_SIZE = 200;
+
     private final TransactionRepository transactionRepository;
     private final LedgerEntryRepository ledgerEntryRepository;
-    private final UserRepository userRepository;
-    private final AssetRepository assetRepository;
     private final AccountRepository accountRepository;
+    private final SystemAccountService systemAccountService;
+    private final ReferenceDataService referenceDataService;
+    private final TransactionHistoryRepository transactionHistoryRepository;
+    private final BalanceCheckpointService balanceCheckpointService;
+    private final TransactionTemplate transactionTemplate;
+    private final ReplayCache replayCache;
+    private final WalletMetrics walletMetrics;
+    private final AccountLaneService accountLaneService;
+    private final ObjectProvider<AccountOwnershipService> accountOwnershipService;
 
-    @Transactional
     public TransactionResponseDto processTransaction(TransactionRequestDto transactionRequestDto) {
-        Optional<Transaction> transactionExists = transactionRepository.findByIdempotencyKey(transactionRequestDto.idempotencyKey());
-
-        return transactionExists.map(transaction -> {
-            List<LedgerEntry> ledgerEntries = ledgerEntryRepository.findByTransactionId(transaction.getId());
-
-            long userAmount = ledgerEntries.stream()
-                    .filter(e -> AccountType.USER == e.getAccount().getType())
-                    .mapToLong(LedgerEntry::getAmount)
-                    .sum();
-
-            return new TransactionResponseDto(
-                    transaction.getId(),
-                    transaction.getType(),
-                    Math.abs(userAmount),
-                    Math.abs(userAmount),
-                    transaction.getStatus(),
-                    transaction.getCreatedAt()
-            );
-        }).orElseGet(() -> {
-            User user = userRepository.findByEmail(transactionRequestDto.email())
-                                      .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        TransactionResponseDto replayed = replayCache.get(transactionRequestDto.idempotencyKey());
+        if (replayed != null) {
+            walletMetrics.recordReplay("cache");
+            return replayed;
+        }
+
+        accountOwnershipService.ifAvailable(ownership ->
+                ownership.checkOwned(resolveAccountIds(transactionRequestDto).userAccountId(), transactionRequestDto));
 
-            Asset asset = assetRepository.findByCode(transactionRequestDto.assetCode())
-                                         .orElseThrow(() -> new ResourceNotFoundException("Asset not found"));
+        TransactionResponseDto response = accountLaneService.isEnabled()
+                ? submitToLane(transactionRequestDto)
+                : transactionTemplate.execute(status -> executeTransaction(transactionRequestDto));
+        replayCache.put(transactionRequestDto.idempotencyKey(), response);
+        return response;
+    }
 
-            Account userAccount = accountRepository.findByUserIdAndAssetId(user.getId(), asset.getId())
-                                                   .orElseThrow(() -> new ResourceNotFoundException("Account not found"));
+    private TransactionResponseDto executeTransaction(TransactionRequestDto transactionRequestDto) {
+        TransactionType type = transactionRequestDto.type();
+        String assetCode = transactionRequestDto.assetCode();
+        walletMetrics.timeCommit(type, assetCode);
 
-            Account systemAccount = accountRepository.findByTypeAndAssetId(AccountType.SYSTEM, asset.getId())
-                                                     .orElseThrow(() -> new ResourceNotFoundException("System Account not found"));
+        Optional<TransactionResponseDto> snapshot = walletMetrics.timeStage(WalletMetrics.IDEMPOTENCY_LOOKUP, type, assetCode,
+                () -> transactionRepository.findSnapshotByIdempotencyKey(transactionRequestDto.idempotencyKey()));
 
-            if (transactionRequestDto.type() == TransactionType.TOPUP) {
-                return topUpTransaction(transactionRequestDto, userAccount, systemAccount);
-            } else if (transactionRequestDto.type() == TransactionType.BONUS) {
-                return bonusTransaction(transactionRequestDto, userAccount, systemAccount);
-            }
-            return spendTransaction(transactionRequestDto, userAccount, systemAccount);
+        if (snapshot.isPresent()) {
+            walletMetrics.recordReplay("snapshot");
+            return snapshot.get();
+        }
+
+        ResolvedAccounts accounts = walletMetrics.timeStage(WalletMetrics.REFERENCE_RESOLUTION, type, assetCode, () -> {
+            ResolvedAccountIds ids = resolveAccountIds(transactionRequestDto);
+            return new ResolvedAccounts(
+                    accountRepository.getReferenceById(ids.userAccountId()),
+                    accountRepository.getReferenceById(ids.systemAccountId())
+            );
         });
+
+        if (type == TransactionType.TOPUP) {
+            return topUpTransaction(transactionRequestDto, accounts.userAccount(), accounts.systemAccount());
+        } else if (type == TransactionType.BONUS) {
+            return bonusTransaction(transactionRequestDto, accounts.userAccount(), accounts.systemAccount());
+        }
+        return spendTransaction(transactionRequestDto, accounts.userAccount(), accounts.systemAccount());
     }
 
-    @Transactional
-    public TransactionResponseDto topUpTransaction(TransactionRequestDto transactionRequestDto, Account userAccount, Account systemAccount) {
-        Transaction transaction = new Transaction();
-        transaction.setType(TransactionType.TOPUP);
-        transaction.setIdempotencyKey(transactionRequestDto.idempotencyKey());
-        transaction.setStatus(Status.SUCCESS);
+    private TransactionResponseDto submitToLane(TransactionRequestDto transactionRequestDto) {
+        ResolvedAccountIds ids = walletMetrics.timeStage(WalletMetrics.REFERENCE_RESOLUTION, transactionRequestDto.type(), transactionRequestDto.assetCode(),
+                () -> resolveAccountIds(transactionRequestDto));
+        return accountLaneService.submit(transactionRequestDto, ids.userAccountId(), ids.systemAccountId());
+    }
 
-        transactionRepository.save(transaction);
+    private ResolvedAccountIds resolveAccountIds(TransactionRequestDto transactionRequestDto) {
+        UUID userId = referenceDataService.findUserId(transactionRequestDto.email())
+                                          .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        LedgerEntry creditUser = new LedgerEntry();
-        creditUser.setAccount(userAccount);
-        creditUser.setType(LedgerEntryType.CREDIT);
-        creditUser.setAmount(transactionRequestDto.amount());
-        creditUser.setTransaction(transaction);
+        AssetReference asset = referenceDataService.findAsset(transactionRequestDto.assetCode())
+                                                   .orElseThrow(() -> new ResourceNotFoundException("Asset not found"));
 
-        LedgerEntry debitSystem = new LedgerEntry();
-        debitSystem.setAccount(systemAccount);
-        debitSystem.setType(LedgerEntryType.DEBIT);
-        debitSystem.setAmount(transactionRequestDto.amount());
-        debitSystem.setTransaction(transaction);
+        UUID userAccountId = referenceDataService.findUserAccountId(userId, asset.id())
+                                                 .orElseThrow(() -> new ResourceNotFoundException("Account not found"));
 
-        ledgerEntryRepository.saveAll(List.of(creditUser, debitSystem));
+        return new ResolvedAccountIds(userAccountId, systemAccountService.resolveStripeId(asset.id(), userAccountId));
+    }
 
-        userAccount.setBalance(userAccount.getBalance() + transactionRequestDto.amount());
-        systemAccount.setBalance(systemAccount.getBalance() - transactionRequestDto.amount());
+    @Transactional
+    public TransactionResponseDto topUpTransaction(TransactionRequestDto transactionRequestDto, Account userAccount, Account systemAccount) {
+        long balanceAfter = applyBalances(transactionRequestDto, userAccount, transactionRequestDto.amount(), systemAccount);
 
-        accountRepository.saveAll(List.of(userAccount, systemAccount));
+        Transaction transaction = recordTransaction(TransactionType.TOPUP, transactionRequestDto, balanceAfter, systemAccount, userAccount);
 
-        return new TransactionResponseDto(
-                transaction.getId(),
-                transaction.getType(),
-                transactionRequestDto.amount(),
-                userAccount.getBalance(),
-                transaction.getStatus(),
-                transaction.getCreatedAt()
-        );
+        return toResponse(transaction);
     }
 
     @Transactional
     public TransactionResponseDto bonusTransaction(TransactionRequestDto transactionRequestDto, Account userAccount, Account systemAccount) {
-        Transaction transaction = new Transaction();
-        transaction.setType(TransactionType.BONUS);
-        transaction.setIdempotencyKey(transactionRequestDto.idempotencyKey());
-        transaction.setStatus(Status.SUCCESS);
-
-        transactionRepository.save(transaction);
+        long balanceAfter = applyBalances(transactionRequestDto, userAccount, transactionRequestDto.amount(), systemAccount);
 
-        LedgerEntry creditUser = new LedgerEntry();
-        creditUser.setAccount(userAccount);
-        creditUser.setType(LedgerEntryType.CREDIT);
-        creditUser.setAmount(transactionRequestDto.amount());
-        creditUser.setTransaction(transaction);
+        Transaction transaction = recordTransaction(TransactionType.BONUS, transactionRequestDto, balanceAfter, systemAccount, userAccount);
 
-        LedgerEntry debitSystem = new LedgerEntry();
-        debitSystem.setAccount(systemAccount);
-        debitSystem.setType(LedgerEntryType.DEBIT);
-        debitSystem.setAmount(transactionRequestDto.amount());
-        debitSystem.setTransaction(transaction);
-
-        ledgerEntryRepository.saveAll(List.of(creditUser, debitSystem));
+        return toResponse(transaction);
+    }
 
-        userAccount.setBalance(userAccount.getBalance() + transactionRequestDto.amount());
-        systemAccount.setBalance(systemAccount.getBalance() - transactionRequestDto.amount());
+    @Transactional
+    public TransactionResponseDto spendTransaction(TransactionRequestDto transactionRequestDto, Account userAccount, Account systemAccount) {
+        long balanceAfter = applyBalances(transactionRequestDto, userAccount, -transactionRequestDto.amount(), systemAccount);
 
-        accountRepository.saveAll(List.of(userAccount, systemAccount));
+        Transaction transaction = recordTransaction(TransactionType.SPEND, transactionRequestDto, balanceAfter, userAccount, systemAccount);
 
-        return new TransactionResponseDto(
-                transaction.getId(),
-                transaction.getType(),
-                transactionRequestDto.amount(),
-                userAccount.getBalance(),
-                transaction.getStatus(),
-                transaction.getCreatedAt()
-        );
+        return toResponse(transaction);
     }
 
-    @Transactional
-    public TransactionResponseDto spendTransaction(TransactionRequestDto transactionRequestDto, Account userAccount, Account systemAccount) {
-        Account first;
-        Account second;
-
-        if (userAccount.getId().compareTo(systemAccount.getId()) < 0) {
-            first = accountRepository.findByAccountId(userAccount.getId())
-                                     .orElseThrow(() -> new ResourceNotFoundException("Account not found"));
-            second = accountRepository.findByAccountId(systemAccount.getId())
-                                      .orElseThrow(() -> new ResourceNotFoundException("Account not found"));
-        } else {
-            first = accountRepository.findByAccountId(systemAccount.getId())
-                                     .orElseThrow(() -> new ResourceNotFoundException("Account not found"));
-            second = accountRepository.findByAccountId(userAccount.getId())
-                                      .orElseThrow(() -> new ResourceNotFoundException("Account not found"));
+    // Both rows are updated in ascending id order, as PostgreSQL sorts them, so that concurrent transfers
+    // over the same pair of accounts cannot deadlock with each other or with ORDER BY id lockers. A debit
+    // of the user account only succeeds while the available balance (balance minus held) covers it.
+    // Each update is timed separately: its duration is dominated by the wait for the row lock, which
+    // tells contention on the SYSTEM stripe apart from contention on the user's own account.
+    private long applyBalances(TransactionRequestDto transactionRequestDto, Account userAccount, long userDelta, Account systemAccount) {
+        TransactionType type = transactionRequestDto.type();
+        String assetCode = transactionRequestDto.assetCode();
+        boolean userFirst = UuidOrder.ASCENDING.compare(userAccount.getId(), systemAccount.getId()) < 0;
+
+        if (!userFirst) {
+            walletMetrics.timeStage(WalletMetrics.SYSTEM_BALANCE_UPDATE, type, assetCode,
+                    () -> accountRepository.applyDelta(systemAccount.getId(), -userDelta));
         }
 
-        Account lockedUser = userAccount.getId().equals(first.getId()) ? first : second;
-
-        if (lockedUser.getBalance() < transactionRequestDto.amount()) {
-            throw new InsufficientFundsException("Insufficient balance");
+        long userBalance = walletMetrics.timeStage(WalletMetrics.USER_BALANCE_UPDATE, type, assetCode, () -> userDelta >= 0
+                ? accountRepository.applyDelta(userAccount.getId(), userDelta)
+                : accountRepository.debitIfSufficient(userAccount.getId(), -userDelta)
+                                   .orElseThrow(() -> {
+                                       walletMetrics.recordInsufficientFunds(type, assetCode);
+                                       return new InsufficientFundsException("Insufficient balance");
+                                   }));
+
+        if (userFirst) {
+            walletMetrics.timeStage(WalletMetrics.SYSTEM_BALANCE_UPDATE, type, assetCode,
+                    () -> accountRepository.applyDelta(systemAccount.getId(), -userDelta));
         }
+        return userBalance;
+    }
 
+    private Transaction recordTransaction(TransactionType type, TransactionRequestDto transactionRequestDto, long balanceAfter, Account debitAccount, Account creditAccount) {
         Transaction transaction = new Transaction();
-        transaction.setType(TransactionType.SPEND);
-        transaction.setStatus(Status.SUCCESS);
+        transaction.setType(type);
         transaction.setIdempotencyKey(transactionRequestDto.idempotencyKey());
+        transaction.setStatus(Status.SUCCESS);
+        transaction.setAmount(transactionRequestDto.amount());
+        transaction.setBalanceAfter(balanceAfter);
 
         transactionRepository.save(transaction);
 
-        LedgerEntry debitUser = new LedgerEntry();
-        debitUser.setAccount(lockedUser);
-        debitUser.setTransaction(transaction);
-        debitUser.setAmount(transactionRequestDto.amount());
-        debitUser.setType(LedgerEntryType.DEBIT);
-
-        LedgerEntry creditSystem = new LedgerEntry();
-        creditSystem.setType(LedgerEntryType.CREDIT);
-        creditSystem.setTransaction(transaction);
-        creditSystem.setAmount(transactionRequestDto.amount());
-        creditSystem.setAccount(systemAccount);
-
-        ledgerEntryRepository.saveAll(List.of(debitUser, creditSystem));
-
-        lockedUser.setBalance(lockedUser.getBalance() - transactionRequestDto.amount());
-        systemAccount.setBalance(systemAccount.getBalance() + transactionRequestDto.amount());
-
-        accountRepository.saveAll(List.of(lockedUser, systemAccount));
+        LedgerEntry debit = new LedgerEntry();
+        debit.setAccount(debitAccount);
+        debit.setType(LedgerEntryType.DEBIT);
+        debit.setAmount(transactionRequestDto.amount());
+        debit.setTransaction(transaction);
+        debit.setCreatedAt(transaction.getCreatedAt());
+
+        LedgerEntry credit = new LedgerEntry();
+        credit.setAccount(creditAccount);
+        credit.setType(LedgerEntryType.CREDIT);
+        credit.setAmount(transactionRequestDto.amount());
+        credit.setTransaction(transaction);
+        credit.setCreatedAt(transaction.getCreatedAt());
+
+        // Flushing here writes the inserts inside the timed stage instead of at commit.
+        walletMetrics.timeStage(WalletMetrics.LEDGER_INSERT, type, transactionRequestDto.assetCode(),
+                () -> ledgerEntryRepository.saveAllAndFlush(List.of(debit, credit)));
+
+        return transaction;
+    }
 
+    private TransactionResponseDto toResponse(Transaction transaction) {
         return new TransactionResponseDto(
                 transaction.getId(),
                 transaction.getType(),
-                transactionRequestDto.amount(),
-                lockedUser.getBalance(),
+                transaction.getAmount(),
+                transaction.getBalanceAfter(),
                 transaction.getStatus(),
                 transaction.getCreatedAt()
         );
     }
 
-    public BalanceResponseDto getBalance(String email, String assetCode) {
-        User user = userRepository.findByEmail(email)
+    @Transactional(readOnly = true)
+    public BalanceResponseDto getBalance(String email, String assetCode, OffsetDateTime asOf) {
+        UUID userId = referenceDataService.findUserId(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        Asset asset = assetRepository.findByCode(assetCode)
+        AssetReference asset = referenceDataService.findAsset(assetCode)
                 .orElseThrow(() -> new ResourceNotFoundException("Asset not found"));
 
-        Account account = accountRepository.findByUserIdAndAssetId(user.getId(), asset.getId())
+        UUID accountId = referenceDataService.findUserAccountId(userId, asset.id())
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found"));
+
+        if (asOf != null) {
+            return new BalanceResponseDto(
+                    userId,
+                    asset.name(),
+                    balanceCheckpointService.balanceAsOf(accountId, asOf),
+                    null,
+                    null
+            );
+        }
+
+        AccountBalanceView balance = accountRepository.findBalanceViewById(accountId)
                 .orElseThrow(() -> new ResourceNotFoundException("Account not found"));
 
         return new BalanceResponseDto(
-                user.getId(),
-                asset.getName(),
-                account.getBalance()
+                userId,
+                asset.name(),
+                balance.balance(),
+                balance.heldBalance(),
+                balance.balance() - balance.heldBalance()
         );
     }
 
-    public List<ListTransactionResponseDto> getTransactionHistory(String email) {
-        List<Transaction> transactions = transactionRepository.findByUserEmail(email);
+    @Transactional(readOnly = true)
+    public TransactionPageResponseDto getTransactionHistory(String email, String assetCode, TransactionType type, String cursor, int limit) {
+        int pageSize = Math.clamp(limit, 1, MAX_HISTORY_PAGE_SIZE);
+        OffsetDateTime cursorCreatedAt = null;
+        UUID cursorId = null;
+
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 2);
+                cursorCreatedAt = OffsetDateTime.parse(parts[0]);
+                cursorId = UUID.fromString(parts[1]);
+            } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+                throw new InvalidRequestException("Invalid cursor");
+            }
+        }
+
+        List<TransactionHistoryView> rows = transactionHistoryRepository.findPage(email, assetCode, type, cursorCreatedAt, cursorId, pageSize + 1);
+        List<TransactionHistoryView> page = rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            TransactionHistoryView last = page.getLast();
+            nextCursor = Base64.getUrlEncoder()
+                    .withoutPadding()
+                    .encodeToString((last.ledgerEntryCreatedAt() + "|" + last.ledgerEntryId()).getBytes(StandardCharsets.UTF_8));
+        }
 
-        return transactions.stream()
-                .map(this::mappedToResponse)
-                .toList();
+        return new TransactionPageResponseDto(
+                page.stream()
+                    .map(this::mappedToResponse)
+                    .toList(),
+                nextCursor
+        );
     }
 
-    private ListTransactionResponseDto mappedToResponse(Transaction transaction) {
+    private ListTransactionResponseDto mappedToResponse(TransactionHistoryView view) {
         return new ListTransactionResponseDto(
-                transaction.getId(),
-                transaction.getType(),
-                transaction.getStatus(),
-                transaction.getCreatedAt()
+                view.transactionId(),
+                view.transactionType(),
+                view.assetCode(),
+                view.amount(),
+                view.status(),
+                view.createdAt()
         );
     }
+
+    private record ResolvedAccounts(Account userAccount, Account systemAccount) {
+    }
+
+    private record ResolvedAccountIds(UUID userAccountId, UUID systemAccountId) {
+    }
 }
@@ -0,0 +1,23 @@
+-- Funds reserved by an authorized hold stay in balance (and in the ledger) until the hold is
+-- captured, but count in held_balance, so the spendable amount is balance - held_balance.
+ALTER TABLE accounts ADD COLUMN held_balance BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE accounts ADD CONSTRAINT chk_accounts_held_balance CHECK (held_balance >= 0);
+
+CREATE TABLE holds (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v7(),
+    idempotency_key VARCHAR(50) NOT NULL,
+    account_id UUID NOT NULL,
+    system_account_id UUID NOT NULL,
+    amount BIGINT NOT NULL CHECK (amount > 0),
+    status VARCHAR(10) NOT NULL CHECK (status IN ('AUTHORIZED', 'CAPTURED', 'VOIDED', 'EXPIRED')),
+    expires_at TIMESTAMPTZ NOT NULL,
+    transaction_id UUID,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uq_holds_idempotency_key UNIQUE (idempotency_key),
+    CONSTRAINT fk_holds_account FOREIGN KEY (account_id) REFERENCES accounts(id),
+    CONSTRAINT fk_holds_system_account FOREIGN KEY (system_account_id) REFERENCES accounts(id)
+);
+
+-- The sweeper only ever looks at authorized holds in expiry order.
+CREATE INDEX idx_holds_authorized_expires_at ON holds (expires_at) WHERE status = 'AUTHORIZED';
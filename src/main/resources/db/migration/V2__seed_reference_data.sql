@@ -1,55 +1,3 @@
-DROP TABLE IF EXISTS ledger_entries;
-DROP TABLE IF EXISTS transactions;
-DROP TABLE IF EXISTS accounts;
-DROP TABLE IF EXISTS users;
-DROP TABLE IF EXISTS assets;
-
-CREATE TABLE assets (
-    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
-    name VARCHAR(50) NOT NULL,
-    code VARCHAR(50) NOT NULL,
-    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP
-);
-
-CREATE TABLE users (
-    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
-    name VARCHAR(50) NOT NULL,
-    email VARCHAR(50) NOT NULL,
-    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP
-);
-
-CREATE TABLE accounts (
-    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
-    user_id UUID,
-    asset_id UUID NOT NULL,
-    type VARCHAR(10) CHECK (type IN ('USER', 'SYSTEM')),
-    balance BIGINT DEFAULT 0,
-    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
-    CONSTRAINT fk_user FOREIGN KEY (user_id) REFERENCES users(id),
-    CONSTRAINT fk_asset FOREIGN KEY (asset_id) REFERENCES assets(id)
-);
-
-CREATE TABLE transactions (
-    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
-    type VARCHAR(50),
-    idempotency_key VARCHAR(50),
-    status VARCHAR(10) DEFAULT 'SUCCESS' CHECK(status IN ('SUCCESS', 'FAILED')),
-    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP
-);
-
-CREATE TABLE ledger_entries (
-    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
-    account_id UUID,
-    type VARCHAR(10) CHECK (type IN ('CREDIT', 'DEBIT')),
-    amount BIGINT,
-    transaction_id UUID,
-    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
-    CONSTRAINT fk_account FOREIGN KEY (account_id) REFERENCES accounts(id),
-    CONSTRAINT fk_transaction FOREIGN KEY (transaction_id) REFERENCES transactions(id)
-);
-
-BEGIN;
-
 INSERT INTO assets (id, name, code) VALUES
 ('11111111-1111-1111-1111-111111111111', 'Gold Coins', 'GOLD_COINS'),
 ('22222222-2222-2222-2222-222222222222', 'Diamonds', 'DIAMONDS'),
@@ -99,5 +47,3 @@ WHERE id = 'aaaa1111-0000-0000-0000-000000000001';
 UPDATE accounts
 SET balance = balance + 300
 WHERE id = 'bbbb2222-0000-0000-0000-000000000003';
-
-COMMIT;
\ No newline at end of file
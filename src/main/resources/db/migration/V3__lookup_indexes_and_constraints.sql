@@ -0,0 +1,16 @@
+ALTER TABLE users ADD CONSTRAINT uq_users_email UNIQUE (email);
+
+ALTER TABLE assets ADD CONSTRAINT uq_assets_code UNIQUE (code);
+
+ALTER TABLE transactions ADD CONSTRAINT uq_transactions_idempotency_key UNIQUE (idempotency_key);
+
+-- One wallet per user and asset, one SYSTEM account per asset and stripe.
+CREATE UNIQUE INDEX uq_accounts_user_asset ON accounts (user_id, asset_id) WHERE type = 'USER';
+
+CREATE UNIQUE INDEX uq_accounts_system_asset_stripe ON accounts (asset_id, stripe) WHERE type = 'SYSTEM';
+
+CREATE INDEX idx_ledger_entries_transaction_id ON ledger_entries (transaction_id);
+
+-- Serves per-account history in time order and, through the included columns, balance sums
+-- over an account without visiting the heap.
+CREATE INDEX idx_ledger_entries_account_created_at ON ledger_entries (account_id, created_at) INCLUDE (type, amount);
@@ -0,0 +1,18 @@
+ALTER TABLE transactions
+    ADD COLUMN amount BIGINT,
+    ADD COLUMN balance_after BIGINT;
+
+-- Backfill the snapshot of existing transactions from the user side of their ledger entries.
+UPDATE transactions t
+SET amount = s.amount,
+    balance_after = s.balance_after
+FROM (
+    SELECT le.transaction_id,
+           le.amount,
+           SUM(CASE WHEN le.type = 'CREDIT' THEN le.amount ELSE -le.amount END)
+               OVER (PARTITION BY le.account_id ORDER BY le.created_at, le.id) AS balance_after
+    FROM ledger_entries le
+    JOIN accounts ac ON ac.id = le.account_id
+    WHERE ac.type = 'USER'
+) s
+WHERE s.transaction_id = t.id;
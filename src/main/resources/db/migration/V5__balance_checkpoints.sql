@@ -0,0 +1,10 @@
+-- A checkpoint is the balance of an account over every ledger entry with created_at <= checkpoint_at.
+CREATE TABLE balance_checkpoints (
+    account_id UUID NOT NULL,
+    checkpoint_at TIMESTAMPTZ NOT NULL,
+    balance BIGINT NOT NULL,
+    entry_count BIGINT NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT pk_balance_checkpoints PRIMARY KEY (account_id, checkpoint_at),
+    CONSTRAINT fk_checkpoint_account FOREIGN KEY (account_id) REFERENCES accounts(id)
+);
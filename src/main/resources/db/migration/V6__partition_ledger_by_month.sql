@@ -0,0 +1,127 @@
+-- transactions and ledger_entries become range-partitioned by created_at, one partition per UTC month.
+-- The primary key of a partitioned table has to contain the partition key, so:
+--   * idempotency keys move to idempotency_keys, filled by a trigger, to stay unique across partitions;
+--   * ledger_entries can no longer reference transactions(id) with a foreign key.
+-- A transaction and its ledger entries share created_at, so they always land in the same month and a
+-- lookup by (transaction id, created_at) touches a single partition.
+
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(50) NOT NULL,
+    transaction_id UUID NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL,
+    CONSTRAINT pk_idempotency_keys PRIMARY KEY (idempotency_key)
+);
+
+CREATE TABLE archived_partitions (
+    partition_name TEXT NOT NULL,
+    parent_table TEXT NOT NULL,
+    range_start TIMESTAMPTZ NOT NULL,
+    range_end TIMESTAMPTZ NOT NULL,
+    archived_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT pk_archived_partitions PRIMARY KEY (partition_name)
+);
+
+CREATE SCHEMA IF NOT EXISTS ledger_archive;
+
+ALTER TABLE ledger_entries RENAME TO ledger_entries_unpartitioned;
+ALTER TABLE transactions RENAME TO transactions_unpartitioned;
+
+CREATE TABLE transactions (
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+    type VARCHAR(50),
+    idempotency_key VARCHAR(50),
+    status VARCHAR(10) DEFAULT 'SUCCESS' CHECK(status IN ('SUCCESS', 'FAILED')),
+    amount BIGINT,
+    balance_after BIGINT,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT pk_transactions PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE ledger_entries (
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+    account_id UUID,
+    type VARCHAR(10) CHECK (type IN ('CREDIT', 'DEBIT')),
+    amount BIGINT,
+    transaction_id UUID,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT pk_ledger_entries PRIMARY KEY (id, created_at),
+    CONSTRAINT fk_ledger_entries_account FOREIGN KEY (account_id) REFERENCES accounts(id)
+) PARTITION BY RANGE (created_at);
+
+-- Creates the monthly partitions of both tables from first_month to last_month, skipping existing ones.
+CREATE FUNCTION wallet_ensure_partitions(first_month DATE, last_month DATE) RETURNS INT
+LANGUAGE plpgsql AS $$
+DECLARE
+    m DATE := date_trunc('month', first_month)::date;
+    parent TEXT;
+    partition TEXT;
+    created INT := 0;
+BEGIN
+    WHILE m <= last_month LOOP
+        FOREACH parent IN ARRAY ARRAY['transactions', 'ledger_entries'] LOOP
+            partition := parent || '_' || to_char(m, 'YYYY_MM');
+            IF to_regclass('public.' || partition) IS NULL
+               AND NOT EXISTS (SELECT 1 FROM archived_partitions WHERE partition_name = partition) THEN
+                EXECUTE format('CREATE TABLE public.%I PARTITION OF public.%I FOR VALUES FROM (%L) TO (%L)',
+                               partition, parent,
+                               m::timestamp AT TIME ZONE 'UTC',
+                               (m + interval '1 month')::timestamp AT TIME ZONE 'UTC');
+                created := created + 1;
+            END IF;
+        END LOOP;
+        m := (m + interval '1 month')::date;
+    END LOOP;
+    RETURN created;
+END;
+$$;
+
+SELECT wallet_ensure_partitions(
+    COALESCE(
+        (SELECT (min(created_at) AT TIME ZONE 'UTC')::date FROM transactions_unpartitioned),
+        (now() AT TIME ZONE 'UTC')::date
+    ),
+    ((now() AT TIME ZONE 'UTC') + interval '3 months')::date
+);
+
+INSERT INTO transactions (id, type, idempotency_key, status, amount, balance_after, created_at)
+SELECT id, type, idempotency_key, status, amount, balance_after, created_at
+FROM transactions_unpartitioned;
+
+-- Entries take the created_at of their transaction so both rows fall into the same partition.
+INSERT INTO ledger_entries (id, account_id, type, amount, transaction_id, created_at)
+SELECT le.id, le.account_id, le.type, le.amount, le.transaction_id, COALESCE(t.created_at, le.created_at)
+FROM ledger_entries_unpartitioned le
+LEFT JOIN transactions_unpartitioned t ON t.id = le.transaction_id;
+
+INSERT INTO idempotency_keys (idempotency_key, transaction_id, created_at)
+SELECT idempotency_key, id, created_at
+FROM transactions
+WHERE idempotency_key IS NOT NULL;
+
+DROP TABLE ledger_entries_unpartitioned;
+DROP TABLE transactions_unpartitioned;
+
+CREATE INDEX idx_ledger_entries_transaction_id ON ledger_entries (transaction_id);
+
+CREATE INDEX idx_ledger_entries_account_created_at ON ledger_entries (account_id, created_at) INCLUDE (type, amount);
+
+CREATE FUNCTION wallet_register_idempotency_key() RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF NEW.idempotency_key IS NOT NULL THEN
+        INSERT INTO idempotency_keys (idempotency_key, transaction_id, created_at)
+        VALUES (NEW.idempotency_key, NEW.id, NEW.created_at);
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER trg_transactions_idempotency_key
+    AFTER INSERT ON transactions
+    FOR EACH ROW EXECUTE FUNCTION wallet_register_idempotency_key();
+
+-- Checkpoints now cover the entries with created_at < checkpoint_at, so that a checkpoint taken at a
+-- partition bound covers exactly the partitions below it. Entry timestamps were realigned above, so
+-- the existing checkpoints are dropped and rebuilt by the next checkpoint run.
+TRUNCATE balance_checkpoints;
+COMMENT ON TABLE balance_checkpoints IS 'Balance of an account over every ledger entry with created_at < checkpoint_at';
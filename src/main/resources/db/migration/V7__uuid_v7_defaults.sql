@@ -0,0 +1,20 @@
+-- UUIDv7 (RFC 9562): the first 48 bits are the Unix time in milliseconds, so ids generated by the
+-- database sort by creation time like the ones the application generates.
+CREATE FUNCTION uuid_generate_v7() RETURNS UUID
+LANGUAGE sql VOLATILE AS $$
+    SELECT encode(
+        set_bit(
+            set_bit(
+                overlay(uuid_send(gen_random_uuid())
+                        PLACING substring(int8send((extract(epoch FROM clock_timestamp()) * 1000)::BIGINT) FROM 3)
+                        FROM 1 FOR 6),
+                52, 1),
+            53, 1),
+        'hex')::UUID;
+$$;
+
+ALTER TABLE assets ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE users ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE accounts ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE transactions ALTER COLUMN id SET DEFAULT uuid_generate_v7();
+ALTER TABLE ledger_entries ALTER COLUMN id SET DEFAULT uuid_generate_v7();
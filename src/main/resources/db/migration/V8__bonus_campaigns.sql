@@ -0,0 +1,28 @@
+-- A bonus campaign grants one BONUS per row of an uploaded file. Rows are staged with COPY and
+-- processed in chunks of consecutive line numbers; processed_through is advanced in the same
+-- transaction as each chunk, so a campaign interrupted by a crash resumes right after the last chunk.
+CREATE TABLE bonus_campaigns (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v7(),
+    name VARCHAR(100),
+    status VARCHAR(10) NOT NULL CHECK (status IN ('STAGED', 'RUNNING', 'COMPLETED', 'FAILED')),
+    dry_run BOOLEAN NOT NULL DEFAULT FALSE,
+    total_rows BIGINT NOT NULL DEFAULT 0,
+    processed_through BIGINT NOT NULL DEFAULT 0,
+    error TEXT,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE bonus_campaign_rows (
+    campaign_id UUID NOT NULL,
+    line_no BIGINT NOT NULL,
+    email TEXT,
+    asset_code TEXT,
+    amount BIGINT,
+    idempotency_key TEXT,
+    status VARCHAR(10) NOT NULL CHECK (status IN ('PENDING', 'VALID', 'PROCESSED', 'REPLAYED', 'FAILED')),
+    error TEXT,
+    transaction_id UUID,
+    CONSTRAINT pk_bonus_campaign_rows PRIMARY KEY (campaign_id, line_no),
+    CONSTRAINT fk_bonus_campaign FOREIGN KEY (campaign_id) REFERENCES bonus_campaigns(id) ON DELETE CASCADE
+);
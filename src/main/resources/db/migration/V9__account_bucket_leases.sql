@@ -0,0 +1,14 @@
+-- Optional multi-node ownership: user account ids are hashed into buckets and every bucket is
+-- owned by at most one node, which holds a session-level advisory lock on it for as long as it
+-- owns it. These tables only publish who owns what, so that other nodes can route writes.
+CREATE TABLE wallet_nodes (
+    node_id VARCHAR(100) PRIMARY KEY,
+    url VARCHAR(255) NOT NULL,
+    heartbeat_at TIMESTAMPTZ NOT NULL
+);
+
+CREATE TABLE account_bucket_leases (
+    bucket INT PRIMARY KEY,
+    owner_id VARCHAR(100) NOT NULL,
+    expires_at TIMESTAMPTZ NOT NULL
+);
@@ -0,0 +1,136 @@
+package com.service.internalWallet.benchmark;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import com.service.internalWallet.support.TestWallets;
+import com.service.internalWallet.support.TestWallets.Wallet;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Grows the ledger step by step (10k to 10M rows by default, override with
+ * {@code -Dbenchmark.ledger.volumes=...}) and measures the latency of the hot lookups at each size.
+ * It writes millions of rows, so point it at a throwaway database.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class LookupLatencyBenchmark {
+
+    private static final int ACCOUNTS = 1_000;
+    private static final int SAMPLES = 2_000;
+    private static final String SYSTEM_ACCOUNT_ID = "aaaa1111-0000-0000-0000-000000000001";
+
+    private static final Map<String, String> LOOKUPS = Map.of(
+            "findByIdempotencyKey", """
+                    SELECT t.id
+                    FROM idempotency_keys k
+                    JOIN transactions t ON t.id = k.transaction_id AND t.created_at = k.created_at
+                    WHERE k.idempotency_key = ?
+                    """,
+            "findByTransactionId", "SELECT id FROM ledger_entries WHERE transaction_id = ?::uuid",
+            "findByEmail", "SELECT id FROM users WHERE email = ?",
+            "historyPage", "SELECT id FROM ledger_entries WHERE account_id = ?::uuid ORDER BY created_at DESC LIMIT 50"
+    );
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void lookupLatencyStaysFlatAsLedgerGrows() {
+        long[] volumes = Arrays.stream(System.getProperty("benchmark.ledger.volumes", "10000,100000,1000000,10000000").split(","))
+                .mapToLong(Long::parseLong)
+                .toArray();
+
+        String runId = UUID.randomUUID().toString().substring(0, 8);
+        List<Wallet> wallets = TestWallets.seedGoldWallets(jdbcTemplate, "latency", ACCOUNTS);
+        List<String> accountIds = wallets.stream().map(wallet -> wallet.accountId().toString()).toList();
+        Map<Long, Map<String, double[]>> results = new LinkedHashMap<>();
+        long rows = 0;
+
+        for (long volume : volumes) {
+            rows = growLedger(runId, rows, volume, accountIds);
+            jdbcTemplate.execute("ANALYZE transactions");
+            jdbcTemplate.execute("ANALYZE ledger_entries");
+
+            Map<String, double[]> latencies = new LinkedHashMap<>();
+            LOOKUPS.forEach((name, sql) -> latencies.put(name, measure(sql, () -> sampleKey(name, runId, wallets))));
+            results.put(volume, latencies);
+        }
+
+        System.out.println("ledger rows | lookup               | p50 (us) | p99 (us)");
+        results.forEach((volume, latencies) -> latencies.forEach((name, percentiles) ->
+                System.out.printf("%11d | %-20s | %8.1f | %8.1f%n", volume, name, percentiles[0], percentiles[1])));
+
+        Map<String, double[]> smallest = results.get(volumes[0]);
+        Map<String, double[]> largest = results.get(volumes[volumes.length - 1]);
+        LOOKUPS.keySet().forEach(name ->
+                assertThat(largest.get(name)[1]).as(name + " p99").isLessThan(Math.max(smallest.get(name)[1] * 5, 1_000)));
+    }
+
+    // Every transaction produces two ledger rows, so reaching `target` ledger rows needs target / 2 transactions.
+    private long growLedger(String runId, long currentRows, long targetRows, List<String> accountIds) {
+        long from = currentRows / 2 + 1;
+        long to = targetRows / 2;
+        if (to < from) {
+            return currentRows;
+        }
+
+        jdbcTemplate.update("""
+                WITH accounts_by_slot AS (
+                    SELECT (ordinality - 1)::int AS slot, id::uuid AS id
+                    FROM unnest(?::text[]) WITH ORDINALITY AS a(id, ordinality)
+                ),
+                tx AS (
+                    INSERT INTO transactions (type, idempotency_key, status, created_at)
+                    SELECT 'TOPUP', ? || g, 'SUCCESS', now() - g * interval '1 millisecond'
+                    FROM generate_series(?::bigint, ?::bigint) g
+                    RETURNING id, created_at
+                )
+                INSERT INTO ledger_entries (account_id, type, amount, transaction_id, created_at)
+                SELECT a.id, 'CREDIT', 1, tx.id, tx.created_at
+                FROM tx
+                JOIN accounts_by_slot a ON a.slot = abs(hashtext(tx.id::text)) % ?
+                UNION ALL
+                SELECT ?::uuid, 'DEBIT', 1, tx.id, tx.created_at
+                FROM tx
+                """,
+                accountIds.toArray(String[]::new), "latency-" + runId + "-", from, to, accountIds.size(), SYSTEM_ACCOUNT_ID);
+
+        return to * 2;
+    }
+
+    private String sampleKey(String lookup, String runId, List<Wallet> wallets) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (lookup) {
+            case "findByIdempotencyKey" -> "latency-" + runId + "-" + (random.nextInt(5_000) + 1);
+            case "findByTransactionId" -> jdbcTemplate.queryForObject(
+                    "SELECT id::text FROM transactions WHERE idempotency_key = ?", String.class,
+                    "latency-" + runId + "-" + (random.nextInt(5_000) + 1));
+            case "findByEmail" -> wallets.get(random.nextInt(wallets.size())).email();
+            default -> wallets.get(random.nextInt(wallets.size())).accountId().toString();
+        };
+    }
+
+    private double[] measure(String sql, Supplier<String> keys) {
+        long[] nanos = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            String key = keys.get();
+            long start = System.nanoTime();
+            jdbcTemplate.queryForList(sql, key);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return new double[]{nanos[SAMPLES / 2] / 1_000.0, nanos[SAMPLES * 99 / 100] / 1_000.0};
+    }
+}
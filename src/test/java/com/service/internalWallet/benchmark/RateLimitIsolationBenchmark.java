@@ -0,0 +1,156 @@
+package com.service.internalWallet.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.service.internalWallet.InternalWalletApplication;
+import com.service.internalWallet.config.RateLimitInterceptor;
+import com.service.internalWallet.config.TransactionRateLimiter;
+import com.service.internalWallet.config.TransactionRateLimiter.Limits;
+import com.service.internalWallet.support.TestWallets;
+import com.service.internalWallet.support.TestWallets.Wallet;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures p99 latency of paced, well-behaved clients over HTTP, first alone, then while a single
+ * user floods POST /api/v1/transactions from {@code FLOOD_CLIENTS} connections: with the per-user
+ * limit in force, once sending the rate-limit headers and once without them, and then with the limit
+ * switched off at runtime. Every well-behaved request that is not answered 201 counts as a failure.
+ */
+@Tag("benchmark")
+class RateLimitIsolationBenchmark {
+
+    private static final long RUN_MILLIS = 10_000;
+    private static final int WELL_BEHAVED_USERS = 20;
+    private static final long PACE_MILLIS = 200;
+    private static final int FLOOD_CLIENTS = 200;
+
+    private record Result(double p99Millis, long wellBehavedFailures, long flooderAccepted, long flooderRejected) {
+    }
+
+    @Test
+    void wellBehavedP99HoldsWhileAnotherUserFloods() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(InternalWalletApplication.class)
+                .run("--server.port=0",
+                        "--management.server.port=0",
+                        "--spring.threads.virtual.enabled=true",
+                        "--wallet.rate-limit.user-rate=20",
+                        "--wallet.rate-limit.user-burst=40",
+                        "--logging.level.root=WARN")) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + "/api/v1/transactions");
+            List<String> emails = TestWallets.seedGoldWallets(context.getBean(JdbcTemplate.class), "isolation", WELL_BEHAVED_USERS + 1)
+                    .stream().map(Wallet::email).toList();
+            String flooder = emails.getLast();
+            List<String> wellBehaved = emails.subList(0, WELL_BEHAVED_USERS);
+            TransactionRateLimiter limiter = context.getBean(TransactionRateLimiter.class);
+            Limits limits = limiter.limits();
+
+            Result baseline = measure(uri, wellBehaved, null, false);
+            Result limited = measure(uri, wellBehaved, flooder, true);
+            Result limitedWithoutHeaders = measure(uri, wellBehaved, flooder, false);
+            limiter.setLimits(new Limits(0, limits.userBurst(), limits.assetRate(), limits.assetBurst()));
+            Result unlimited = measure(uri, wellBehaved, flooder, false);
+
+            System.out.println(" scenario                  | p99 (ms) | failures | flood accepted | flood rejected");
+            print("alone", baseline);
+            print("flood, limited", limited);
+            print("flood, limited, no headers", limitedWithoutHeaders);
+            print("flood, unlimited", unlimited);
+
+            assertThat(baseline.wellBehavedFailures()).isZero();
+            for (Result flood : List.of(limited, limitedWithoutHeaders)) {
+                assertThat(flood.wellBehavedFailures()).isZero();
+                assertThat(flood.flooderRejected()).isGreaterThan(flood.flooderAccepted());
+                assertThat(flood.p99Millis()).isLessThanOrEqualTo(baseline.p99Millis() * 3 + 50);
+            }
+        }
+    }
+
+    private Result measure(URI uri, List<String> wellBehaved, String flooder, boolean flooderSendsHeaders) throws InterruptedException {
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicLong wellBehavedFailures = new AtomicLong();
+        AtomicLong flooderAccepted = new AtomicLong();
+        AtomicLong flooderRejected = new AtomicLong();
+        long deadline = System.currentTimeMillis() + RUN_MILLIS;
+
+        try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder()
+                     .executor(clientThreads)
+                     .connectTimeout(Duration.ofSeconds(10))
+                     .build()) {
+            for (String email : wellBehaved) {
+                clientThreads.submit(() -> {
+                    while (System.currentTimeMillis() < deadline) {
+                        long start = System.nanoTime();
+                        int status = post(httpClient, uri, email, true);
+                        latencies.add(System.nanoTime() - start);
+                        if (status != 201) {
+                            wellBehavedFailures.incrementAndGet();
+                        }
+                        Thread.sleep(PACE_MILLIS);
+                    }
+                    return null;
+                });
+            }
+            for (int i = 0; flooder != null && i < FLOOD_CLIENTS; i++) {
+                clientThreads.submit(() -> {
+                    while (System.currentTimeMillis() < deadline) {
+                        if (post(httpClient, uri, flooder, flooderSendsHeaders) == 201) {
+                            flooderAccepted.incrementAndGet();
+                        } else {
+                            flooderRejected.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            clientThreads.shutdown();
+            clientThreads.awaitTermination(RUN_MILLIS * 4, TimeUnit.MILLISECONDS);
+        }
+
+        long[] nanos = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        double p99 = nanos.length == 0 ? 0 : nanos[nanos.length * 99 / 100] / 1_000_000.0;
+        return new Result(p99, wellBehavedFailures.get(), flooderAccepted.get(), flooderRejected.get());
+    }
+
+    private void print(String scenario, Result result) {
+        System.out.printf(" %-25s | %8.1f | %8d | %14d | %14d%n",
+                scenario, result.p99Millis(), result.wellBehavedFailures(), result.flooderAccepted(), result.flooderRejected());
+    }
+
+    private int post(HttpClient httpClient, URI uri, String email, boolean withHeaders) {
+        String body = """
+                {"type":"TOPUP","email":"%s","assetCode":"GOLD_COINS","amount":1,"idempotencyKey":"%s"}
+                """.formatted(email, UUID.randomUUID());
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (withHeaders) {
+            request.header(RateLimitInterceptor.USER_HEADER, email)
+                   .header(RateLimitInterceptor.ASSET_HEADER, "GOLD_COINS");
+        }
+        try {
+            return httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.service.internalWallet.benchmark;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.service.internalWallet.InternalWalletApplication;
+import com.service.internalWallet.dto.request.TransactionRequestDto;
+import com.service.internalWallet.enums.TransactionType;
+import com.service.internalWallet.service.TransactionService;
+import com.service.internalWallet.support.TestWallets;
+import com.service.internalWallet.support.TestWallets.Wallet;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static com.service.internalWallet.support.TestWallets.GOLD_COINS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("benchmark")
+class SystemAccountStripingBenchmark {
+
+    private static final int[] STRIPE_COUNTS = {1, 2, 4, 8, 16};
+    private static final int THREADS = 32;
+    private static final int USERS = 256;
+    private static final long RUN_MILLIS = 10_000;
+
+    @Test
+    void writesPerSecondIncreaseWithStripeCount() throws Exception {
+        Map<Integer, Double> writesPerSecond = new LinkedHashMap<>();
+        for (int stripes : STRIPE_COUNTS) {
+            writesPerSecond.put(stripes, measure(stripes));
+        }
+
+        System.out.println("stripes | writes/s");
+        writesPerSecond.forEach((stripes, rate) -> System.out.printf("%7d | %8.1f%n", stripes, rate));
+
+        assertThat(writesPerSecond.get(STRIPE_COUNTS[STRIPE_COUNTS.length - 1]))
+                .isGreaterThan(writesPerSecond.get(STRIPE_COUNTS[0]));
+    }
+
+    private double measure(int stripes) throws InterruptedException {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(InternalWalletApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--wallet.system-account.stripes=" + stripes)) {
+            TransactionService transactionService = context.getBean(TransactionService.class);
+            List<String> emails = TestWallets.seedGoldWallets(context.getBean(JdbcTemplate.class), "bench", USERS)
+                    .stream().map(Wallet::email).toList();
+
+            AtomicLong completed = new AtomicLong();
+            long deadline = System.currentTimeMillis() + RUN_MILLIS;
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+            for (int i = 0; i < THREADS; i++) {
+                executor.submit(() -> {
+                    while (System.currentTimeMillis() < deadline) {
+                        String email = emails.get(ThreadLocalRandom.current().nextInt(emails.size()));
+                        transactionService.processTransaction(new TransactionRequestDto(
+                                TransactionType.TOPUP, email, GOLD_COINS, 1L, UUID.randomUUID().toString()));
+                        completed.incrementAndGet();
+                    }
+                });
+            }
+
+            executor.shutdown();
+            executor.awaitTermination(RUN_MILLIS * 2, TimeUnit.MILLISECONDS);
+            return completed.get() * 1000.0 / RUN_MILLIS;
+        }
+    }
+}
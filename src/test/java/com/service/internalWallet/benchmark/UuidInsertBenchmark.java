@@ -0,0 +1,80 @@
+package com.service.internalWallet.benchmark;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Inserts the same number of rows (50M by default, override with {@code -Dbenchmark.uuid.rows=...})
+ * into two scratch tables keyed by random UUIDv4 and time-ordered UUIDv7 ids and compares insert
+ * throughput and primary key index size. Rows go in as 1M-row statements, like a busy ledger
+ * appending over time. It needs tens of GB of disk, so point it at a throwaway database.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class UuidInsertBenchmark {
+
+    private static final long CHUNK = 1_000_000;
+
+    private static final Map<String, String> GENERATORS = Map.of(
+            "v4", "gen_random_uuid()",
+            "v7", "uuid_generate_v7()"
+    );
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void timeOrderedIdsInsertFasterIntoSmallerIndexes() {
+        long rows = Long.getLong("benchmark.uuid.rows", 50_000_000L);
+        Map<String, double[]> results = new LinkedHashMap<>();
+
+        for (String version : new String[]{"v4", "v7"}) {
+            results.put(version, measure(version, GENERATORS.get(version), rows));
+        }
+
+        System.out.println("ids | rows/s     | pk index (MB) | table (MB)");
+        results.forEach((version, result) ->
+                System.out.printf("%-3s | %10.0f | %13.1f | %10.1f%n", version, result[0], result[1], result[2]));
+
+        assertThat(results.get("v7")[1]).isLessThanOrEqualTo(results.get("v4")[1]);
+    }
+
+    private double[] measure(String version, String generator, long rows) {
+        String table = "uuid_benchmark_" + version;
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+        jdbcTemplate.execute("""
+                CREATE UNLOGGED TABLE %s (
+                    id UUID PRIMARY KEY,
+                    account_id UUID NOT NULL,
+                    amount BIGINT NOT NULL,
+                    created_at TIMESTAMPTZ NOT NULL DEFAULT clock_timestamp()
+                )
+                """.formatted(table));
+
+        long start = System.nanoTime();
+        for (long inserted = 0; inserted < rows; inserted += CHUNK) {
+            jdbcTemplate.update("""
+                    INSERT INTO %s (id, account_id, amount)
+                    SELECT %s, gen_random_uuid(), g
+                    FROM generate_series(1, ?) g
+                    """.formatted(table, generator), Math.min(CHUNK, rows - inserted));
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        double indexMegabytes = jdbcTemplate.queryForObject(
+                "SELECT pg_relation_size(?::regclass)", Long.class, table + "_pkey") / 1_048_576.0;
+        double tableMegabytes = jdbcTemplate.queryForObject(
+                "SELECT pg_relation_size(?::regclass)", Long.class, table) / 1_048_576.0;
+
+        jdbcTemplate.execute("DROP TABLE " + table);
+        return new double[]{rows / seconds, indexMegabytes, tableMegabytes};
+    }
+}
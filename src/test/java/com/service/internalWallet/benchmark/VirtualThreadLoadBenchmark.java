@@ -0,0 +1,121 @@
+package com.service.internalWallet.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.service.internalWallet.InternalWalletApplication;
+import com.service.internalWallet.support.TestWallets;
+import com.service.internalWallet.support.TestWallets.Wallet;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives POST /api/v1/transactions over HTTP with 1k to 10k concurrent clients (override with
+ * {@code -Dbenchmark.clients=...}) and compares platform and virtual request threads.
+ */
+@Tag("benchmark")
+class VirtualThreadLoadBenchmark {
+
+    private static final long RUN_MILLIS = 15_000;
+    private static final int USERS = 1_000;
+
+    private record Result(double requestsPerSecond, double p99Millis, long rejected) {
+    }
+
+    @Test
+    void compareVirtualAndPlatformThreads() throws Exception {
+        int[] clientCounts = Arrays.stream(System.getProperty("benchmark.clients", "1000,5000,10000").split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+
+        System.out.println(" clients | threads  |    req/s | p99 (ms) | rejected");
+        for (int clients : clientCounts) {
+            for (boolean virtual : new boolean[]{false, true}) {
+                Result result = measure(clients, virtual);
+                System.out.printf("%8d | %-8s | %8.1f | %8.1f | %8d%n",
+                        clients, virtual ? "virtual" : "platform", result.requestsPerSecond(), result.p99Millis(), result.rejected());
+                assertThat(result.requestsPerSecond()).isPositive();
+            }
+        }
+    }
+
+    private Result measure(int clients, boolean virtual) throws InterruptedException {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(InternalWalletApplication.class)
+                .run("--server.port=0",
+                        "--management.server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtual,
+                        "--server.tomcat.max-connections=" + (clients * 2),
+                        "--server.tomcat.accept-count=" + clients,
+                        "--wallet.rate-limit.enabled=false",
+                        "--logging.level.root=WARN")) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + "/api/v1/transactions");
+            List<String> emails = TestWallets.seedGoldWallets(context.getBean(JdbcTemplate.class), "load", USERS)
+                    .stream().map(Wallet::email).toList();
+
+            ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+            AtomicLong rejected = new AtomicLong();
+            long deadline = System.currentTimeMillis() + RUN_MILLIS;
+
+            try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor();
+                 HttpClient httpClient = HttpClient.newBuilder()
+                         .executor(clientThreads)
+                         .connectTimeout(Duration.ofSeconds(10))
+                         .build()) {
+                for (int i = 0; i < clients; i++) {
+                    String email = emails.get(i % emails.size());
+                    clientThreads.submit(() -> {
+                        while (System.currentTimeMillis() < deadline) {
+                            long start = System.nanoTime();
+                            int status = post(httpClient, uri, email);
+                            if (status == 201) {
+                                latencies.add(System.nanoTime() - start);
+                            } else {
+                                rejected.incrementAndGet();
+                            }
+                        }
+                    });
+                }
+                clientThreads.shutdown();
+                clientThreads.awaitTermination(RUN_MILLIS * 4, TimeUnit.MILLISECONDS);
+            }
+
+            long[] nanos = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            double p99 = nanos.length == 0 ? 0 : nanos[nanos.length * 99 / 100] / 1_000_000.0;
+            return new Result(nanos.length * 1000.0 / RUN_MILLIS, p99, rejected.get());
+        }
+    }
+
+    private int post(HttpClient httpClient, URI uri, String email) {
+        String body = """
+                {"type":"TOPUP","email":"%s","assetCode":"GOLD_COINS","amount":1,"idempotencyKey":"%s"}
+                """.formatted(email, UUID.randomUUID());
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+}
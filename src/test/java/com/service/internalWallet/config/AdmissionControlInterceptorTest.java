@@ -0,0 +1,61 @@
+package com.service.internalWallet.config;
+
+import java.time.Duration;
+
+import com.service.internalWallet.exception.ServiceBusyException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdmissionControlInterceptorTest {
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void permitIsGivenBackWhenTheHandlerGoesAsync() throws Exception {
+        AdmissionControlInterceptor interceptor = new AdmissionControlInterceptor(1, Duration.ZERO);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        interceptor.preHandle(request, response, null);
+        interceptor.afterConcurrentHandlingStarted(request, response, null);
+
+        assertThat(interceptor.inFlight()).isZero();
+    }
+
+    @Test
+    void permitHeldAcrossAsyncLastsUntilTheAsyncDispatchCompletes() throws Exception {
+        AdmissionControlInterceptor interceptor = new AdmissionControlInterceptor(1, Duration.ZERO, true);
+        MockHttpServletRequest streaming = new MockHttpServletRequest();
+
+        interceptor.preHandle(streaming, response, null);
+        interceptor.afterConcurrentHandlingStarted(streaming, response, null);
+        assertThatThrownBy(() -> interceptor.preHandle(new MockHttpServletRequest(), response, null))
+                .isInstanceOf(ServiceBusyException.class);
+
+        // The async dispatch of the same request goes through preHandle again without a second permit.
+        interceptor.preHandle(streaming, response, null);
+        assertThat(interceptor.inFlight()).isEqualTo(1);
+
+        interceptor.afterCompletion(streaming, response, null, null);
+        assertThat(interceptor.inFlight()).isZero();
+        assertThat(interceptor.preHandle(new MockHttpServletRequest(), response, null)).isTrue();
+    }
+
+    @Test
+    void interceptorsOnTheSameRequestKeepTheirOwnPermits() throws Exception {
+        AdmissionControlInterceptor exports = new AdmissionControlInterceptor(1, Duration.ZERO, true);
+        AdmissionControlInterceptor api = new AdmissionControlInterceptor(1, Duration.ZERO);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        exports.preHandle(request, response, null);
+        api.preHandle(request, response, null);
+        exports.afterConcurrentHandlingStarted(request, response, null);
+        api.afterConcurrentHandlingStarted(request, response, null);
+
+        assertThat(exports.inFlight()).isEqualTo(1);
+        assertThat(api.inFlight()).isZero();
+    }
+}
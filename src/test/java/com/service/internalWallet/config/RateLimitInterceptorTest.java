@@ -0,0 +1,132 @@
+package com.service.internalWallet.config;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import com.service.internalWallet.dto.request.BatchTransactionRequestDto;
+import com.service.internalWallet.dto.request.TransactionRequestDto;
+import com.service.internalWallet.enums.TransactionType;
+import com.service.internalWallet.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimitInterceptorTest {
+
+    // One token per user and no refill within a test.
+    private final TransactionRateLimiter limiter = new TransactionRateLimiter(
+            new RateLimitProperties(true, 0.001, 1, 0, 1, Duration.ofMinutes(10), 1000), new SimpleMeterRegistry(), () -> 0L);
+    private final RateLimitInterceptor interceptor = new RateLimitInterceptor(limiter);
+    private final RateLimitAdvice advice = new RateLimitAdvice(limiter);
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @AfterEach
+    void resetRequestContext() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void headersAreChargedBeforeTheBodyAndNotAgainAfterIt() {
+        MockHttpServletRequest first = transactionRequest("a@example.com");
+        interceptor.preHandle(first, response, null);
+        afterBodyRead(first, "a@example.com");
+
+        assertThatThrownBy(() -> interceptor.preHandle(transactionRequest("a@example.com"), response, null))
+                .isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    void requestsWithoutHeadersAreChargedOnceTheBodyIsRead() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/transactions");
+        assertThatNoException().isThrownBy(() -> interceptor.preHandle(request, response, null));
+        assertThat(request.getAttribute(RateLimitInterceptor.CHARGED_ATTRIBUTE)).isNull();
+
+        afterBodyRead(request, "b@example.com");
+        assertThatThrownBy(() -> afterBodyRead(new MockHttpServletRequest("POST", "/api/v1/transactions"), "b@example.com"))
+                .isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    void headersNamingAnotherUserDoNotExemptTheBodyUser() {
+        afterBodyRead(new MockHttpServletRequest("POST", "/api/v1/transactions"), "c@example.com");
+
+        MockHttpServletRequest spoofed = transactionRequest("someone-else@example.com");
+        interceptor.preHandle(spoofed, response, null);
+        assertThatThrownBy(() -> afterBodyRead(spoofed, "c@example.com"))
+                .isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    void batchItemsAreChargedToTheirUsers() {
+        afterBatchRead(new MockHttpServletRequest("POST", RateLimitInterceptor.BATCH_PATH), "e@example.com", "f@example.com");
+
+        assertThatThrownBy(() -> interceptor.preHandle(transactionRequest("e@example.com"), response, null))
+                .isInstanceOf(RateLimitExceededException.class);
+        assertThatThrownBy(() -> afterBatchRead(new MockHttpServletRequest("POST", RateLimitInterceptor.BATCH_PATH), "f@example.com"))
+                .isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    void rejectedBatchChargesNoneOfItsUsers() {
+        afterBodyRead(new MockHttpServletRequest("POST", "/api/v1/transactions"), "h@example.com");
+
+        assertThatThrownBy(() -> afterBatchRead(new MockHttpServletRequest("POST", RateLimitInterceptor.BATCH_PATH), "g@example.com", "h@example.com"))
+                .isInstanceOf(RateLimitExceededException.class);
+        assertThatNoException().isThrownBy(() -> interceptor.preHandle(transactionRequest("g@example.com"), response, null));
+    }
+
+    @Test
+    void batchFromAnExhaustedUserIsTurnedAwayBeforeItsBodyIsRead() {
+        MockHttpServletRequest batch = batchRequest("i@example.com");
+        assertThatNoException().isThrownBy(() -> interceptor.preHandle(batch, response, null));
+        afterBatchRead(batch, "i@example.com");
+
+        assertThatThrownBy(() -> interceptor.preHandle(batchRequest("i@example.com"), response, null))
+                .isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    void readsAreNotCharged() {
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest request = transactionRequest("d@example.com");
+            request.setMethod("GET");
+            assertThatNoException().isThrownBy(() -> interceptor.preHandle(request, response, null));
+        }
+    }
+
+    private static MockHttpServletRequest transactionRequest(String email) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/transactions");
+        request.addHeader(RateLimitInterceptor.USER_HEADER, email);
+        request.addHeader(RateLimitInterceptor.ASSET_HEADER, "GOLD_COINS");
+        return request;
+    }
+
+    private static MockHttpServletRequest batchRequest(String email) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", RateLimitInterceptor.BATCH_PATH);
+        request.addHeader(RateLimitInterceptor.USER_HEADER, email);
+        request.addHeader(RateLimitInterceptor.ASSET_HEADER, "GOLD_COINS");
+        return request;
+    }
+
+    private void afterBatchRead(MockHttpServletRequest request, String... emails) {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        BatchTransactionRequestDto body = new BatchTransactionRequestDto(Arrays.stream(emails)
+                .map(email -> new TransactionRequestDto(TransactionType.TOPUP, email, "GOLD_COINS", 1L, email))
+                .toList());
+        advice.afterBodyRead(body, null, null, BatchTransactionRequestDto.class, null);
+    }
+
+    private void afterBodyRead(MockHttpServletRequest request, String email) {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        TransactionRequestDto body = new TransactionRequestDto(TransactionType.TOPUP, email, "GOLD_COINS", 1L, "key");
+        advice.afterBodyRead(body, null, null, TransactionRequestDto.class, null);
+    }
+}
@@ -0,0 +1,75 @@
+package com.service.internalWallet.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.service.internalWallet.config.TransactionRateLimiter.Limits;
+import com.service.internalWallet.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransactionRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TransactionRateLimiter limiter = new TransactionRateLimiter(
+            new RateLimitProperties(true, 2, 3, 5, 5, Duration.ofMinutes(10), 1000), meterRegistry, clock::get);
+
+    @Test
+    void userBucketAllowsBurstThenRejectsUntilRefilled() {
+        for (int i = 0; i < 3; i++) {
+            limiter.admit("a@example.com", "GOLD_COINS");
+        }
+
+        assertThatThrownBy(() -> limiter.admit("a@example.com", "GOLD_COINS"))
+                .isInstanceOf(RateLimitExceededException.class)
+                .extracting(e -> ((RateLimitExceededException) e).getRetryAfterSeconds())
+                .isEqualTo(1L);
+        assertThatNoException().isThrownBy(() -> limiter.admit("b@example.com", "GOLD_COINS"));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertThatNoException().isThrownBy(() -> limiter.admit("a@example.com", "GOLD_COINS"));
+        assertThat(meterRegistry.get("wallet.ratelimit.rejected").tag("scope", "user").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void assetRejectionGivesTheUserTokenBack() {
+        for (int i = 0; i < 5; i++) {
+            limiter.admit("user-" + i + "@example.com", "GOLD_COINS");
+        }
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> limiter.admit("c@example.com", "GOLD_COINS"))
+                    .hasMessageContaining("asset");
+        }
+        assertThatNoException().isThrownBy(() -> limiter.admit("c@example.com", "SILVER_COINS"));
+    }
+
+    @Test
+    void batchLargerThanTheBurstLeavesTheBucketInDebt() {
+        limiter.admit(Map.of("e@example.com", 7), Map.of("GOLD_COINS", 1));
+
+        // Four tokens short of zero at two per second, plus the one the next request needs.
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(2000));
+        assertThatThrownBy(() -> limiter.admit("e@example.com", "SILVER_COINS"))
+                .isInstanceOf(RateLimitExceededException.class);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertThatNoException().isThrownBy(() -> limiter.admit("e@example.com", "SILVER_COINS"));
+    }
+
+    @Test
+    void limitsChangeAtRuntimeAndZeroDisablesABucket() {
+        limiter.setLimits(new Limits(0, 3, 0, 5));
+
+        for (int i = 0; i < 100; i++) {
+            limiter.admit("d@example.com", "GOLD_COINS");
+        }
+        assertThat(meterRegistry.get("wallet.ratelimit.rate").tag("scope", "user").gauge().value()).isZero();
+    }
+}
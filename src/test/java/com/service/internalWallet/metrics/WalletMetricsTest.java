@@ -0,0 +1,55 @@
+package com.service.internalWallet.metrics;
+
+import java.util.UUID;
+
+import com.service.internalWallet.dto.request.TransactionRequestDto;
+import com.service.internalWallet.enums.TransactionType;
+import com.service.internalWallet.exception.ResourceNotFoundException;
+import com.service.internalWallet.service.TransactionService;
+import com.service.internalWallet.support.TestWallets;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static com.service.internalWallet.support.TestWallets.GOLD_COINS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class WalletMetricsTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void unknownAssetCodesAreTaggedAsOther() {
+        String email = TestWallets.goldWallet(jdbcTemplate, "metrics").email();
+        String bogusAsset = "BOGUS_" + UUID.randomUUID();
+
+        assertThatThrownBy(() -> transactionService.processTransaction(
+                new TransactionRequestDto(TransactionType.TOPUP, email, bogusAsset, 10L, UUID.randomUUID().toString())))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        assertThat(meterRegistry.find(WalletMetrics.STAGE_TIMER).tag("asset", bogusAsset).timers()).isEmpty();
+        assertThat(meterRegistry.find(WalletMetrics.STAGE_TIMER).tag("asset", WalletMetrics.OTHER_ASSET).timers()).isNotEmpty();
+    }
+
+    @Test
+    void resolvedAssetCodesKeepTheirTag() {
+        String email = TestWallets.goldWallet(jdbcTemplate, "metrics").email();
+
+        TestWallets.topUp(transactionService, email, 10L);
+
+        assertThat(meterRegistry.find(WalletMetrics.STAGE_TIMER)
+                                .tags("asset", GOLD_COINS, "stage", WalletMetrics.LEDGER_INSERT)
+                                .timer()).isNotNull();
+    }
+}
@@ -0,0 +1,126 @@
+package com.service.internalWallet.ownership;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import com.service.internalWallet.config.OwnershipProperties;
+import com.service.internalWallet.exception.AccountNotOwnedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs two ownership nodes against the test database, the same way two application instances
+ * would share one Postgres.
+ */
+@SpringBootTest
+class AccountOwnershipServiceTest {
+
+    private static final int BUCKETS = 8;
+    private static final Duration LEASE = Duration.ofSeconds(1);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private AccountOwnershipService first;
+    private AccountOwnershipService second;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM account_bucket_leases");
+        jdbcTemplate.update("DELETE FROM wallet_nodes");
+        first = node("node-a");
+        second = node("node-b");
+    }
+
+    @AfterEach
+    void tearDown() {
+        first.shutdown();
+        second.shutdown();
+    }
+
+    @Test
+    void nodesSplitTheBucketsWithoutOverlap() {
+        first.heartbeat();
+        assertThat(first.ownedBuckets()).hasSize(BUCKETS);
+
+        second.heartbeat();
+        first.heartbeat();
+        second.heartbeat();
+
+        assertThat(first.ownedBuckets()).hasSize(BUCKETS / 2);
+        assertThat(second.ownedBuckets()).hasSize(BUCKETS / 2);
+
+        Set<Integer> all = new HashSet<>(first.ownedBuckets());
+        all.addAll(second.ownedBuckets());
+        assertThat(all).hasSize(BUCKETS);
+    }
+
+    @Test
+    void bucketsFailOverOnceTheOwnerStopsRenewing() throws Exception {
+        first.heartbeat();
+        second.heartbeat();
+        first.heartbeat();
+        second.heartbeat();
+        assertThat(first.ownedBuckets()).isNotEmpty();
+
+        // The first node hangs: its lease connection stays open, but it no longer renews.
+        Thread.sleep(LEASE.multipliedBy(2).plusMillis(500).toMillis());
+
+        assertThat(first.ownedBuckets()).isEmpty();
+
+        // The first heartbeat ends the hung session, a later one picks up the freed locks.
+        for (int attempt = 0; attempt < 20 && second.ownedBuckets().size() < BUCKETS; attempt++) {
+            second.heartbeat();
+            Thread.sleep(100);
+        }
+        assertThat(second.ownedBuckets()).hasSize(BUCKETS);
+    }
+
+    @Test
+    void writesForForeignBucketsNameTheOwner() {
+        first.heartbeat();
+        second.heartbeat();
+        first.heartbeat();
+        second.heartbeat();
+        first.heartbeat();
+
+        UUID foreignAccount = accountInBucket(second.ownedBuckets().getFirst());
+
+        assertThat(catchOwner(foreignAccount)).isEqualTo(new LeaseOwner("node-b", "http://node-b"));
+    }
+
+    private LeaseOwner catchOwner(UUID accountId) {
+        try {
+            first.checkOwned(accountId, null);
+            return null;
+        } catch (AccountNotOwnedException e) {
+            return e.getOwner();
+        }
+    }
+
+    private UUID accountInBucket(int bucket) {
+        UUID accountId;
+        do {
+            accountId = UUID.randomUUID();
+        } while (first.bucketOf(accountId) != bucket);
+        return accountId;
+    }
+
+    private AccountOwnershipService node(String nodeId) {
+        return new AccountOwnershipService(dataSource, new OwnershipProperties(
+                true, nodeId, "http://" + nodeId, BUCKETS, LEASE, Duration.ofMillis(200), true));
+    }
+}
@@ -0,0 +1,98 @@
+package com.service.internalWallet.ownership;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+
+import com.service.internalWallet.dto.request.TransactionRequestDto;
+import com.service.internalWallet.dto.response.ErrorResponseDto;
+import com.service.internalWallet.enums.TransactionType;
+import com.service.internalWallet.exception.AccountNotOwnedException;
+import com.service.internalWallet.exception.GlobalExceptionHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OwnershipForwarderTest {
+
+    private static final TransactionRequestDto REQUEST =
+            new TransactionRequestDto(TransactionType.TOPUP, "forward@example.com", "GOLD_COINS", 5L, "forward-key");
+
+    private final GlobalExceptionHandler handler = handlerWith(forwarder());
+
+    @Test
+    void ownerResponseIsRelayed() throws IOException {
+        HttpServer owner = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        owner.createContext("/api/v1/transactions", exchange -> {
+            byte[] body = "{\"balanceAfter\":5}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add(HttpHeaders.CONTENT_TYPE, "application/json");
+            exchange.sendResponseHeaders(201, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        owner.start();
+        try {
+            ResponseEntity<?> response = handle("http://localhost:" + owner.getAddress().getPort());
+
+            assertThat(response.getStatusCode().value()).isEqualTo(201);
+            assertThat(response.getBody()).isEqualTo("{\"balanceAfter\":5}");
+        } finally {
+            owner.stop(0);
+        }
+    }
+
+    // A crashed owner keeps its lease until it expires; its writes must be answered, not fail with a 500.
+    @Test
+    void unreachableOwnerIsAnsweredWithServiceUnavailable() throws IOException {
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+
+        ResponseEntity<?> response = handle("http://localhost:" + closedPort);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(503);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(response.getBody()).isInstanceOf(ErrorResponseDto.class);
+    }
+
+    @Test
+    void forwardedRequestIsNotForwardedAgain() {
+        MockHttpServletRequest forwarded = new MockHttpServletRequest("POST", "/api/v1/transactions");
+        forwarded.addHeader(OwnershipForwarder.FORWARDED_HEADER, "node-b");
+
+        ResponseEntity<?> response = handler.handleAccountNotOwned(
+                new AccountNotOwnedException("Account is owned by another node", new LeaseOwner("node-c", "http://node-c"), REQUEST),
+                forwarded);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(421);
+        assertThat(response.getHeaders().getFirst(GlobalExceptionHandler.OWNER_URL_HEADER)).isEqualTo("http://node-c");
+    }
+
+    private ResponseEntity<?> handle(String ownerUrl) {
+        return handler.handleAccountNotOwned(
+                new AccountNotOwnedException("Account is owned by another node", new LeaseOwner("node-b", ownerUrl), REQUEST),
+                new MockHttpServletRequest("POST", "/api/v1/transactions"));
+    }
+
+    private static OwnershipForwarder forwarder() {
+        AccountOwnershipService ownership = mock(AccountOwnershipService.class);
+        when(ownership.getNodeId()).thenReturn("node-a");
+        return new OwnershipForwarder(ownership);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static GlobalExceptionHandler handlerWith(OwnershipForwarder forwarder) {
+        ObjectProvider<OwnershipForwarder> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(forwarder);
+        return new GlobalExceptionHandler(provider);
+    }
+}
@@ -0,0 +1,92 @@
+package com.service.internalWallet.replica;
+
+import java.sql.Connection;
+
+import javax.sql.DataSource;
+
+import com.service.internalWallet.exception.InvalidRequestException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadConsistencyTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private final ReplicaLagMonitor replicaLagMonitor = mock(ReplicaLagMonitor.class);
+
+    private ReadReplicaRoutingDataSource routingDataSource;
+    private ReadConsistency readConsistency;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        when(replicaLagMonitor.isWithinTolerance()).thenReturn(true);
+        routingDataSource = new ReadReplicaRoutingDataSource(primary, replica, replicaLagMonitor);
+
+        ObjectProvider<ReplicaLagMonitor> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(replicaLagMonitor);
+        readConsistency = new ReadConsistency(provider);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void readAfterAReplayedPositionGoesToTheReplica() {
+        when(replicaLagMonitor.hasReplayed(Lsn.parse("0/16B3748"))).thenReturn(true);
+
+        assertThat(readConsistency.readAfter("0/16B3748", this::connection)).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void readAfterAPositionNotYetReplayedGoesToThePrimary() {
+        when(replicaLagMonitor.hasReplayed(any())).thenReturn(false);
+
+        assertThat(readConsistency.readAfter("1/0", this::connection)).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void readAfterATimeGoesToThePrimary() {
+        when(replicaLagMonitor.hasReplayed(any())).thenReturn(true);
+
+        assertThat(readConsistency.readAfter("2020-01-01T00:00:00Z", this::connection)).isSameAs(primaryConnection);
+        assertThat(readConsistency.readAfter("0190a1b2-c3d4-7e5f-8a6b-7c8d9e0f1a2b", this::connection)).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void malformedReadAfterIsRejected() {
+        assertThatThrownBy(() -> readConsistency.readAfter("yesterday", this::connection))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void positionsCompareAsUnsignedWalOffsets() {
+        assertThat(Lsn.parse("0/16B3748").toString()).isEqualTo("0/16B3748");
+        assertThat(Lsn.parse("1/0")).isGreaterThan(Lsn.parse("0/FFFFFFFF"));
+        assertThat(Lsn.parse("FFFFFFFF/0")).isGreaterThan(Lsn.parse("7FFFFFFF/FFFFFFFF"));
+    }
+
+    private Connection connection() {
+        try {
+            return routingDataSource.getConnection();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
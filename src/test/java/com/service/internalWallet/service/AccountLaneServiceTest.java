@@ -0,0 +1,205 @@
+package com.service.internalWallet.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.service.internalWallet.dto.request.BatchTransactionRequestDto;
+import com.service.internalWallet.dto.request.TransactionRequestDto;
+import com.service.internalWallet.dto.response.TransactionResponseDto;
+import com.service.internalWallet.enums.TransactionType;
+import com.service.internalWallet.exception.InsufficientFundsException;
+import com.service.internalWallet.metrics.WalletMetrics;
+import com.service.internalWallet.support.TestWallets;
+import com.service.internalWallet.support.TestWallets.Wallet;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static com.service.internalWallet.support.TestWallets.GOLD_COINS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The replay cache is switched off so that repeated keys reach the lanes.
+@SpringBootTest(properties = {"wallet.lanes.enabled=true", "wallet.lanes.lanes=2", "wallet.idempotency.replay-cache-size=0"})
+class AccountLaneServiceTest {
+
+    private static final int CLIENTS = 64;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BatchTransactionService batchTransactionService;
+
+    @Autowired
+    private SystemAccountService systemAccountService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private String email;
+    private UUID accountId;
+
+    @BeforeEach
+    void setUp() {
+        Wallet wallet = TestWallets.goldWallet(jdbcTemplate, "lanes");
+        email = wallet.email();
+        accountId = wallet.accountId();
+    }
+
+    @Test
+    void burstOfSpendsOnOneAccountNeverOverdraws() throws Exception {
+        transactionService.processTransaction(request(TransactionType.TOPUP, 40, UUID.randomUUID().toString()));
+
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                futures.add(clients.submit(() -> {
+                    start.await();
+                    try {
+                        transactionService.processTransaction(request(TransactionType.SPEND, 1, UUID.randomUUID().toString()));
+                    } catch (InsufficientFundsException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertThat(balance()).isZero();
+        assertThat(rejected.get()).isEqualTo(CLIENTS - 40);
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT COALESCE(SUM(CASE WHEN type = 'CREDIT' THEN amount ELSE -amount END), 0)
+                FROM ledger_entries
+                WHERE account_id = ?
+                """, Long.class, accountId)).isZero();
+    }
+
+    @Test
+    void repeatedKeyIsReplayed() {
+        String key = UUID.randomUUID().toString();
+        double replaysBefore = replays();
+
+        TransactionResponseDto first = transactionService.processTransaction(request(TransactionType.BONUS, 5, key));
+        TransactionResponseDto second = transactionService.processTransaction(request(TransactionType.BONUS, 5, key));
+
+        assertThat(second.transactionId()).isEqualTo(first.transactionId());
+        assertThat(balance()).isEqualTo(5);
+        assertThat(replays() - replaysBefore).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentRepeatsOfOneKeyWriteOnce() throws Exception {
+        String key = UUID.randomUUID().toString();
+        double replaysBefore = replays();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<TransactionResponseDto>> futures = new ArrayList<>();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                futures.add(clients.submit(() -> {
+                    start.await();
+                    return transactionService.processTransaction(request(TransactionType.BONUS, 5, key));
+                }));
+            }
+            start.countDown();
+            UUID transactionId = futures.getFirst().get().transactionId();
+            for (Future<TransactionResponseDto> future : futures) {
+                assertThat(future.get().transactionId()).isEqualTo(transactionId);
+            }
+        }
+
+        // Repeats that land in the same group are answered by the lane, later ones from the stored transaction.
+        assertThat(balance()).isEqualTo(5);
+        assertThat(replays() - replaysBefore).isEqualTo(CLIENTS - 1);
+    }
+
+    @Test
+    void laneWritesAreTimedLikeOtherWrites() {
+        long ledgerInserts = stageCount(WalletMetrics.LEDGER_INSERT);
+        long commits = stageCount(WalletMetrics.COMMIT);
+
+        transactionService.processTransaction(request(TransactionType.TOPUP, 5, UUID.randomUUID().toString()));
+
+        assertThat(stageCount(WalletMetrics.LEDGER_INSERT) - ledgerInserts).isEqualTo(1);
+        assertThat(stageCount(WalletMetrics.COMMIT) - commits).isEqualTo(1);
+        assertThat(stageCount(WalletMetrics.BALANCE_LOCK)).isPositive();
+    }
+
+    // Lane groups lock with ORDER BY id, batches from a sorted map: both must agree on an account whose
+    // top bit differs from its stripe's, where UUID.compareTo and PostgreSQL disagree.
+    @Test
+    void laneGroupsAndBatchesDoNotDeadlockOnHighBitAccountIds() throws Exception {
+        Wallet wallet = TestWallets.goldWallet(jdbcTemplate, "lanes-high-bit",
+                TestWallets.accountIdOrderedDifferentlyFromItsStripe(systemAccountService));
+        email = wallet.email();
+        accountId = wallet.accountId();
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                boolean batch = i % 2 == 0;
+                futures.add(clients.submit(() -> {
+                    start.await();
+                    TransactionRequestDto request = request(TransactionType.TOPUP, 1, UUID.randomUUID().toString());
+                    if (batch) {
+                        batchTransactionService.processBatch(new BatchTransactionRequestDto(List.of(request)));
+                    } else {
+                        transactionService.processTransaction(request);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertThat(balance()).isEqualTo(CLIENTS);
+    }
+
+    private TransactionRequestDto request(TransactionType type, long amount, String key) {
+        return new TransactionRequestDto(type, email, GOLD_COINS, amount, key);
+    }
+
+    private double replays() {
+        return meterRegistry.find(WalletMetrics.REPLAY_COUNTER).counters().stream()
+                .filter(counter -> !"cache".equals(counter.getId().getTag("source")))
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+
+    private long stageCount(String stage) {
+        return meterRegistry.find(WalletMetrics.STAGE_TIMER)
+                .tags("stage", stage, "type", TransactionType.TOPUP.name(), "asset", GOLD_COINS)
+                .timers().stream()
+                .mapToLong(Timer::count)
+                .sum();
+    }
+
+    private long balance() {
+        return jdbcTemplate.queryForObject("SELECT balance FROM accounts WHERE id = ?", Long.class, accountId);
+    }
+}
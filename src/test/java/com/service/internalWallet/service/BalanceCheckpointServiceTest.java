@@ -0,0 +1,95 @@
+package com.service.internalWallet.service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import com.service.internalWallet.support.TestWallets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Without a skew allowance, a checkpoint written at "now" would freeze out anything still uncommitted.
+@SpringBootTest(properties = "wallet.checkpoint.settle-lag=PT0S")
+class BalanceCheckpointServiceTest {
+
+    private static final String INSERT_CREDIT =
+            "INSERT INTO ledger_entries (account_id, type, amount, transaction_id, created_at) VALUES (?, 'CREDIT', ?, ?, ?)";
+
+    @Autowired
+    private BalanceCheckpointService balanceCheckpointService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID accountId;
+
+    @BeforeEach
+    void setUp() {
+        accountId = TestWallets.goldWallet(jdbcTemplate, "checkpoint").accountId();
+        jdbcTemplate.update(INSERT_CREDIT, accountId, 10L, UUID.randomUUID(), OffsetDateTime.now().minusMinutes(1));
+    }
+
+    @Test
+    void entryCommittedAfterACheckpointIsStillCounted() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.createStatement().execute("SELECT 1");
+
+            // Stamped the way the application stamps entries: in the JVM, before the transaction commits.
+            OffsetDateTime stampedAt = OffsetDateTime.now();
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_CREDIT)) {
+                insert.setObject(1, accountId);
+                insert.setLong(2, 5L);
+                insert.setObject(3, UUID.randomUUID());
+                insert.setObject(4, stampedAt);
+                insert.executeUpdate();
+            }
+
+            Thread.sleep(50);
+            balanceCheckpointService.writeCheckpoints();
+            connection.commit();
+        }
+
+        assertThat(balanceCheckpointService.balanceAsOf(accountId, OffsetDateTime.now())).isEqualTo(15);
+    }
+
+    // Exports and reconciliation keep read-only transactions open for minutes; they cannot add entries.
+    @Test
+    void readOnlyTransactionDoesNotHoldTheWatermarkBack() throws Exception {
+        try (Connection reader = dataSource.getConnection()) {
+            reader.setAutoCommit(false);
+            reader.createStatement().execute("SELECT 1");
+
+            Thread.sleep(50);
+            jdbcTemplate.update(INSERT_CREDIT, accountId, 5L, UUID.randomUUID(), OffsetDateTime.now());
+            Thread.sleep(50);
+            balanceCheckpointService.writeCheckpoints();
+            reader.rollback();
+        }
+
+        Long checkpointed = jdbcTemplate.queryForObject(
+                "SELECT balance FROM balance_checkpoints WHERE account_id = ? ORDER BY checkpoint_at DESC LIMIT 1", Long.class, accountId);
+        assertThat(checkpointed).isEqualTo(15);
+    }
+
+    @Test
+    void checkpointMatchesTheLedgerOnceNothingIsInFlight() {
+        balanceCheckpointService.writeCheckpoints();
+
+        Long checkpointed = jdbcTemplate.queryForObject(
+                "SELECT balance FROM balance_checkpoints WHERE account_id = ? ORDER BY checkpoint_at DESC LIMIT 1", Long.class, accountId);
+        assertThat(checkpointed).isEqualTo(10);
+        assertThat(balanceCheckpointService.balanceAsOf(accountId, OffsetDateTime.now())).isEqualTo(10);
+    }
+}
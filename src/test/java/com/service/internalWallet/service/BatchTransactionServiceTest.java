@@ -0,0 +1,122 @@
+package com.service.internalWallet.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.service.internalWallet.dto.request.BatchTransactionRequestDto;
+import com.service.internalWallet.dto.request.TransactionRequestDto;
+import com.service.internalWallet.dto.response.BatchItemResultDto;
+import com.service.internalWallet.dto.response.BatchTransactionResponseDto;
+import com.service.internalWallet.enums.BatchItemStatus;
+import com.service.internalWallet.enums.TransactionType;
+import com.service.internalWallet.support.TestWallets;
+import com.service.internalWallet.support.TestWallets.Wallet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static com.service.internalWallet.support.TestWallets.GOLD_COINS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class BatchTransactionServiceTest {
+
+    private static final int CLIENTS = 8;
+
+    @Autowired
+    private BatchTransactionService batchTransactionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String email;
+    private UUID accountId;
+
+    @BeforeEach
+    void setUp() {
+        Wallet wallet = TestWallets.goldWallet(jdbcTemplate, "batch");
+        email = wallet.email();
+        accountId = wallet.accountId();
+    }
+
+    @Test
+    void mixedBatchReportsEveryItemSeparately() {
+        String key = UUID.randomUUID().toString();
+        BatchTransactionResponseDto response = batchTransactionService.processBatch(new BatchTransactionRequestDto(Arrays.asList(
+                request(TransactionType.TOPUP, email, 10, key),
+                request(TransactionType.BONUS, email, 5, key),
+                request(TransactionType.SPEND, email, 1, UUID.randomUUID().toString()),
+                request(TransactionType.TOPUP, email, -3, UUID.randomUUID().toString()),
+                request(TransactionType.TOPUP, "missing-" + email, 1, UUID.randomUUID().toString()),
+                null
+        )));
+
+        assertThat(response.results())
+                .extracting(BatchItemResultDto::status)
+                .containsExactly(BatchItemStatus.PROCESSED, BatchItemStatus.FAILED, BatchItemStatus.FAILED,
+                        BatchItemStatus.FAILED, BatchItemStatus.FAILED, BatchItemStatus.FAILED);
+        assertThat(response.results())
+                .extracting(BatchItemResultDto::error)
+                .containsExactly(null, "Duplicate idempotency key in batch", "SPEND is not supported in batch requests",
+                        "Amount must be greater than 0", "User not found", "Transaction is required");
+        assertThat(balance()).isEqualTo(10);
+    }
+
+    @Test
+    void resubmittedBatchIsReplayed() {
+        BatchTransactionRequestDto batch = new BatchTransactionRequestDto(List.of(
+                request(TransactionType.TOPUP, email, 10, UUID.randomUUID().toString()),
+                request(TransactionType.BONUS, email, 5, UUID.randomUUID().toString())));
+
+        BatchTransactionResponseDto first = batchTransactionService.processBatch(batch);
+        BatchTransactionResponseDto second = batchTransactionService.processBatch(batch);
+
+        assertThat(first.results()).extracting(BatchItemResultDto::status).containsOnly(BatchItemStatus.PROCESSED);
+        assertThat(second.results()).extracting(BatchItemResultDto::status).containsOnly(BatchItemStatus.REPLAYED);
+        assertThat(second.results()).extracting(result -> result.transaction().transactionId())
+                .containsExactlyElementsOf(first.results().stream().map(result -> result.transaction().transactionId()).toList());
+        assertThat(balance()).isEqualTo(15);
+    }
+
+    @Test
+    void racingBatchesWithTheSameKeysCreditOnce() throws Exception {
+        BatchTransactionRequestDto batch = new BatchTransactionRequestDto(List.of(
+                request(TransactionType.TOPUP, email, 7, UUID.randomUUID().toString())));
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<BatchTransactionResponseDto>> futures = new ArrayList<>();
+
+        try (ExecutorService clients = Executors.newFixedThreadPool(CLIENTS)) {
+            for (int i = 0; i < CLIENTS; i++) {
+                futures.add(clients.submit(() -> {
+                    start.await();
+                    return batchTransactionService.processBatch(batch);
+                }));
+            }
+            start.countDown();
+
+            List<BatchItemStatus> statuses = new ArrayList<>();
+            for (Future<BatchTransactionResponseDto> future : futures) {
+                statuses.add(future.get().results().getFirst().status());
+            }
+            assertThat(statuses).containsOnly(BatchItemStatus.PROCESSED, BatchItemStatus.REPLAYED);
+            assertThat(statuses).filteredOn(status -> status == BatchItemStatus.PROCESSED).hasSize(1);
+        }
+        assertThat(balance()).isEqualTo(7);
+    }
+
+    private TransactionRequestDto request(TransactionType type, String email, long amount, String idempotencyKey) {
+        return new TransactionRequestDto(type, email, GOLD_COINS, amount, idempotencyKey);
+    }
+
+    private long balance() {
+        return jdbcTemplate.queryForObject("SELECT balance FROM accounts WHERE id = ?", Long.class, accountId);
+    }
+}
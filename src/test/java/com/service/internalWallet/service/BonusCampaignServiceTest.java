@@ -0,0 +1,121 @@
+package com.service.internalWallet.service;
+
+import java.io.StringReader;
+import java.util.UUID;
+
+import com.service.internalWallet.dto.request.TransactionRequestDto;
+import com.service.internalWallet.dto.response.BonusCampaignDto;
+import com.service.internalWallet.dto.response.CampaignFailureDto;
+import com.service.internalWallet.enums.CampaignRowStatus;
+import com.service.internalWallet.enums.CampaignStatus;
+import com.service.internalWallet.enums.TransactionType;
+import com.service.internalWallet.support.TestWallets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static com.service.internalWallet.support.TestWallets.GOLD_COINS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(properties = "wallet.campaign.chunk-size=2")
+class BonusCampaignServiceTest {
+
+    @Autowired
+    private BonusCampaignService bonusCampaignService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String prefix;
+    private String alice;
+    private String bob;
+    private String replayedKey;
+
+    @BeforeEach
+    void setUp() {
+        prefix = UUID.randomUUID().toString().substring(0, 8);
+        alice = createUser("alice");
+        bob = createUser("bob");
+
+        replayedKey = prefix + "-replayed";
+        transactionService.processTransaction(new TransactionRequestDto(TransactionType.BONUS, bob, GOLD_COINS, 7L, replayedKey));
+    }
+
+    @Test
+    void grantsEveryResolvedRowOnceAcrossChunks() {
+        UUID campaignId = bonusCampaignService.stageCampaign("spring promo", false, new StringReader(campaignFile()));
+
+        BonusCampaignDto campaign = bonusCampaignService.runCampaign(campaignId);
+
+        assertThat(campaign.status()).isEqualTo(CampaignStatus.COMPLETED);
+        assertThat(campaign.totalRows()).isEqualTo(6);
+        assertThat(campaign.processedRows()).isEqualTo(6);
+        assertThat(campaign.rows()).containsOnly(
+                entry(CampaignRowStatus.PROCESSED, 3L),
+                entry(CampaignRowStatus.REPLAYED, 1L),
+                entry(CampaignRowStatus.FAILED, 2L));
+        assertThat(campaign.bonusAmount()).isEqualTo(175);
+        assertThat(campaign.failures()).extracting(CampaignFailureDto::line, CampaignFailureDto::error).containsExactly(
+                tuple(4L, "User not found"),
+                tuple(5L, "Amount must be greater than 0"));
+
+        assertThat(balanceOf(alice)).isEqualTo(150);
+        assertThat(balanceOf(bob)).isEqualTo(32);
+        assertThat(jdbcTemplate.queryForList("""
+                SELECT t.balance_after
+                FROM transactions t
+                JOIN bonus_campaign_rows r ON r.transaction_id = t.id
+                WHERE r.campaign_id = ? AND r.status = 'PROCESSED'
+                ORDER BY r.line_no
+                """, Long.class, campaignId)).containsExactly(100L, 150L, 32L);
+
+        // Running a completed campaign again grants nothing.
+        bonusCampaignService.runCampaign(campaignId);
+        assertThat(balanceOf(alice)).isEqualTo(150);
+    }
+
+    @Test
+    void dryRunValidatesWithoutWriting() {
+        UUID campaignId = bonusCampaignService.stageCampaign(null, true, new StringReader(campaignFile()));
+
+        BonusCampaignDto campaign = bonusCampaignService.runCampaign(campaignId);
+
+        assertThat(campaign.rows()).containsOnly(
+                entry(CampaignRowStatus.VALID, 3L),
+                entry(CampaignRowStatus.REPLAYED, 1L),
+                entry(CampaignRowStatus.FAILED, 2L));
+        assertThat(campaign.bonusAmount()).isEqualTo(175);
+        assertThat(balanceOf(alice)).isZero();
+        assertThat(balanceOf(bob)).isEqualTo(7);
+    }
+
+    private String campaignFile() {
+        return """
+                email,assetCode,amount,idempotencyKey
+                %1$s,GOLD_COINS,100,%3$s-1
+                %1$s,GOLD_COINS,50,%3$s-2
+                %2$s,GOLD_COINS,25,%3$s-3
+                nobody-%3$s@example.com,GOLD_COINS,10,%3$s-4
+                %2$s,GOLD_COINS,-5,%3$s-5
+                %2$s,GOLD_COINS,9,%4$s
+                """.formatted(alice, bob, prefix, replayedKey);
+    }
+
+    private String createUser(String name) {
+        String email = name + "-" + prefix + "@example.com";
+        TestWallets.insertAccount(jdbcTemplate, TestWallets.insertUser(jdbcTemplate, email), GOLD_COINS);
+        return email;
+    }
+
+    private long balanceOf(String email) {
+        return jdbcTemplate.queryForObject(
+                "SELECT ac.balance FROM accounts ac JOIN users u ON u.id = ac.user_id WHERE u.email = ?", Long.class, email);
+    }
+}
@@ -0,0 +1,121 @@
+package com.service.internalWallet.service;
+
+import java.util.UUID;
+
+import com.service.internalWallet.dto.request.HoldRequestDto;
+import com.service.internalWallet.dto.request.TransactionRequestDto;
+import com.service.internalWallet.dto.response.HoldResponseDto;
+import com.service.internalWallet.enums.HoldStatus;
+import com.service.internalWallet.enums.TransactionType;
+import com.service.internalWallet.exception.InsufficientFundsException;
+import com.service.internalWallet.exception.InvalidRequestException;
+import com.service.internalWallet.support.TestWallets;
+import com.service.internalWallet.support.TestWallets.Wallet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static com.service.internalWallet.support.TestWallets.GOLD_COINS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class HoldServiceTest {
+
+    @Autowired
+    private HoldService holdService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String email;
+    private UUID accountId;
+
+    @BeforeEach
+    void setUp() {
+        Wallet wallet = TestWallets.goldWallet(jdbcTemplate, "holds");
+        email = wallet.email();
+        accountId = wallet.accountId();
+        TestWallets.topUp(transactionService, email, 100L);
+    }
+
+    @Test
+    void heldFundsCannotBeSpentAndCaptureSettlesThem() {
+        HoldResponseDto hold = holdService.authorize(hold(70, UUID.randomUUID().toString()));
+
+        assertThat(hold.status()).isEqualTo(HoldStatus.AUTHORIZED);
+        assertThat(balance()).isEqualTo(100);
+        assertThat(heldBalance()).isEqualTo(70);
+        assertThatThrownBy(() -> transactionService.processTransaction(
+                new TransactionRequestDto(TransactionType.SPEND, email, GOLD_COINS, 31L, UUID.randomUUID().toString())))
+                .isInstanceOf(InsufficientFundsException.class);
+        assertThatThrownBy(() -> holdService.authorize(hold(31, UUID.randomUUID().toString())))
+                .isInstanceOf(InsufficientFundsException.class);
+
+        HoldResponseDto captured = holdService.capture(hold.holdId());
+        HoldResponseDto replayed = holdService.capture(hold.holdId());
+
+        assertThat(captured.status()).isEqualTo(HoldStatus.CAPTURED);
+        assertThat(replayed.transactionId()).isEqualTo(captured.transactionId());
+        assertThat(balance()).isEqualTo(30);
+        assertThat(heldBalance()).isZero();
+        assertThat(ledgerSum()).isEqualTo(30);
+        assertThatThrownBy(() -> holdService.voidHold(hold.holdId()))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void authorizeIsIdempotentAndVoidReleasesOnce() {
+        String key = UUID.randomUUID().toString();
+        HoldResponseDto hold = holdService.authorize(hold(40, key));
+
+        assertThat(holdService.authorize(hold(40, key)).holdId()).isEqualTo(hold.holdId());
+        assertThat(heldBalance()).isEqualTo(40);
+
+        holdService.voidHold(hold.holdId());
+        holdService.voidHold(hold.holdId());
+
+        assertThat(heldBalance()).isZero();
+        assertThat(balance()).isEqualTo(100);
+        assertThatThrownBy(() -> holdService.capture(hold.holdId()))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void sweeperReleasesExpiredHolds() {
+        HoldResponseDto hold = holdService.authorize(hold(25, UUID.randomUUID().toString()));
+        jdbcTemplate.update("UPDATE holds SET expires_at = now() - INTERVAL '1 second' WHERE id = ?", hold.holdId());
+
+        assertThatThrownBy(() -> holdService.capture(hold.holdId()))
+                .isInstanceOf(InvalidRequestException.class);
+
+        holdService.sweepExpired();
+
+        assertThat(holdService.getHold(hold.holdId()).status()).isEqualTo(HoldStatus.EXPIRED);
+        assertThat(heldBalance()).isZero();
+        assertThat(balance()).isEqualTo(100);
+    }
+
+    private HoldRequestDto hold(long amount, String idempotencyKey) {
+        return new HoldRequestDto(email, GOLD_COINS, amount, idempotencyKey, null);
+    }
+
+    private long balance() {
+        return jdbcTemplate.queryForObject("SELECT balance FROM accounts WHERE id = ?", Long.class, accountId);
+    }
+
+    private long heldBalance() {
+        return jdbcTemplate.queryForObject("SELECT held_balance FROM accounts WHERE id = ?", Long.class, accountId);
+    }
+
+    private long ledgerSum() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(CASE WHEN type = 'CREDIT' THEN amount ELSE -amount END), 0) FROM ledger_entries WHERE account_id = ?",
+                Long.class, accountId);
+    }
+}
@@ -0,0 +1,78 @@
+package com.service.internalWallet.service;
+
+import java.util.UUID;
+
+import com.service.internalWallet.config.IdempotencyProperties;
+import com.service.internalWallet.dto.request.TransactionRequestDto;
+import com.service.internalWallet.dto.response.TransactionResponseDto;
+import com.service.internalWallet.enums.TransactionType;
+import com.service.internalWallet.support.StatementCounter;
+import com.service.internalWallet.support.StatementCountingConfig;
+import com.service.internalWallet.support.TestWallets;
+import com.service.internalWallet.support.TestWallets.Wallet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static com.service.internalWallet.support.TestWallets.GOLD_COINS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The replay cache is switched off so that every retry is answered from the stored snapshot.
+@SpringBootTest(properties = "wallet.idempotency.replay-cache-size=0")
+@Import(StatementCountingConfig.class)
+class IdempotentReplayTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String email;
+    private UUID accountId;
+
+    @BeforeEach
+    void setUp() {
+        Wallet wallet = TestWallets.goldWallet(jdbcTemplate, "replay");
+        email = wallet.email();
+        accountId = wallet.accountId();
+    }
+
+    @Test
+    void retryReturnsTheOriginalResponseFromOneLookup() {
+        TransactionRequestDto request = new TransactionRequestDto(TransactionType.TOPUP, email, GOLD_COINS, 25L, UUID.randomUUID().toString());
+        TransactionResponseDto original = transactionService.processTransaction(request);
+        transactionService.processTransaction(new TransactionRequestDto(TransactionType.BONUS, email, GOLD_COINS, 5L, UUID.randomUUID().toString()));
+
+        statementCounter.reset();
+        TransactionResponseDto replayed = transactionService.processTransaction(request);
+
+        // The snapshot still carries the balance right after the original write, not the current one.
+        assertThat(replayed.transactionId()).isEqualTo(original.transactionId());
+        assertThat(replayed.transactionType()).isEqualTo(TransactionType.TOPUP);
+        assertThat(replayed.balanceAfter()).isEqualTo(25);
+        assertThat(statementCounter.executed()).hasSize(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT balance FROM accounts WHERE id = ?", Long.class, accountId)).isEqualTo(30);
+    }
+
+    @Test
+    void replayCacheEvictsTheLeastRecentlyUsedKey() {
+        ReplayCache cache = new ReplayCache(new IdempotencyProperties(2));
+        TransactionResponseDto first = new TransactionResponseDto(UUID.randomUUID(), TransactionType.TOPUP, 1L, 1L, null, null);
+
+        cache.put("a", first);
+        cache.put("b", first);
+        cache.get("a");
+        cache.put("c", first);
+
+        assertThat(cache.get("a")).isSameAs(first);
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("c")).isSameAs(first);
+    }
+}
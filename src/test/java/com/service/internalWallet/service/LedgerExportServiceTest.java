@@ -0,0 +1,192 @@
+package com.service.internalWallet.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import com.service.internalWallet.dto.request.LedgerExportFilter;
+import com.service.internalWallet.dto.request.TransactionRequestDto;
+import com.service.internalWallet.enums.ExportFormat;
+import com.service.internalWallet.enums.TransactionType;
+import com.service.internalWallet.support.TestWallets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionTimedOutException;
+
+import static com.service.internalWallet.support.TestWallets.GOLD_COINS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "wallet.export.max-duration=PT2S")
+class LedgerExportServiceTest {
+
+    private static final String DIAMONDS = "DIAMONDS";
+    private static final int BULK_ROWS = 2_000;
+
+    @Autowired
+    private LedgerExportService ledgerExportService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String prefix;
+    private String email;
+    private UUID goldAccountId;
+
+    @BeforeEach
+    void setUp() {
+        prefix = UUID.randomUUID().toString().substring(0, 8);
+        email = "export-" + prefix + "@example.com";
+        UUID userId = TestWallets.insertUser(jdbcTemplate, email);
+        goldAccountId = TestWallets.insertAccount(jdbcTemplate, userId, GOLD_COINS);
+        TestWallets.insertAccount(jdbcTemplate, userId, DIAMONDS);
+    }
+
+    @Test
+    void filtersNarrowTheExport() throws IOException {
+        topUp(email, GOLD_COINS, 10L);
+        topUp(email, DIAMONDS, 4L);
+        String otherEmail = "export-other-" + prefix + "@example.com";
+        TestWallets.insertAccount(jdbcTemplate, TestWallets.insertUser(jdbcTemplate, otherEmail), GOLD_COINS);
+        topUp(otherEmail, GOLD_COINS, 7L);
+
+        // Each transaction writes one entry on the user account and one on a Treasury stripe.
+        assertThat(rows(new LedgerExportFilter(null, email, null, null, null))).isEqualTo(2);
+        assertThat(rows(new LedgerExportFilter(null, email, GOLD_COINS, null, null))).isEqualTo(1);
+        assertThat(rows(new LedgerExportFilter(goldAccountId, null, null, null, null))).isEqualTo(1);
+        assertThat(rows(new LedgerExportFilter(null, email, null, OffsetDateTime.now().minusHours(1), OffsetDateTime.now().plusHours(1)))).isEqualTo(2);
+        assertThat(rows(new LedgerExportFilter(null, email, null, null, OffsetDateTime.now().minusHours(1)))).isZero();
+    }
+
+    @Test
+    void csvFieldsWithSeparatorsAndQuotesAreEscaped() throws IOException {
+        String key = "a,\"b\"-" + prefix;
+        transactionService.processTransaction(new TransactionRequestDto(TransactionType.TOPUP, email, GOLD_COINS, 10L, key));
+        LedgerExportFilter filter = new LedgerExportFilter(goldAccountId, null, null, null, null);
+
+        String csv = export(filter, ExportFormat.CSV);
+        String ndjson = export(filter, ExportFormat.NDJSON);
+
+        assertThat(csv.lines()).hasSize(2);
+        assertThat(csv.lines().skip(1).findFirst().orElseThrow()).endsWith(",\"a,\"\"b\"\"-" + prefix + "\"");
+        assertThat(ndjson).contains("\"idempotencyKey\":\"a,\\\"b\\\"-" + prefix + "\"");
+    }
+
+    @Test
+    void clientAbortStopsTheExportAndFreesItsConnection() throws IOException {
+        insertBulkEntries();
+        LedgerExportFilter filter = new LedgerExportFilter(goldAccountId, null, null, null, null);
+
+        assertThatThrownBy(() -> ledgerExportService.export(filter, ExportFormat.CSV, new FailingOutputStream(16 * 1024)))
+                .isInstanceOf(IOException.class);
+
+        assertThat(exportsLeftOpen()).isZero();
+        assertThat(rows(filter)).isEqualTo(BULK_ROWS);
+    }
+
+    @Test
+    void exportRunningPastItsMaxDurationIsAborted() {
+        insertBulkEntries();
+        LedgerExportFilter filter = new LedgerExportFilter(goldAccountId, null, null, null, null);
+
+        assertThatThrownBy(() -> ledgerExportService.export(filter, ExportFormat.CSV, new SlowOutputStream(100)))
+                .isInstanceOf(TransactionTimedOutException.class);
+
+        assertThat(exportsLeftOpen()).isZero();
+    }
+
+    private int rows(LedgerExportFilter filter) throws IOException {
+        return (int) export(filter, ExportFormat.CSV).lines().count() - 1;
+    }
+
+    private String export(LedgerExportFilter filter, ExportFormat format) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ledgerExportService.export(filter, format, output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private void topUp(String userEmail, String assetCode, long amount) {
+        transactionService.processTransaction(new TransactionRequestDto(TransactionType.TOPUP, userEmail, assetCode, amount, UUID.randomUUID().toString()));
+    }
+
+    private void insertBulkEntries() {
+        jdbcTemplate.update("""
+                WITH t AS (
+                    INSERT INTO transactions (type, idempotency_key, status, amount, balance_after, created_at)
+                    SELECT 'TOPUP', ? || g, 'SUCCESS', 1, g, now() - g * INTERVAL '1 millisecond'
+                    FROM generate_series(1, ?) g
+                    RETURNING id, created_at
+                )
+                INSERT INTO ledger_entries (account_id, type, amount, transaction_id, created_at)
+                SELECT ?, 'CREDIT', 1, id, created_at FROM t
+                """, "export-" + prefix + "-", BULK_ROWS, goldAccountId);
+    }
+
+    // A connection whose export transaction was not rolled back would sit idle in transaction on the cursor.
+    private int exportsLeftOpen() {
+        return jdbcTemplate.queryForObject("""
+                SELECT count(*)::int FROM pg_stat_activity
+                WHERE datname = current_database()
+                  AND state LIKE 'idle in transaction%'
+                  AND query LIKE '%FROM ledger_entries le%'
+                """, Integer.class);
+    }
+
+    // Stands in for a client that disconnects after reading part of the body.
+    private static final class FailingOutputStream extends OutputStream {
+
+        private final int limit;
+        private int written;
+
+        private FailingOutputStream(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            written += len;
+            if (written > limit) {
+                throw new IOException("Connection reset by peer");
+            }
+        }
+    }
+
+    // Stands in for a client reading the body very slowly.
+    private static final class SlowOutputStream extends OutputStream {
+
+        private final long delayMillis;
+
+        private SlowOutputStream(long delayMillis) {
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.service.internalWallet.service;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.service.internalWallet.repository.PartitionRepository;
+import com.service.internalWallet.support.TestWallets;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class PartitionMaintenanceServiceTest {
+
+    // Far enough back that no other test writes into it, so the month can be archived and cleaned up freely.
+    private static final LocalDate ARCHIVED_MONTH = LocalDate.of(1999, 1, 1);
+    private static final String LEDGER_PARTITION = "ledger_entries_1999_01";
+    private static final String TRANSACTIONS_PARTITION = "transactions_1999_01";
+
+    @Autowired
+    private PartitionMaintenanceService partitionMaintenanceService;
+
+    @Autowired
+    private PartitionRepository partitionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void dropArchivedMonth() {
+        for (String partition : new String[] {LEDGER_PARTITION, TRANSACTIONS_PARTITION}) {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS public." + partition);
+            jdbcTemplate.execute("DROP TABLE IF EXISTS ledger_archive." + partition);
+            jdbcTemplate.update("DELETE FROM archived_partitions WHERE partition_name = ?", partition);
+        }
+    }
+
+    @Test
+    void entriesDatedInThePreviousMonthAreAccepted() {
+        partitionMaintenanceService.maintainPartitions();
+        OffsetDateTime lastMonth = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1).minusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+
+        UUID accountId = TestWallets.goldWallet(jdbcTemplate, "partition").accountId();
+        jdbcTemplate.update("INSERT INTO ledger_entries (account_id, type, amount, transaction_id, created_at) VALUES (?, 'CREDIT', 1, ?, ?)",
+                accountId, UUID.randomUUID(), lastMonth);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM ledger_entries WHERE account_id = ?", Long.class, accountId)).isEqualTo(1);
+    }
+
+    @Test
+    void onlyOneHolderOfTheMaintenanceLockRuns() {
+        AtomicBoolean nestedRan = new AtomicBoolean();
+
+        boolean ran = partitionRepository.withMaintenanceLock(
+                () -> nestedRan.set(partitionRepository.withMaintenanceLock(() -> { })));
+
+        assertThat(ran).isTrue();
+        assertThat(nestedRan).isFalse();
+        assertThat(partitionRepository.withMaintenanceLock(() -> { })).isTrue();
+    }
+
+    @Test
+    void interruptedArchiveIsFinishedByTheNextRun() {
+        OffsetDateTime rangeStart = ARCHIVED_MONTH.atStartOfDay().atOffset(ZoneOffset.UTC);
+        OffsetDateTime rangeEnd = ARCHIVED_MONTH.plusMonths(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+        partitionRepository.ensurePartitions(ARCHIVED_MONTH, ARCHIVED_MONTH);
+
+        // A run that stopped after detaching the ledger partition, before moving it or recording the archive.
+        jdbcTemplate.execute("ALTER TABLE public.ledger_entries DETACH PARTITION public." + LEDGER_PARTITION);
+
+        partitionRepository.archive("ledger_entries", LEDGER_PARTITION, rangeStart, rangeEnd);
+        partitionRepository.archive("transactions", TRANSACTIONS_PARTITION, rangeStart, rangeEnd);
+        partitionRepository.archive("ledger_entries", LEDGER_PARTITION, rangeStart, rangeEnd);
+        partitionRepository.archive("transactions", TRANSACTIONS_PARTITION, rangeStart, rangeEnd);
+
+        assertThat(partitionRepository.findMonthlyPartitions("ledger_entries")).doesNotContain(LEDGER_PARTITION);
+        assertThat(partitionRepository.findMonthlyPartitions("transactions")).doesNotContain(TRANSACTIONS_PARTITION);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT to_regclass('ledger_archive.' || ?) IS NOT NULL AND to_regclass('ledger_archive.' || ?) IS NOT NULL",
+                Boolean.class, LEDGER_PARTITION, TRANSACTIONS_PARTITION)).isTrue();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM archived_partitions WHERE partition_name IN (?, ?)",
+                Long.class, LEDGER_PARTITION, TRANSACTIONS_PARTITION)).isEqualTo(2);
+    }
+}
@@ -0,0 +1,175 @@
+package com.service.internalWallet.service;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import com.service.internalWallet.dto.request.BalanceBatchGetRequestDto;
+import com.service.internalWallet.dto.request.BalanceKeyDto;
+import com.service.internalWallet.dto.request.BatchTransactionRequestDto;
+import com.service.internalWallet.dto.request.TransactionRequestDto;
+import com.service.internalWallet.dto.response.BalanceLookupResultDto;
+import com.service.internalWallet.enums.AccountType;
+import com.service.internalWallet.enums.TransactionType;
+import com.service.internalWallet.model.Account;
+import com.service.internalWallet.model.LedgerEntry;
+import com.service.internalWallet.repository.AccountRepository;
+import com.service.internalWallet.repository.LedgerEntryRepository;
+import com.service.internalWallet.support.StatementCounter;
+import com.service.internalWallet.support.StatementCountingConfig;
+import com.service.internalWallet.support.TestWallets;
+import com.service.internalWallet.support.TestWallets.Wallet;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static com.service.internalWallet.support.TestWallets.GOLD_COINS;
+import static com.service.internalWallet.support.TestWallets.GOLD_COINS_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pins the number of statements each read and write path issues with warm reference caches, so
+ * that eager loading or N+1 queries cannot creep back in unnoticed.
+ */
+@SpringBootTest
+@Import(StatementCountingConfig.class)
+class QueryCountTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BatchTransactionService batchTransactionService;
+
+    @Autowired
+    private SystemAccountService systemAccountService;
+
+    @Autowired
+    private BalanceLookupService balanceLookupService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private String email;
+    private UUID userId;
+    private UUID accountId;
+
+    @BeforeEach
+    void setUp() {
+        Wallet wallet = TestWallets.goldWallet(jdbcTemplate, "query-count");
+        email = wallet.email();
+        userId = wallet.userId();
+        accountId = wallet.accountId();
+
+        // Warms the reference caches so only the work of each method is counted.
+        TestWallets.topUp(transactionService, email, 10L);
+        transactionService.getBalance(email, GOLD_COINS, null);
+    }
+
+    @Test
+    void getBalanceReadsOneRow() {
+        assertThat(countStatements(() -> transactionService.getBalance(email, GOLD_COINS, null))).isEqualTo(1);
+    }
+
+    @Test
+    void getBalanceAsOfChecksTheArchiveHorizonAndSumsOnce() {
+        assertThat(countStatements(() -> transactionService.getBalance(email, GOLD_COINS, OffsetDateTime.now()))).isEqualTo(2);
+    }
+
+    @Test
+    void userBalancesAreOneQuery() {
+        assertThat(countStatements(() -> balanceLookupService.getUserBalances(email))).isEqualTo(1);
+    }
+
+    @Test
+    void batchGetIsOneQueryRegardlessOfSize() {
+        List<BalanceKeyDto> keys = List.of(
+                new BalanceKeyDto(email, GOLD_COINS),
+                new BalanceKeyDto("missing-" + email, GOLD_COINS),
+                new BalanceKeyDto(email, "MISSING"));
+
+        assertThat(countStatements(() -> balanceLookupService.batchGetBalances(new BalanceBatchGetRequestDto(keys)))).isEqualTo(1);
+        assertThat(balanceLookupService.batchGetBalances(new BalanceBatchGetRequestDto(keys)).results())
+                .extracting(BalanceLookupResultDto::error)
+                .containsExactly(null, "User not found", "Asset not found");
+    }
+
+    @Test
+    void getTransactionHistoryIsOneQuery() {
+        assertThat(countStatements(() -> transactionService.getTransactionHistory(email, GOLD_COINS, null, null, 50))).isEqualTo(1);
+    }
+
+    @Test
+    void liveSystemBalanceIsOneQuery() {
+        assertThat(countStatements(() -> systemAccountService.getSystemBalance(GOLD_COINS, true))).isEqualTo(1);
+    }
+
+    @Test
+    void batchUsesAFixedNumberOfStatements() {
+        BatchTransactionRequestDto batch = new BatchTransactionRequestDto(List.of(
+                new TransactionRequestDto(TransactionType.TOPUP, email, GOLD_COINS, 1L, UUID.randomUUID().toString()),
+                new TransactionRequestDto(TransactionType.BONUS, email, GOLD_COINS, 2L, UUID.randomUUID().toString())
+        ));
+
+        // Idempotency keys, users, assets, user accounts and stripes, then balance deltas, balances
+        // read back and one batched insert each for transactions and ledger entries.
+        assertThat(countStatements(() -> batchTransactionService.processBatch(batch))).isEqualTo(9);
+    }
+
+    @Test
+    void loadingAccountsLeavesUserAndAssetUnloaded() {
+        transactionTemplate.executeWithoutResult(status -> {
+            statementCounter.reset();
+
+            List<Account> accounts = accountRepository.findByTypeAndUserIdIn(AccountType.USER, Set.of(userId));
+
+            assertThat(statementCounter.executed()).hasSize(1);
+            assertThat(accounts).singleElement().satisfies(account -> {
+                assertThat(Hibernate.isInitialized(account.getUser())).isFalse();
+                assertThat(Hibernate.isInitialized(account.getAsset())).isFalse();
+                assertThat(account.getAsset().getId()).isEqualTo(GOLD_COINS_ID);
+            });
+            assertThat(statementCounter.executed()).hasSize(1);
+        });
+    }
+
+    @Test
+    void loadingLedgerEntryLeavesAccountAndTransactionUnloaded() {
+        UUID entryId = jdbcTemplate.queryForObject(
+                "SELECT id FROM ledger_entries WHERE account_id = ? LIMIT 1", UUID.class, accountId);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            statementCounter.reset();
+
+            LedgerEntry entry = ledgerEntryRepository.findById(entryId).orElseThrow();
+
+            assertThat(statementCounter.executed()).hasSize(1);
+            assertThat(Hibernate.isInitialized(entry.getAccount())).isFalse();
+            assertThat(Hibernate.isInitialized(entry.getTransaction())).isFalse();
+        });
+    }
+
+    private int countStatements(Runnable work) {
+        statementCounter.reset();
+        work.run();
+        return statementCounter.executed().size();
+    }
+}
@@ -0,0 +1,67 @@
+package com.service.internalWallet.service;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.service.internalWallet.dto.request.TransactionRequestDto;
+import com.service.internalWallet.dto.response.ReconciliationMismatchDto;
+import com.service.internalWallet.dto.response.ReconciliationReportDto;
+import com.service.internalWallet.enums.MismatchType;
+import com.service.internalWallet.enums.TransactionType;
+import com.service.internalWallet.support.TestWallets;
+import com.service.internalWallet.support.TestWallets.Wallet;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static com.service.internalWallet.support.TestWallets.GOLD_COINS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "wallet.reconciliation.max-reported-mismatches=100000")
+class ReconciliationServiceTest {
+
+    @Autowired
+    private ReconciliationService reconciliationService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void reportsBalanceThatDriftedFromLedger() {
+        Wallet wallet = TestWallets.goldWallet(jdbcTemplate, "reconciliation");
+        String email = wallet.email();
+        UUID accountId = wallet.accountId();
+
+        TestWallets.topUp(transactionService, email, 50L);
+        transactionService.processTransaction(new TransactionRequestDto(TransactionType.SPEND, email, GOLD_COINS, 20L, UUID.randomUUID().toString()));
+
+        assertThat(mismatchesFor(reconciliationService.reconcile(), accountId)).isEmpty();
+
+        jdbcTemplate.update("UPDATE accounts SET balance = balance + 5 WHERE id = ?", accountId);
+
+        assertThat(mismatchesFor(reconciliationService.reconcile(), accountId))
+                .containsExactly(new ReconciliationMismatchDto(MismatchType.BALANCE, accountId, 30, 35));
+    }
+
+    @Test
+    void rangeBoundsSplitTheUuidSpaceInOrder() {
+        List<UUID> bounds = ReconciliationService.rangeBounds(4);
+
+        assertThat(bounds).extracting(UUID::toString).containsExactly(
+                "00000000-0000-0000-0000-000000000000",
+                "3fffffff-ffff-ffff-0000-000000000000",
+                "7fffffff-ffff-fffe-0000-000000000000",
+                "bfffffff-ffff-fffd-0000-000000000000"
+        );
+    }
+
+    private List<ReconciliationMismatchDto> mismatchesFor(ReconciliationReportDto report, UUID accountId) {
+        return report.mismatches().stream()
+                .filter(mismatch -> mismatch.id().equals(accountId))
+                .toList();
+    }
+}
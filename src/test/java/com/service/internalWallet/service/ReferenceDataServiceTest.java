@@ -0,0 +1,79 @@
+package com.service.internalWallet.service;
+
+import java.util.UUID;
+
+import com.service.internalWallet.support.StatementCounter;
+import com.service.internalWallet.support.StatementCountingConfig;
+import com.service.internalWallet.support.TestWallets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static com.service.internalWallet.support.TestWallets.GOLD_COINS;
+import static com.service.internalWallet.support.TestWallets.GOLD_COINS_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(StatementCountingConfig.class)
+class ReferenceDataServiceTest {
+
+    @Autowired
+    private ReferenceDataService referenceDataService;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String email;
+
+    @BeforeEach
+    void setUp() {
+        email = TestWallets.uniqueEmail("reference");
+    }
+
+    @Test
+    void resolvedIdsAreServedFromTheCache() {
+        UUID userId = insertUser();
+        UUID accountId = TestWallets.insertAccount(jdbcTemplate, userId, GOLD_COINS);
+
+        assertThat(referenceDataService.findAsset(GOLD_COINS)).isPresent();
+        assertThat(referenceDataService.findUserId(email)).contains(userId);
+        assertThat(referenceDataService.findUserAccountId(userId, GOLD_COINS_ID)).contains(accountId);
+
+        statementCounter.reset();
+        assertThat(referenceDataService.findAsset(GOLD_COINS)).isPresent();
+        assertThat(referenceDataService.findUserId(email)).contains(userId);
+        assertThat(referenceDataService.findUserAccountId(userId, GOLD_COINS_ID)).contains(accountId);
+        assertThat(statementCounter.executed()).isEmpty();
+    }
+
+    @Test
+    void missesAreNotCachedSoNewUsersResolveAtOnce() {
+        assertThat(referenceDataService.findUserId(email)).isEmpty();
+
+        UUID userId = insertUser();
+
+        assertThat(referenceDataService.findUserId(email)).contains(userId);
+    }
+
+    @Test
+    void evictionForcesAFreshLookup() {
+        UUID userId = insertUser();
+        referenceDataService.findUserId(email);
+
+        referenceDataService.evictUser(email);
+        statementCounter.reset();
+
+        assertThat(referenceDataService.findUserId(email)).contains(userId);
+        assertThat(statementCounter.executed()).hasSize(1);
+    }
+
+    private UUID insertUser() {
+        return TestWallets.insertUser(jdbcTemplate, email);
+    }
+}
@@ -0,0 +1,95 @@
+package com.service.internalWallet.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import com.service.internalWallet.dto.request.TransactionRequestDto;
+import com.service.internalWallet.dto.response.ListTransactionResponseDto;
+import com.service.internalWallet.dto.response.TransactionPageResponseDto;
+import com.service.internalWallet.dto.response.TransactionResponseDto;
+import com.service.internalWallet.enums.TransactionType;
+import com.service.internalWallet.exception.InvalidRequestException;
+import com.service.internalWallet.support.TestWallets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static com.service.internalWallet.support.TestWallets.GOLD_COINS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class TransactionHistoryTest {
+
+    private static final String DIAMONDS = "DIAMONDS";
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String email;
+    private final List<UUID> written = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        email = TestWallets.uniqueEmail("history");
+        UUID userId = TestWallets.insertUser(jdbcTemplate, email);
+        TestWallets.insertAccount(jdbcTemplate, userId, GOLD_COINS);
+        TestWallets.insertAccount(jdbcTemplate, userId, DIAMONDS);
+
+        for (int i = 0; i < 5; i++) {
+            write(TransactionType.TOPUP, GOLD_COINS);
+        }
+        write(TransactionType.BONUS, GOLD_COINS);
+        write(TransactionType.BONUS, GOLD_COINS);
+        write(TransactionType.TOPUP, DIAMONDS);
+    }
+
+    @Test
+    void pagesWalkTheWholeHistoryNewestFirstWithoutGapsOrRepeats() {
+        List<ListTransactionResponseDto> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            TransactionPageResponseDto page = transactionService.getTransactionHistory(email, null, null, cursor, 3);
+            assertThat(page.transactions()).hasSizeLessThanOrEqualTo(3);
+            seen.addAll(page.transactions());
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).extracting(ListTransactionResponseDto::transactionId).containsExactlyInAnyOrderElementsOf(written);
+        assertThat(seen).extracting(ListTransactionResponseDto::createdAt).isSortedAccordingTo(Comparator.reverseOrder());
+    }
+
+    @Test
+    void filtersByAssetAndType() {
+        assertThat(transactionService.getTransactionHistory(email, GOLD_COINS, null, null, 50).transactions())
+                .hasSize(7)
+                .extracting(ListTransactionResponseDto::assetCode)
+                .containsOnly(GOLD_COINS);
+        assertThat(transactionService.getTransactionHistory(email, null, TransactionType.BONUS, null, 50).transactions())
+                .hasSize(2)
+                .extracting(ListTransactionResponseDto::transactionType)
+                .containsOnly(TransactionType.BONUS);
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThatThrownBy(() -> transactionService.getTransactionHistory(email, null, null, "not-a-cursor", 50))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    private void write(TransactionType type, String assetCode) {
+        TransactionResponseDto response = transactionService.processTransaction(
+                new TransactionRequestDto(type, email, assetCode, 1L, UUID.randomUUID().toString()));
+        written.add(response.transactionId());
+    }
+}
@@ -0,0 +1,185 @@
+package com.service.internalWallet.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.service.internalWallet.dto.request.TransactionRequestDto;
+import com.service.internalWallet.enums.TransactionType;
+import com.service.internalWallet.exception.InsufficientFundsException;
+import com.service.internalWallet.model.UuidOrder;
+import com.service.internalWallet.repository.LedgerBatchRepository;
+import com.service.internalWallet.support.TestWallets;
+import com.service.internalWallet.support.TestWallets.Wallet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static com.service.internalWallet.support.TestWallets.GOLD_COINS;
+import static com.service.internalWallet.support.TestWallets.GOLD_COINS_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class TransactionServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int OPERATIONS_PER_THREAD = 25;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private SystemAccountService systemAccountService;
+
+    @Autowired
+    private LedgerBatchRepository ledgerBatchRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ExecutorService executor;
+    private String email;
+    private UUID accountId;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(THREADS);
+        Wallet wallet = TestWallets.goldWallet(jdbcTemplate, "concurrency");
+        email = wallet.email();
+        accountId = wallet.accountId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentTopUpsAndBonusesLoseNoUpdates() throws Exception {
+        runConcurrently(i -> request(i % 2 == 0 ? TransactionType.TOPUP : TransactionType.BONUS, 3));
+
+        assertThat(balance()).isEqualTo(3L * THREADS * OPERATIONS_PER_THREAD);
+        assertThat(ledgerSum()).isEqualTo(balance());
+    }
+
+    @Test
+    void concurrentSpendsNeverOverdraw() throws Exception {
+        long funded = 100;
+        transactionService.processTransaction(request(TransactionType.TOPUP, funded));
+
+        AtomicInteger rejected = new AtomicInteger();
+        runConcurrently(i -> request(TransactionType.SPEND, 1), rejected);
+
+        long attempts = (long) THREADS * OPERATIONS_PER_THREAD;
+        assertThat(balance()).isZero();
+        assertThat(rejected.get()).isEqualTo(attempts - funded);
+        assertThat(ledgerSum()).isEqualTo(balance());
+    }
+
+    // UUID.compareTo and PostgreSQL disagree on the order of two ids when only one has its top bit set.
+    // Single writes must still lock such a pair in the order ORDER BY id ... FOR UPDATE does.
+    @Test
+    void singleWritesAndOrderByIdLockersDoNotDeadlockOnHighBitAccountIds() throws Exception {
+        Wallet wallet = TestWallets.goldWallet(jdbcTemplate, "high-bit",
+                TestWallets.accountIdOrderedDifferentlyFromItsStripe(systemAccountService));
+        email = wallet.email();
+        accountId = wallet.accountId();
+        UUID stripeId = systemAccountService.resolveStripeId(GOLD_COINS_ID, accountId);
+
+        List<UUID> sqlOrder = jdbcTemplate.queryForList(
+                "SELECT id FROM accounts WHERE id IN (?, ?) ORDER BY id", UUID.class, accountId, stripeId);
+        assertThat(sqlOrder).isSortedAccordingTo(UuidOrder.ASCENDING);
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            boolean single = t % 2 == 0;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    if (single) {
+                        transactionService.processTransaction(request(TransactionType.TOPUP, 1));
+                    } else {
+                        transactionTemplate.executeWithoutResult(status -> {
+                            ledgerBatchRepository.lockBalances(Set.of(accountId, stripeId));
+                            TreeMap<UUID, Long> deltas = new TreeMap<>(UuidOrder.ASCENDING);
+                            deltas.put(accountId, 1L);
+                            deltas.put(stripeId, -1L);
+                            ledgerBatchRepository.applyBalanceDeltas(deltas);
+                        });
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        assertThat(balance()).isEqualTo((long) THREADS * OPERATIONS_PER_THREAD);
+    }
+
+    private void runConcurrently(RequestFactory factory) throws Exception {
+        runConcurrently(factory, new AtomicInteger());
+    }
+
+    private void runConcurrently(RequestFactory factory, AtomicInteger rejected) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    try {
+                        transactionService.processTransaction(factory.create(i));
+                    } catch (InsufficientFundsException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    private TransactionRequestDto request(TransactionType type, long amount) {
+        return new TransactionRequestDto(type, email, GOLD_COINS, amount, UUID.randomUUID().toString());
+    }
+
+    private long balance() {
+        return jdbcTemplate.queryForObject("SELECT balance FROM accounts WHERE id = ?", Long.class, accountId);
+    }
+
+    private long ledgerSum() {
+        return jdbcTemplate.queryForObject("""
+                SELECT COALESCE(SUM(CASE WHEN type = 'CREDIT' THEN amount ELSE -amount END), 0)
+                FROM ledger_entries
+                WHERE account_id = ?
+                """, Long.class, accountId);
+    }
+
+    @FunctionalInterface
+    private interface RequestFactory {
+        TransactionRequestDto create(int index);
+    }
+}
@@ -0,0 +1,74 @@
+package com.service.internalWallet.service;
+
+import java.util.UUID;
+
+import com.service.internalWallet.dto.request.TransactionRequestDto;
+import com.service.internalWallet.enums.TransactionType;
+import com.service.internalWallet.support.StatementCounter;
+import com.service.internalWallet.support.StatementCountingConfig;
+import com.service.internalWallet.support.TestWallets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static com.service.internalWallet.support.TestWallets.GOLD_COINS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A wallet operation is one idempotency lookup, one conditional UPDATE per account and one batched
+ * INSERT per table: five round trips in total, with warm reference caches.
+ */
+@SpringBootTest
+@Import(StatementCountingConfig.class)
+class TransactionWriteStatementsTest {
+
+    private static final int STATEMENTS_PER_OPERATION = 5;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String email;
+
+    @BeforeEach
+    void setUp() {
+        email = TestWallets.goldWallet(jdbcTemplate, "statements").email();
+
+        // Warms the reference caches so only the write path itself is counted.
+        transactionService.processTransaction(request(TransactionType.TOPUP));
+    }
+
+    @Test
+    void topUpBonusAndSpendEachUseAFixedSetOfStatements() {
+        for (TransactionType type : TransactionType.values()) {
+            statementCounter.reset();
+
+            transactionService.processTransaction(request(type));
+
+            assertThat(statementCounter.executed()).as(type.name()).hasSize(STATEMENTS_PER_OPERATION);
+        }
+    }
+
+    @Test
+    void cachedReplayIssuesNoStatements() {
+        TransactionRequestDto request = request(TransactionType.BONUS);
+        transactionService.processTransaction(request);
+        statementCounter.reset();
+
+        transactionService.processTransaction(request);
+
+        assertThat(statementCounter.executed()).isEmpty();
+    }
+
+    private TransactionRequestDto request(TransactionType type) {
+        return new TransactionRequestDto(type, email, GOLD_COINS, 1L, UUID.randomUUID().toString());
+    }
+}
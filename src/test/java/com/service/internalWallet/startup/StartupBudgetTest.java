@@ -0,0 +1,132 @@
+package com.service.internalWallet.startup;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Builds the production startup path from the boot jar (extract, CDS training run, AOT) and starts
+ * it the way the image does, measuring the time from launch to the first successful balance read
+ * and the resident memory at that point. Run through {@code ./gradlew startupBudget}, which is part
+ * of {@code check}; the budgets come from {@code -PstartupBudgetMillis} and {@code -PstartupBudgetRssMb}.
+ */
+@Tag("startup")
+class StartupBudgetTest {
+
+    private static final Duration GIVE_UP_AFTER = Duration.ofMinutes(2);
+
+    @TempDir
+    private Path workDir;
+
+    @Test
+    void firstRequestIsServedWithinBudget() throws Exception {
+        long budgetMillis = Long.getLong("startup.budget-millis", 10_000);
+        long budgetRssMb = Long.getLong("startup.budget-rss-mb", 400);
+
+        // The fast-startup profile does not migrate, just as in the image.
+        Flyway.configure()
+              .dataSource(System.getenv("SPRING_DATASOURCE_URL"), System.getenv("SPRING_DATASOURCE_USERNAME"), System.getenv("SPRING_DATASOURCE_PASSWORD"))
+              .locations("classpath:db/migration")
+              .load()
+              .migrate();
+
+        Path application = workDir.resolve("application");
+        run(List.of("-Djarmode=tools", "-jar", System.getProperty("startup.jar"), "extract", "--destination", application.toString()));
+        Path archive = application.resolve("app.jsa");
+        run(List.of("-XX:ArchiveClassesAtExit=" + archive, "-Dspring.aot.enabled=true", "-Dspring.context.exit=onRefresh",
+                "-jar", application.resolve("app.jar").toString(), "--spring.profiles.active=fast-startup,training"));
+        assertThat(archive).exists();
+
+        int port = freePort();
+        URI firstRequest = URI.create("http://localhost:" + port + "/api/v1/balance?email=aditisingh@gmail.com&assetCode=GOLD_COINS");
+
+        long started = System.nanoTime();
+        Process process = start(List.of("-XX:SharedArchiveFile=" + archive, "-Dspring.aot.enabled=true",
+                "-jar", application.resolve("app.jar").toString(), "--spring.profiles.active=fast-startup", "--server.port=" + port, "--management.server.port=0"));
+        try (HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build()) {
+            long elapsedMillis = awaitFirstSuccess(httpClient, firstRequest, process, started);
+            long rssMb = residentMegabytes(process.pid());
+
+            System.out.printf("first request after %d ms (budget %d ms), RSS %d MB (budget %d MB)%n",
+                    elapsedMillis, budgetMillis, rssMb, budgetRssMb);
+            assertThat(elapsedMillis).as("time to first successful request (ms)").isLessThanOrEqualTo(budgetMillis);
+            if (rssMb >= 0) {
+                assertThat(rssMb).as("resident memory at first request (MB)").isLessThanOrEqualTo(budgetRssMb);
+            }
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private long awaitFirstSuccess(HttpClient httpClient, URI uri, Process process, long started) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(5)).GET().build();
+        long deadline = started + GIVE_UP_AFTER.toNanos();
+        while (System.nanoTime() < deadline) {
+            assertThat(process.isAlive()).as("service exited during startup").isTrue();
+            try {
+                if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                }
+            } catch (IOException e) {
+                // Not listening yet.
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("No successful request within " + GIVE_UP_AFTER);
+    }
+
+    // Linux only; -1 where /proc is not available.
+    private long residentMegabytes(long pid) throws IOException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        return Files.readAllLines(status).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .mapToLong(line -> Long.parseLong(line.replaceAll("\\D", "")) / 1024)
+                .findFirst()
+                .orElse(-1);
+    }
+
+    private void run(List<String> arguments) throws Exception {
+        Process process = start(arguments);
+        assertThat(process.waitFor(GIVE_UP_AFTER.toSeconds(), TimeUnit.SECONDS)).isTrue();
+        assertThat(process.exitValue()).as("exit code of " + arguments).isZero();
+    }
+
+    private Process start(List<String> arguments) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(arguments);
+        return new ProcessBuilder(command)
+                .directory(workDir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(workDir.resolve("process-" + System.nanoTime() + ".log").toFile())
+                .start();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
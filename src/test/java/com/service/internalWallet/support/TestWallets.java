@@ -0,0 +1,99 @@
+package com.service.internalWallet.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import com.service.internalWallet.dto.request.TransactionRequestDto;
+import com.service.internalWallet.enums.TransactionType;
+import com.service.internalWallet.service.SystemAccountService;
+import com.service.internalWallet.service.TransactionService;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Users and USER accounts that tests create for themselves, with an email unique to the run so that
+ * tests sharing the database never see each other's wallets.
+ */
+public final class TestWallets {
+
+    public static final String GOLD_COINS = "GOLD_COINS";
+    public static final UUID GOLD_COINS_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+
+    public record Wallet(String email, UUID userId, UUID accountId) {
+    }
+
+    private TestWallets() {
+    }
+
+    public static String uniqueEmail(String prefix) {
+        return prefix + "-" + UUID.randomUUID().toString().substring(0, 8) + "@example.com";
+    }
+
+    public static UUID insertUser(JdbcTemplate jdbcTemplate, String email) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO users (name, email) VALUES ('Test User', ?) RETURNING id", UUID.class, email);
+    }
+
+    public static UUID insertAccount(JdbcTemplate jdbcTemplate, UUID userId, String assetCode) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO accounts (user_id, asset_id, type, balance) SELECT ?, id, 'USER', 0 FROM assets WHERE code = ? RETURNING id",
+                UUID.class, userId, assetCode);
+    }
+
+    // A user with an empty GOLD_COINS account.
+    public static Wallet goldWallet(JdbcTemplate jdbcTemplate, String prefix) {
+        String email = uniqueEmail(prefix);
+        UUID userId = insertUser(jdbcTemplate, email);
+        return new Wallet(email, userId, insertAccount(jdbcTemplate, userId, GOLD_COINS));
+    }
+
+    // Same, with the account id chosen by the caller.
+    public static Wallet goldWallet(JdbcTemplate jdbcTemplate, String prefix, UUID accountId) {
+        String email = uniqueEmail(prefix);
+        UUID userId = insertUser(jdbcTemplate, email);
+        jdbcTemplate.update("INSERT INTO accounts (id, user_id, asset_id, type, balance) VALUES (?, ?, ?, 'USER', 0)",
+                accountId, userId, GOLD_COINS_ID);
+        return new Wallet(email, userId, accountId);
+    }
+
+    // Many users with an empty GOLD_COINS account each, inserted in two statements.
+    public static List<Wallet> seedGoldWallets(JdbcTemplate jdbcTemplate, String prefix, int count) {
+        String runId = UUID.randomUUID().toString().substring(0, 8);
+        List<Object[]> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(new Object[]{prefix + "-" + runId + "-" + i + "@example.com"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (name, email) VALUES ('Test User', ?)", users);
+
+        return jdbcTemplate.query("""
+                WITH inserted AS (
+                    INSERT INTO accounts (user_id, asset_id, type, balance)
+                    SELECT u.id, ?, 'USER', 0
+                    FROM users u
+                    WHERE u.email LIKE ?
+                    RETURNING user_id, id
+                )
+                SELECT u.email, i.user_id, i.id
+                FROM inserted i
+                JOIN users u ON u.id = i.user_id
+                ORDER BY u.email
+                """, (rs, rowNum) -> new Wallet(rs.getString(1), rs.getObject(2, UUID.class), rs.getObject(3, UUID.class)),
+                GOLD_COINS_ID, prefix + "-" + runId + "-%");
+    }
+
+    public static void topUp(TransactionService transactionService, String email, long amount) {
+        transactionService.processTransaction(
+                new TransactionRequestDto(TransactionType.TOPUP, email, GOLD_COINS, amount, UUID.randomUUID().toString()));
+    }
+
+    // UUID.compareTo and PostgreSQL order a pair of ids differently when exactly one has its top bit set.
+    // Returns an account id that forms such a pair with the GOLD_COINS stripe it maps to.
+    public static UUID accountIdOrderedDifferentlyFromItsStripe(SystemAccountService systemAccountService) {
+        UUID accountId;
+        do {
+            accountId = UUID.randomUUID();
+        } while ((accountId.getMostSignificantBits() < 0)
+                == (systemAccountService.resolveStripeId(GOLD_COINS_ID, accountId).getMostSignificantBits() < 0));
+        return accountId;
+    }
+}